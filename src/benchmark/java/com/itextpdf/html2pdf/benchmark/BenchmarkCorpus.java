@@ -0,0 +1,95 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Representative documents from the test resources used as the benchmark corpora.
+ */
+final class BenchmarkCorpus {
+
+    static final String TABLES = "tables";
+
+    static final String FLEX = "flex";
+
+    static final String GRID = "grid";
+
+    static final String RUNNING_ELEMENTS = "runningElements";
+
+    static final String COUNTERS = "counters";
+
+    private static final String RESOURCES_FOLDER = "./src/test/resources/com/itextpdf/html2pdf/";
+
+    private final File file;
+
+    private BenchmarkCorpus(String relativePath) {
+        this.file = new File(RESOURCES_FOLDER + relativePath);
+    }
+
+    /**
+     * Gets the corpus by its name.
+     *
+     * @param name the name of the corpus, one of the constants of this class
+     * @return the {@link BenchmarkCorpus} instance
+     */
+    static BenchmarkCorpus get(String name) {
+        switch (name) {
+            case TABLES:
+                return new BenchmarkCorpus("element/TableTest/collapsedBorderWithWrongRowspanTable.html");
+            case FLEX:
+                return new BenchmarkCorpus("css/DisplayFlexTest/wrappedRowReverseFlexStartSplit.html");
+            case GRID:
+                return new BenchmarkCorpus("css/grid/GridTemplateCombinedTest/template-combined-nested.html");
+            case RUNNING_ELEMENTS:
+                return new BenchmarkCorpus("css/PageRuleTest/marginBoxRunningNoImmediateFlush01.html");
+            case COUNTERS:
+                return new BenchmarkCorpus("css/CounterTest/page_counter03.html");
+            default:
+                throw new IllegalArgumentException("Unknown benchmark corpus: " + name);
+        }
+    }
+
+    /**
+     * Reads the HTML of the corpus.
+     *
+     * @return the HTML source
+     * @throws IOException if the corpus file can't be read
+     */
+    String readHtml() throws IOException {
+        return new String(Files.readAllBytes(Paths.get(file.getPath())), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the base URI to resolve the resources of the corpus against.
+     *
+     * @return the base URI
+     */
+    String getBaseUri() {
+        return file.getParentFile().getAbsolutePath() + File.separator;
+    }
+}
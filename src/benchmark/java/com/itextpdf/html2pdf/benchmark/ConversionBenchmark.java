@@ -0,0 +1,89 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.benchmark;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the full HTML to PDF conversion, run by a single thread and by all the available processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({BenchmarkCorpus.TABLES, BenchmarkCorpus.FLEX, BenchmarkCorpus.GRID, BenchmarkCorpus.RUNNING_ELEMENTS,
+            BenchmarkCorpus.COUNTERS})
+    public String corpus;
+
+    private String html;
+
+    private String baseUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkCorpus benchmarkCorpus = BenchmarkCorpus.get(corpus);
+        html = benchmarkCorpus.readHtml();
+        baseUri = benchmarkCorpus.getBaseUri();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int convertSingleThreaded() {
+        return convert();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int convertMultiThreaded() {
+        return convert();
+    }
+
+    private int convert() {
+        // ConverterProperties are not thread-safe, so every conversion uses its own instance
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos, new ConverterProperties().setBaseUri(baseUri));
+        return baos.size();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.benchmark;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.html2pdf.ProcessorContextCreator;
+import com.itextpdf.html2pdf.attach.ITagWorker;
+import com.itextpdf.html2pdf.attach.ProcessorContext;
+import com.itextpdf.html2pdf.css.apply.ICssApplier;
+import com.itextpdf.html2pdf.css.resolve.DefaultCssResolver;
+import com.itextpdf.html2pdf.html.XhtmlParser;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.styledxmlparser.IXmlParser;
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.IStylesContainer;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the separate stages of the HTML to PDF conversion pipeline.
+ * <p>
+ * The stages are measured cumulatively where they can't be isolated: the cost of the CSS appliers is
+ * the difference between {@link #createTagWorkersAndApplyCss} and {@link #createTagWorkers}, the cost of
+ * the layout is the difference between {@link #convertToDocument} and {@link #convertToElements}, and the cost
+ * of writing the PDF is the difference between {@link #convertToPdf} and {@link #convertToDocument}.
+ * {@link #parseHtml} is measured for each parser of {@link ParserState}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineStagesBenchmark {
+
+    @Param({BenchmarkCorpus.TABLES, BenchmarkCorpus.FLEX, BenchmarkCorpus.GRID, BenchmarkCorpus.RUNNING_ELEMENTS,
+            BenchmarkCorpus.COUNTERS})
+    public String corpus;
+
+    private String html;
+
+    private ConverterProperties properties;
+
+    private ProcessorContext context;
+
+    private IXmlParser parser;
+
+    private IDocumentNode document;
+
+    private PdfDocument pdfDocument;
+
+    private DefaultCssResolver cssResolver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkCorpus benchmarkCorpus = BenchmarkCorpus.get(corpus);
+        html = benchmarkCorpus.readHtml();
+        properties = new ConverterProperties().setBaseUri(benchmarkCorpus.getBaseUri());
+        context = ProcessorContextCreator.createProcessorContext(properties);
+        parser = new JsoupHtmlParser();
+        document = parser.parse(html);
+        // Some tag workers, e.g. the one of the html element, require the PDF document
+        pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        context.reset(pdfDocument);
+        cssResolver = new DefaultCssResolver(document, context);
+        // Tag workers and CSS appliers require the resolved styles
+        resolveStyles(document);
+    }
+
+    @Benchmark
+    public IDocumentNode parseHtml(ParserState parserState) {
+        return parserState.xmlParser.parse(html);
+    }
+
+    @Benchmark
+    public DefaultCssResolver createCssResolver() {
+        context.reset(pdfDocument);
+        return new DefaultCssResolver(document, context);
+    }
+
+    @Benchmark
+    public int resolveStyles() {
+        return resolveStyles(document);
+    }
+
+    @Benchmark
+    public void createTagWorkers(Blackhole blackhole) {
+        createTagWorkers(document, false, blackhole);
+    }
+
+    @Benchmark
+    public void createTagWorkersAndApplyCss(Blackhole blackhole) {
+        createTagWorkers(document, true, blackhole);
+    }
+
+    @Benchmark
+    public Object convertToElements() {
+        return HtmlConverter.convertToElements(html, properties);
+    }
+
+    @Benchmark
+    public Document convertToDocument() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        // Pages are not flushed, so that nothing but the document structure is written
+        ConverterProperties layoutOnlyProperties = new ConverterProperties(properties).setImmediateFlush(false);
+        return HtmlConverter.convertToDocument(html, pdfDocument, layoutOnlyProperties);
+    }
+
+    @Benchmark
+    public int convertToPdf() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos, properties);
+        return baos.size();
+    }
+
+    /**
+     * The HTML parsers compared by {@link #parseHtml}.
+     */
+    @State(Scope.Thread)
+    public static class ParserState {
+
+        static final String JSOUP = "jsoup";
+
+        static final String XHTML = "xhtml";
+
+        @Param({JSOUP, XHTML})
+        public String parser;
+
+        private IXmlParser xmlParser;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            xmlParser = XHTML.equals(parser) ? new XhtmlParser() : new JsoupHtmlParser();
+        }
+    }
+
+    private int resolveStyles(INode node) {
+        int count = 0;
+        if (node instanceof IElementNode) {
+            ((IElementNode) node).setStyles(cssResolver.resolveStyles(node, context.getCssContext()));
+            ++count;
+        }
+        for (INode child : node.childNodes()) {
+            count += resolveStyles(child);
+        }
+        return count;
+    }
+
+    private void createTagWorkers(INode node, boolean applyCss, Blackhole blackhole) {
+        if (node instanceof IElementNode) {
+            IElementNode element = (IElementNode) node;
+            ITagWorker tagWorker = context.getTagWorkerFactory().getTagWorker(element, context);
+            if (tagWorker != null && applyCss) {
+                ICssApplier cssApplier = context.getCssApplierFactory().getCssApplier(element);
+                if (cssApplier != null) {
+                    cssApplier.apply(context, (IStylesContainer) element, tagWorker);
+                }
+            }
+            blackhole.consume(tagWorker);
+        }
+        for (INode child : node.childNodes()) {
+            createTagWorkers(child, applyCss, blackhole);
+        }
+    }
+}
@@ -27,17 +27,24 @@ import com.itextpdf.html2pdf.attach.ITagWorkerFactory;
 import com.itextpdf.html2pdf.attach.impl.OutlineHandler;
 import com.itextpdf.html2pdf.attach.util.AlternateDescriptionResolver;
 import com.itextpdf.html2pdf.css.apply.ICssApplierFactory;
+import com.itextpdf.html2pdf.css.resolve.ICssStyleSheetCache;
+import com.itextpdf.html2pdf.metrics.IConversionMetricsListener;
+import com.itextpdf.html2pdf.resolver.font.IFontProgramCache;
+import com.itextpdf.html2pdf.resolver.resource.IImageDataCache;
+import com.itextpdf.html2pdf.resolver.resource.ISvgProcessorResultCache;
 import com.itextpdf.kernel.pdf.PdfAConformance;
 import com.itextpdf.kernel.pdf.PdfConformance;
 import com.itextpdf.kernel.pdf.PdfOutputIntent;
 import com.itextpdf.kernel.pdf.PdfUAConformance;
 import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.styledxmlparser.IXmlParser;
 import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
 import com.itextpdf.styledxmlparser.resolver.resource.IResourceRetriever;
 
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Properties that will be used by the {@link com.itextpdf.html2pdf.HtmlConverter}.
@@ -126,6 +133,87 @@ public class ConverterProperties {
      */
     private PdfConformance conformance = new PdfConformance();
 
+    /**
+     * The cache of parsed stylesheets shared between conversions.
+     */
+    private ICssStyleSheetCache cssStyleSheetCache;
+
+    /**
+     * Indicates whether the rule sets of the stylesheet should be indexed by selectors.
+     */
+    private boolean cssSelectorIndexEnabled = false;
+
+    /**
+     * Indicates whether sibling elements with identical matching inputs should share resolved styles.
+     */
+    private boolean cssStyleSharingEnabled = false;
+
+    /**
+     * Indicates whether the relayout may be skipped if "pages" counters are used only in page margin boxes.
+     */
+    private boolean deferredPagesCounterEnabled = false;
+
+    /**
+     * The listener of the conversion metrics.
+     */
+    private IConversionMetricsListener conversionMetricsListener;
+
+    /**
+     * The executor to prefetch the referenced resources on.
+     */
+    private ExecutorService resourcePrefetchExecutor;
+
+    /**
+     * The cache of decoded images shared between conversions.
+     */
+    private IImageDataCache imageDataCache;
+
+    /**
+     * The minimum size of local JPEG and JPEG 2000 images which are streamed into the PDF without being
+     * loaded into memory, negative if images are never streamed.
+     */
+    private long imageStreamingThreshold = -1;
+
+    /**
+     * The cache of SVG processing results shared between conversions.
+     */
+    private ISvgProcessorResultCache svgProcessorResultCache;
+
+    /**
+     * Indicates whether identical inline SVG elements share a single XObject.
+     */
+    private boolean inlineSvgDeduplicationEnabled = false;
+
+    /**
+     * The cache of {@code @font-face} font programs shared between conversions.
+     */
+    private IFontProgramCache fontProgramCache;
+
+    /**
+     * Indicates whether {@code @font-face} fonts are loaded only when their font family is used.
+     */
+    private boolean lazyFontFaceLoadingEnabled = false;
+
+    /**
+     * Indicates whether the glyph lines selected for the text are cached during the conversion.
+     */
+    private boolean glyphSelectionCacheEnabled = false;
+
+    /**
+     * Indicates whether the body of a document read from a stream is parsed and converted in chunks.
+     */
+    private boolean bodyStreamingEnabled = false;
+
+    /**
+     * Indicates whether the top-level body elements are released as soon as they are converted.
+     */
+    private boolean domConsumptionEnabled = false;
+
+    /**
+     * The parser of the HTML, null if the default parser is used.
+     */
+    private IXmlParser htmlParser;
+
     /**
      * Instantiates a new {@link ConverterProperties} instance.
      */
@@ -155,6 +243,22 @@ public class ConverterProperties {
         this.continuousContainerEnabled = other.continuousContainerEnabled;
         this.conformance = other.conformance;
         this.outputIntent = other.outputIntent;
+        this.cssStyleSheetCache = other.cssStyleSheetCache;
+        this.cssSelectorIndexEnabled = other.cssSelectorIndexEnabled;
+        this.cssStyleSharingEnabled = other.cssStyleSharingEnabled;
+        this.deferredPagesCounterEnabled = other.deferredPagesCounterEnabled;
+        this.conversionMetricsListener = other.conversionMetricsListener;
+        this.resourcePrefetchExecutor = other.resourcePrefetchExecutor;
+        this.imageDataCache = other.imageDataCache;
+        this.imageStreamingThreshold = other.imageStreamingThreshold;
+        this.svgProcessorResultCache = other.svgProcessorResultCache;
+        this.inlineSvgDeduplicationEnabled = other.inlineSvgDeduplicationEnabled;
+        this.fontProgramCache = other.fontProgramCache;
+        this.lazyFontFaceLoadingEnabled = other.lazyFontFaceLoadingEnabled;
+        this.glyphSelectionCacheEnabled = other.glyphSelectionCacheEnabled;
+        this.bodyStreamingEnabled = other.bodyStreamingEnabled;
+        this.domConsumptionEnabled = other.domConsumptionEnabled;
+        this.htmlParser = other.htmlParser;
         for (Class<?> aClass : other.dependencies.keySet()) {
             this.dependencies.put(aClass, other.dependencies.get(aClass));
         }
@@ -567,6 +671,469 @@ public class ConverterProperties {
         return this;
     }
 
+    /**
+     * Gets the cache of parsed stylesheets.
+     * <p>
+     * If the cache is set, linked and inline stylesheets are fetched and parsed only once and then
+     * reused in all the conversions sharing the same cache instance.
+     *
+     * @return the {@link ICssStyleSheetCache} instance or null if stylesheets are not cached
+     */
+    public ICssStyleSheetCache getCssStyleSheetCache() {
+        return cssStyleSheetCache;
+    }
+
+    /**
+     * Sets the cache of parsed stylesheets.
+     * <p>
+     * If the cache is set, linked and inline stylesheets are fetched and parsed only once and then
+     * reused in all the conversions sharing the same cache instance.
+     *
+     * @param cssStyleSheetCache the {@link ICssStyleSheetCache} instance, e.g.
+     * {@link com.itextpdf.html2pdf.css.resolve.CssStyleSheetCache}
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setCssStyleSheetCache(ICssStyleSheetCache cssStyleSheetCache) {
+        this.cssStyleSheetCache = cssStyleSheetCache;
+        return this;
+    }
+
+    /**
+     * Checks if the indexed matching of CSS rule sets is enabled.
+     * <p>
+     * If enabled, the rule sets of the document stylesheet are bucketed by id, class and tag of their
+     * rightmost compound selector once, so that only the candidate rule sets are checked for every element.
+     * The result of the matching is the same, but large stylesheets are processed considerably faster.
+     *
+     * @return true if the indexed matching is enabled, false otherwise
+     */
+    public boolean isCssSelectorIndexEnabled() {
+        return cssSelectorIndexEnabled;
+    }
+
+    /**
+     * Enables or disables the indexed matching of CSS rule sets.
+     * <p>
+     * If enabled, the rule sets of the document stylesheet are bucketed by id, class and tag of their
+     * rightmost compound selector once, so that only the candidate rule sets are checked for every element.
+     * The result of the matching is the same, but large stylesheets are processed considerably faster.
+     *
+     * @param cssSelectorIndexEnabled true to enable the indexed matching, false otherwise
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setCssSelectorIndexEnabled(boolean cssSelectorIndexEnabled) {
+        this.cssSelectorIndexEnabled = cssSelectorIndexEnabled;
+        return this;
+    }
+
+    /**
+     * Checks if the style sharing between sibling elements is enabled.
+     * <p>
+     * If enabled, an element with the same parent, tag name, attributes and additional HTML styles as a recently
+     * processed sibling reuses the styles resolved for that sibling instead of resolving them again, unless
+     * a rule depending on the position of the element among its siblings (e.g. {@code :nth-child}) may match it.
+     * This considerably speeds up processing of long tables and lists.
+     *
+     * @return true if the style sharing is enabled, false otherwise
+     */
+    public boolean isCssStyleSharingEnabled() {
+        return cssStyleSharingEnabled;
+    }
+
+    /**
+     * Enables or disables the style sharing between sibling elements.
+     * <p>
+     * If enabled, an element with the same parent, tag name, attributes and additional HTML styles as a recently
+     * processed sibling reuses the styles resolved for that sibling instead of resolving them again, unless
+     * a rule depending on the position of the element among its siblings (e.g. {@code :nth-child}) may match it.
+     * This considerably speeds up processing of long tables and lists.
+     *
+     * @param cssStyleSharingEnabled true to enable the style sharing, false otherwise
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setCssStyleSharingEnabled(boolean cssStyleSharingEnabled) {
+        this.cssStyleSharingEnabled = cssStyleSharingEnabled;
+        return this;
+    }
+
+    /**
+     * Checks if the deferred resolution of the total page count is enabled.
+     * <p>
+     * By default, if {@code counter(pages)} is used anywhere in CSS, the content is laid out several times,
+     * until the total number of pages stabilizes (see {@link #getLimitOfLayouts()}). Page margin boxes are drawn
+     * only after the whole content is laid out, so if enabled, and "pages" counters are used only in page margin
+     * boxes, the content is laid out once and the total page count is resolved when the margin boxes are drawn.
+     * Otherwise (e.g. {@code counter(pages)} is used in the content, or a page(s) {@code target-counter}
+     * is used), the conversion falls back to the full relayout.
+     *
+     * @return true if the deferred resolution of the total page count is enabled, false otherwise
+     */
+    public boolean isDeferredPagesCounterEnabled() {
+        return deferredPagesCounterEnabled;
+    }
+
+    /**
+     * Enables or disables the deferred resolution of the total page count.
+     * <p>
+     * By default, if {@code counter(pages)} is used anywhere in CSS, the content is laid out several times,
+     * until the total number of pages stabilizes (see {@link #getLimitOfLayouts()}). Page margin boxes are drawn
+     * only after the whole content is laid out, so if enabled, and "pages" counters are used only in page margin
+     * boxes, the content is laid out once and the total page count is resolved when the margin boxes are drawn.
+     * Otherwise (e.g. {@code counter(pages)} is used in the content, or a page(s) {@code target-counter}
+     * is used), the conversion falls back to the full relayout.
+     *
+     * @param deferredPagesCounterEnabled true to enable the deferred resolution of the total page count,
+     *                                    false otherwise
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setDeferredPagesCounterEnabled(boolean deferredPagesCounterEnabled) {
+        this.deferredPagesCounterEnabled = deferredPagesCounterEnabled;
+        return this;
+    }
+
+    /**
+     * Gets the listener of the conversion metrics.
+     *
+     * @return the {@link IConversionMetricsListener} instance, or null if the metrics are not collected
+     */
+    public IConversionMetricsListener getConversionMetricsListener() {
+        return conversionMetricsListener;
+    }
+
+    /**
+     * Sets the listener of the conversion metrics.
+     * <p>
+     * The listener receives the timings of the conversion stages (parsing, CSS collection, style resolution,
+     * visiting of the DOM tree, relayouts and flushing), the conversion counters (visited elements, matched
+     * rule sets, loaded fonts, relayouts and pages) and the fetched resources with their sizes and fetching
+     * durations. By default, no metrics are collected.
+     *
+     * @param conversionMetricsListener the {@link IConversionMetricsListener} instance
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setConversionMetricsListener(IConversionMetricsListener conversionMetricsListener) {
+        this.conversionMetricsListener = conversionMetricsListener;
+        return this;
+    }
+
+    /**
+     * Gets the executor to prefetch the referenced resources on.
+     *
+     * @return the {@link ExecutorService} instance, or null if the resources are not prefetched
+     */
+    public ExecutorService getResourcePrefetchExecutor() {
+        return resourcePrefetchExecutor;
+    }
+
+    /**
+     * Sets the executor to prefetch the referenced resources on.
+     * <p>
+     * If the executor is set, the resources referenced by the document (images, objects, linked stylesheets)
+     * and by the collected stylesheet ({@code url(...)} values and {@code @font-face} sources) are fetched
+     * concurrently before the elements are processed, so that the processing doesn't wait for the resources
+     * one by one. The prefetched resources are kept in memory until the elements are processed, the fetching
+     * which is still outstanding at that moment is cancelled. A resource whose fetching hasn't started when it
+     * is requested is retrieved by the converting thread, so the executor may also run the conversions.
+     * <p>
+     * The executor is not shut down by pdfHTML. A bounded executor, e.g. {@code Executors.newFixedThreadPool(n)},
+     * is recommended; on Java 21 and later an executor which runs each task in a virtual thread can be passed.
+     * By default, the resources are not prefetched.
+     *
+     * @param resourcePrefetchExecutor the {@link ExecutorService} instance
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setResourcePrefetchExecutor(ExecutorService resourcePrefetchExecutor) {
+        this.resourcePrefetchExecutor = resourcePrefetchExecutor;
+        return this;
+    }
+
+    /**
+     * Gets the cache of decoded images shared between conversions.
+     *
+     * @return the {@link IImageDataCache} instance or null if images are not cached between conversions
+     */
+    public IImageDataCache getImageDataCache() {
+        return imageDataCache;
+    }
+
+    /**
+     * Sets the cache of decoded images shared between conversions.
+     * <p>
+     * If the cache is set, raster images are retrieved and decoded only once and every new PDF document gets its
+     * image XObject created from the cached data. Images referenced by URL are keyed by their resolved URL, so
+     * a changed remote image will not be retrieved again until it expires or is evicted; images embedded as
+     * base64 data are keyed by the hash of their content. By default, images are not cached between conversions.
+     *
+     * @param imageDataCache the {@link IImageDataCache} instance, e.g.
+     * {@link com.itextpdf.html2pdf.resolver.resource.ImageDataCache}
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setImageDataCache(IImageDataCache imageDataCache) {
+        this.imageDataCache = imageDataCache;
+        return this;
+    }
+
+    /**
+     * Gets the minimum size of local JPEG and JPEG 2000 images which are streamed into the PDF without being
+     * loaded into memory.
+     *
+     * @return the minimum size of streamed images in bytes, negative if images are never streamed
+     */
+    public long getImageStreamingThreshold() {
+        return imageStreamingThreshold;
+    }
+
+    /**
+     * Sets the minimum size of local JPEG and JPEG 2000 images which are streamed into the PDF without being
+     * loaded into memory.
+     * <p>
+     * Such images can be embedded into the PDF as is, so for the images loaded from {@code file:} URLs only the
+     * header is read during the conversion, and the content is copied from the file straight into the output
+     * when the image is flushed. The file must therefore stay unchanged until the PDF document is closed.
+     * JPEG images with an embedded ICC profile or an Adobe color transform, as well as images with other than one or
+     * three color components, are processed the usual way. Streaming is not used for PDF/A documents.
+     * By default, the value is negative, i.e. images are never streamed.
+     *
+     * @param imageStreamingThreshold the minimum size of streamed images in bytes, or negative value to disable
+     *                                streaming
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setImageStreamingThreshold(long imageStreamingThreshold) {
+        this.imageStreamingThreshold = imageStreamingThreshold;
+        return this;
+    }
+
+    /**
+     * Gets the cache of SVG processing results shared between conversions.
+     *
+     * @return the {@link ISvgProcessorResultCache} instance or null if SVG images are not cached between conversions
+     */
+    public ISvgProcessorResultCache getSvgProcessorResultCache() {
+        return svgProcessorResultCache;
+    }
+
+    /**
+     * Sets the cache of SVG processing results shared between conversions.
+     * <p>
+     * If the cache is set, SVG images referenced by {@code img} and {@code object} elements and by CSS
+     * are parsed and processed only once, and every conversion draws its own copy of the processing result.
+     * The results are keyed by the SVG source, the base URI and the stylesheet of the document, since
+     * the stylesheet is applied to the SVG images as well. Within a single document, absolutely sized SVG images
+     * with the same source share a single XObject regardless of this setting.
+     * By default, SVG images are not cached between conversions.
+     *
+     * @param svgProcessorResultCache the {@link ISvgProcessorResultCache} instance, e.g.
+     * {@link com.itextpdf.html2pdf.resolver.resource.SvgProcessorResultCache}
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setSvgProcessorResultCache(ISvgProcessorResultCache svgProcessorResultCache) {
+        this.svgProcessorResultCache = svgProcessorResultCache;
+        return this;
+    }
+
+    /**
+     * Checks if identical inline SVG elements share a single XObject.
+     * <p>
+     * If enabled, absolutely sized inline {@code svg} elements with the same subtree, the same resolved styles
+     * and the same font size are processed once and drawn from a single XObject. The rule sets of the document
+     * stylesheet matched by the SVG content are compared as well, so the SVG content which is styled differently
+     * based on the ancestors or siblings of the {@code svg} element doesn't share the XObject.
+     *
+     * @return true if the deduplication of inline SVG elements is enabled, false otherwise
+     */
+    public boolean isInlineSvgDeduplicationEnabled() {
+        return inlineSvgDeduplicationEnabled;
+    }
+
+    /**
+     * Enables or disables sharing of a single XObject by identical inline SVG elements.
+     * <p>
+     * If enabled, absolutely sized inline {@code svg} elements with the same subtree, the same resolved styles
+     * and the same font size are processed once and drawn from a single XObject. The rule sets of the document
+     * stylesheet matched by the SVG content are compared as well, so the SVG content which is styled differently
+     * based on the ancestors or siblings of the {@code svg} element doesn't share the XObject.
+     *
+     * @param inlineSvgDeduplicationEnabled true to enable the deduplication of inline SVG elements, false otherwise
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setInlineSvgDeduplicationEnabled(boolean inlineSvgDeduplicationEnabled) {
+        this.inlineSvgDeduplicationEnabled = inlineSvgDeduplicationEnabled;
+        return this;
+    }
+
+    /**
+     * Gets the cache of {@code @font-face} font programs shared between conversions.
+     *
+     * @return the {@link IFontProgramCache} instance or null if font programs are not cached between conversions
+     */
+    public IFontProgramCache getFontProgramCache() {
+        return fontProgramCache;
+    }
+
+    /**
+     * Sets the cache of {@code @font-face} font programs shared between conversions.
+     * <p>
+     * If the cache is set, a web font referenced by {@code @font-face} rules is parsed only once, and the parsed
+     * {@link com.itextpdf.io.font.FontProgram} is reused by the subsequent conversions. The fonts are keyed by
+     * their resolved URL, so a changed remote font will not be refetched until it is evicted from the cache,
+     * and by the hash of their content. By default, font programs are not cached between conversions.
+     *
+     * @param fontProgramCache the {@link IFontProgramCache} instance, e.g.
+     * {@link com.itextpdf.html2pdf.resolver.font.FontProgramCache}
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setFontProgramCache(IFontProgramCache fontProgramCache) {
+        this.fontProgramCache = fontProgramCache;
+        return this;
+    }
+
+    /**
+     * Checks whether {@code @font-face} fonts are loaded only when their font family is used.
+     *
+     * @return true, if {@code @font-face} fonts are loaded lazily
+     */
+    public boolean isLazyFontFaceLoadingEnabled() {
+        return lazyFontFaceLoadingEnabled;
+    }
+
+    /**
+     * Sets whether {@code @font-face} fonts are loaded only when their font family is used.
+     * <p>
+     * By default, the fonts of all the {@code @font-face} rules are fetched and parsed before the document
+     * is processed. If lazy loading is enabled, the fonts of a font family are fetched and parsed only when
+     * the family is referenced by the {@code font-family} of an element for the first time. Please note that
+     * the fonts of the families which are never referenced are then not available as a fallback for the glyphs
+     * missing in the other fonts, so the result may differ if the document relies on such a fallback.
+     *
+     * @param lazyFontFaceLoadingEnabled true to load {@code @font-face} fonts lazily
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setLazyFontFaceLoadingEnabled(boolean lazyFontFaceLoadingEnabled) {
+        this.lazyFontFaceLoadingEnabled = lazyFontFaceLoadingEnabled;
+        return this;
+    }
+
+    /**
+     * Checks whether the glyph lines selected for the text are cached during the conversion.
+     *
+     * @return true, if the glyph selection cache is enabled
+     */
+    public boolean isGlyphSelectionCacheEnabled() {
+        return glyphSelectionCacheEnabled;
+    }
+
+    /**
+     * Sets whether the glyph lines selected for the text are cached during the conversion.
+     * <p>
+     * If the cache is enabled, the font provider is wrapped with
+     * {@link com.itextpdf.html2pdf.resolver.font.GlyphSelectionCachingFontProvider}, so the fonts are selected
+     * and the text is converted to glyphs only once per text, font families and font characteristics. It pays
+     * off if the document is laid out several times, e.g. because of {@code counter(pages)}, at the cost of
+     * keeping the glyphs of the whole document in memory until the end of the conversion. Custom font
+     * providers shall not rely on being passed to the layout as is if the cache is enabled.
+     *
+     * @param glyphSelectionCacheEnabled true to cache the glyph lines selected for the text
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setGlyphSelectionCacheEnabled(boolean glyphSelectionCacheEnabled) {
+        this.glyphSelectionCacheEnabled = glyphSelectionCacheEnabled;
+        return this;
+    }
+
+    /**
+     * Checks whether the body of a document read from a stream is parsed and converted in chunks.
+     *
+     * @return true, if the body streaming is enabled
+     */
+    public boolean isBodyStreamingEnabled() {
+        return bodyStreamingEnabled;
+    }
+
+    /**
+     * Sets whether the body of a document read from a stream is parsed and converted in chunks.
+     * <p>
+     * If the streaming is enabled, the {@link HtmlConverter} methods which convert an {@link java.io.InputStream}
+     * to a PDF first parse the head of the document, and then parse and convert the body content in chunks of
+     * complete top-level elements, see {@link com.itextpdf.html2pdf.html.HtmlBodyChunkReader}. With
+     * {@link #setImmediateFlush(boolean) immediate flush} the converted content of a chunk is laid out and
+     * released before the next chunk is read, so the memory consumption doesn't depend on the length of the
+     * document. This is intended for documents whose body is a long sequence of top-level blocks, e.g. reports
+     * and logs, and has the following limitations:
+     * <ul>
+     *     <li>only the style sheets from the head of the document are applied;
+     *     <li>the selectors which depend on the siblings of the top-level body elements, e.g. {@code :last-child}
+     *     or {@code h1 + p}, may match differently at the chunk boundaries;
+     *     <li>internal links work only if the link precedes its target or both are read in the same chunk, and
+     *     {@code target-counter} values are only resolved for the elements of the head part of the body;
+     *     <li>{@code counter(pages)} disables the immediate flush, so the whole layout is kept in memory anyway.
+     * </ul>
+     * The document is decoded with the {@link #setCharset(String) charset} of the properties, or UTF-8 if it
+     * isn't set. The streaming doesn't affect the conversion of {@link String} sources or to elements.
+     *
+     * @param bodyStreamingEnabled true to parse and convert the body in chunks
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setBodyStreamingEnabled(boolean bodyStreamingEnabled) {
+        this.bodyStreamingEnabled = bodyStreamingEnabled;
+        return this;
+    }
+
+    /**
+     * Checks whether the top-level body elements are released as soon as they are converted.
+     *
+     * @return true, if the DOM consumption is enabled
+     */
+    public boolean isDomConsumptionEnabled() {
+        return domConsumptionEnabled;
+    }
+
+    /**
+     * Sets whether the top-level body elements are released as soon as they are converted.
+     * <p>
+     * If the consumption is enabled, the {@link HtmlConverter} methods parse the HTML with
+     * {@link com.itextpdf.html2pdf.html.ConsumableHtmlParser}, and every top-level body element is replaced
+     * with an empty placeholder once its layout element is passed to the document. With
+     * {@link #setImmediateFlush(boolean) immediate flush} this allows to reclaim the memory occupied by the
+     * DOM of the converted part of the document during long conversions. The placeholders keep the names
+     * and attributes of the elements, so the sibling selectors are not affected, but the text content of
+     * the {@code body} element is not available, e.g. for a custom
+     * {@link com.itextpdf.html2pdf.attach.IOutlineMarkExtractor}. This property has no effect if a custom
+     * {@link #setHtmlParser(IXmlParser) HTML parser} is set.
+     *
+     * @param domConsumptionEnabled true to release the top-level body elements once they are converted
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setDomConsumptionEnabled(boolean domConsumptionEnabled) {
+        this.domConsumptionEnabled = domConsumptionEnabled;
+        return this;
+    }
+
+    /**
+     * Gets the parser of the HTML.
+     *
+     * @return the {@link IXmlParser} instance, or null if the default parser is used
+     */
+    public IXmlParser getHtmlParser() {
+        return htmlParser;
+    }
+
+    /**
+     * Sets the parser of the HTML which is used by the {@link HtmlConverter} methods.
+     * <p>
+     * By default, the HTML is parsed with {@link com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser},
+     * which handles any HTML the way browsers do. If the documents are known to be well-formed, e.g. generated
+     * XHTML, {@link com.itextpdf.html2pdf.html.XhtmlParser} parses them faster. The processor relies on
+     * the node tree built by the parser to consist of the {@code com.itextpdf.styledxmlparser.node.impl.jsoup}
+     * nodes, and the parser shall be safe to use from several threads if the properties are shared.
+     *
+     * @param htmlParser the {@link IXmlParser} instance, or null to use the default parser
+     * @return the {@link ConverterProperties} instance
+     */
+    public ConverterProperties setHtmlParser(IXmlParser htmlParser) {
+        this.htmlParser = htmlParser;
+        return this;
+    }
+
     /**
      * Gets the dependencies.
      *
@@ -27,7 +27,10 @@ import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.html2pdf.attach.Attacher;
 import com.itextpdf.html2pdf.attach.impl.OutlineHandler;
 import com.itextpdf.html2pdf.exceptions.Html2PdfException;
+import com.itextpdf.html2pdf.html.ConsumableHtmlParser;
+import com.itextpdf.html2pdf.html.HtmlBodyChunkReader;
 import com.itextpdf.html2pdf.logs.Html2PdfLogMessageConstant;
+import com.itextpdf.html2pdf.metrics.ConversionStage;
 import com.itextpdf.kernel.pdf.DocumentProperties;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -40,6 +43,7 @@ import com.itextpdf.pdfua.PdfUAConfig;
 import com.itextpdf.pdfua.PdfUADocument;
 import com.itextpdf.styledxmlparser.IXmlParser;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.INode;
 import com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser;
 import com.itextpdf.styledxmlparser.resolver.font.BasicFontProvider;
 
@@ -48,8 +52,13 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * The HtmlConverter is the class you will use most when converting HTML to PDF.
@@ -60,6 +69,11 @@ import java.util.List;
  * {@link PdfDocument} instance.
  */
 public class HtmlConverter {
+    /**
+     * The end tags appended to the parts of a document which is converted in chunks.
+     */
+    private static final String DOCUMENT_END = "</body></html>";
+
     /**
      * Instantiates a new HtmlConverter instance.
      */
@@ -127,7 +141,7 @@ public class HtmlConverter {
     public static void convertToPdf(String html, PdfDocument pdfDocument, ConverterProperties converterProperties) {
         final Document document = convertToDocument(html, pdfDocument, converterProperties);
         document.setProperty(Property.META_INFO, new MetaInfoContainer(resolveMetaInfo(converterProperties)));
-        document.close();
+        closeDocument(document, converterProperties);
     }
 
     /**
@@ -249,7 +263,7 @@ public class HtmlConverter {
         final Document document = convertToDocument(htmlStream, pdfDocument, converterProperties);
         IMetaInfo metaInfo = resolveMetaInfo(converterProperties);
         document.setProperty(Property.META_INFO, new MetaInfoContainer(metaInfo));
-        document.close();
+        closeDocument(document, converterProperties);
     }
 
     /**
@@ -324,8 +338,7 @@ public class HtmlConverter {
             throw new Html2PdfException(Html2PdfException.PDF_DOCUMENT_SHOULD_BE_IN_WRITING_MODE);
         }
         converterProperties = setupCustomConversionProperties(pdfDocument, converterProperties);
-        IXmlParser parser = new JsoupHtmlParser();
-        IDocumentNode doc = parser.parse(html);
+        IDocumentNode doc = parse(html, converterProperties);
         return Attacher.attach(doc, pdfDocument, converterProperties);
     }
 
@@ -346,8 +359,10 @@ public class HtmlConverter {
             throw new Html2PdfException(Html2PdfException.PDF_DOCUMENT_SHOULD_BE_IN_WRITING_MODE);
         }
         converterProperties = setupCustomConversionProperties(pdfDocument, converterProperties);
-        IXmlParser parser = new JsoupHtmlParser();
-        IDocumentNode doc = parser.parse(htmlStream, converterProperties.getCharset());
+        if (converterProperties.isBodyStreamingEnabled()) {
+            return convertStreamedToDocument(htmlStream, pdfDocument, converterProperties);
+        }
+        IDocumentNode doc = parse(htmlStream, converterProperties);
         return Attacher.attach(doc, pdfDocument, converterProperties);
     }
 
@@ -385,8 +400,7 @@ public class HtmlConverter {
      */
     public static List<IElement> convertToElements(String html, ConverterProperties converterProperties) {
         converterProperties = setupCustomConversionProperties(null, converterProperties);
-        IXmlParser parser = new JsoupHtmlParser();
-        IDocumentNode doc = parser.parse(html);
+        IDocumentNode doc = parse(html, converterProperties);
         return Attacher.attach(doc, converterProperties);
     }
 
@@ -403,8 +417,7 @@ public class HtmlConverter {
     public static List<IElement> convertToElements(InputStream htmlStream, ConverterProperties converterProperties)
             throws IOException {
         converterProperties = setupCustomConversionProperties(null, converterProperties);
-        IXmlParser parser = new JsoupHtmlParser();
-        IDocumentNode doc = parser.parse(htmlStream, converterProperties.getCharset());
+        IDocumentNode doc = parse(htmlStream, converterProperties);
         return Attacher.attach(doc, converterProperties);
     }
 
@@ -412,6 +425,55 @@ public class HtmlConverter {
         return new HtmlMetaInfo();
     }
 
+    private static IDocumentNode parse(String html, ConverterProperties converterProperties) {
+        IXmlParser parser = createParser(converterProperties);
+        long start = System.nanoTime();
+        IDocumentNode doc = parser.parse(html);
+        reportStageCompleted(converterProperties, ConversionStage.PARSING, start);
+        return doc;
+    }
+
+    private static IDocumentNode parse(InputStream htmlStream, ConverterProperties converterProperties)
+            throws IOException {
+        IXmlParser parser = createParser(converterProperties);
+        long start = System.nanoTime();
+        IDocumentNode doc = parser.parse(htmlStream, converterProperties.getCharset());
+        reportStageCompleted(converterProperties, ConversionStage.PARSING, start);
+        return doc;
+    }
+
+    private static IXmlParser createParser(ConverterProperties converterProperties) {
+        if (converterProperties.getHtmlParser() != null) {
+            return converterProperties.getHtmlParser();
+        }
+        return converterProperties.isDomConsumptionEnabled() ? new ConsumableHtmlParser() : new JsoupHtmlParser();
+    }
+
+    private static Document convertStreamedToDocument(InputStream htmlStream, PdfDocument pdfDocument,
+            ConverterProperties converterProperties) throws IOException {
+        Charset charset = converterProperties.getCharset() == null
+                ? StandardCharsets.UTF_8 : Charset.forName(converterProperties.getCharset());
+        HtmlBodyChunkReader reader = new HtmlBodyChunkReader(new InputStreamReader(htmlStream, charset));
+        String documentStart = reader.readDocumentStart();
+        IDocumentNode doc = parse(documentStart + reader.getBodyStartTag() + DOCUMENT_END, converterProperties);
+        return Attacher.attach(doc, new StreamedBodyChunkIterator(reader, converterProperties), pdfDocument,
+                converterProperties);
+    }
+
+    private static void closeDocument(Document document, ConverterProperties converterProperties) {
+        long start = System.nanoTime();
+        document.close();
+        reportStageCompleted(converterProperties, ConversionStage.FLUSH, start);
+    }
+
+    private static void reportStageCompleted(ConverterProperties converterProperties, ConversionStage stage,
+            long startNanos) {
+        if (converterProperties != null && converterProperties.getConversionMetricsListener() != null) {
+            converterProperties.getConversionMetricsListener().onStageCompleted(stage,
+                    System.nanoTime() - startNanos);
+        }
+    }
+
     private static PdfDocument createCorrectDocument(ConverterProperties converterProps,
                                                      DocumentProperties documentProps, PdfWriter pdfWriter) {
         if (converterProps != null) {
@@ -469,4 +531,44 @@ public class HtmlConverter {
 
     private static class HtmlMetaInfo implements IMetaInfo {
     }
+
+    /**
+     * Parses the body chunks read by a {@link HtmlBodyChunkReader} on demand, so that only the chunk
+     * which is being converted is kept in memory.
+     */
+    private static class StreamedBodyChunkIterator implements Iterator<INode> {
+        private final HtmlBodyChunkReader reader;
+        private final ConverterProperties converterProperties;
+        private String nextChunk;
+        private boolean finished;
+
+        StreamedBodyChunkIterator(HtmlBodyChunkReader reader, ConverterProperties converterProperties) {
+            this.reader = reader;
+            this.converterProperties = converterProperties;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextChunk == null && !finished) {
+                try {
+                    nextChunk = reader.readNextChunk();
+                } catch (IOException e) {
+                    throw new Html2PdfException(Html2PdfException.HTML_STREAM_READING_FAILED, e);
+                }
+                finished = nextChunk == null;
+            }
+            return nextChunk != null;
+        }
+
+        @Override
+        public INode next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String chunk = nextChunk;
+            nextChunk = null;
+            return parse(reader.getHtmlStartTag() + reader.getBodyStartTag() + chunk + DOCUMENT_END,
+                    converterProperties);
+        }
+    }
 }
@@ -0,0 +1,264 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf;
+
+import com.itextpdf.html2pdf.attach.impl.DefaultTagWorkerFactory;
+import com.itextpdf.html2pdf.attach.impl.OutlineHandler;
+import com.itextpdf.html2pdf.css.apply.impl.DefaultCssApplierFactory;
+import com.itextpdf.html2pdf.exceptions.Html2PdfException;
+import com.itextpdf.html2pdf.resolver.font.DefaultFontProvider;
+import com.itextpdf.html2pdf.resolver.font.IFontProviderFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.IElement;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSet;
+import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
+import com.itextpdf.styledxmlparser.resolver.font.BasicFontProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * A reusable, thread-safe converter built once from {@link ConverterProperties}.
+ * <p>
+ * {@link HtmlConverter} creates all the conversion infrastructure (font provider, outline handler,
+ * tag worker and CSS applier factories, etc.) for every single conversion. When the same configuration
+ * is used for a large number of conversions, this setup may dominate conversion time of small documents.
+ * {@link HtmlConverterEngine} resolves the immutable parts of the configuration only once, namely
+ * the {@link FontSet}, the tag worker factory, the CSS applier factory and the media device description,
+ * and shares them between conversions. Each conversion only gets a cheap per-conversion copy of the mutable
+ * state: a {@link FontProvider} over the shared {@link FontSet} and a fresh {@link OutlineHandler}.
+ * The processor context and the objects it owns hold per-document state, so they are still created
+ * for every conversion.
+ * <p>
+ * Per-conversion font providers are plain {@link FontProvider} instances unless an {@link IFontProviderFactory}
+ * is passed. A {@link FontProvider} subclass other than {@link BasicFontProvider} and {@link DefaultFontProvider}
+ * may override the font selection, so it is only accepted together with a factory. Custom {@link OutlineHandler}
+ * subclasses are treated differently: only their configuration is copied,
+ * see {@link OutlineHandler#OutlineHandler(OutlineHandler)}.
+ * Fonts must not be added to the shared {@link FontSet} once the engine has been created.
+ */
+public class HtmlConverterEngine {
+
+    /**
+     * The template properties every per-conversion {@link ConverterProperties} instance is copied from.
+     */
+    private final ConverterProperties templateProperties;
+
+    /**
+     * The font set shared between conversions.
+     */
+    private final FontSet fontSet;
+
+    /**
+     * The default font family of the per-conversion font providers.
+     */
+    private final String defaultFontFamily;
+
+    /**
+     * The factory of the per-conversion font providers, may be null.
+     */
+    private final IFontProviderFactory fontProviderFactory;
+
+    /**
+     * The outline handler whose configuration is copied for every conversion, may be null.
+     */
+    private final OutlineHandler outlineHandler;
+
+    /**
+     * Creates a new {@link HtmlConverterEngine} instance.
+     * <p>
+     * The passed {@link ConverterProperties} instance is copied, so its further modifications
+     * do not affect the created engine.
+     *
+     * @param converterProperties the {@link ConverterProperties} instance, may be null
+     */
+    public HtmlConverterEngine(ConverterProperties converterProperties) {
+        this(converterProperties, null);
+    }
+
+    /**
+     * Creates a new {@link HtmlConverterEngine} instance which creates the per-conversion font providers
+     * with the passed factory.
+     * <p>
+     * The passed {@link ConverterProperties} instance is copied, so its further modifications
+     * do not affect the created engine.
+     *
+     * @param converterProperties the {@link ConverterProperties} instance, may be null
+     * @param fontProviderFactory the factory of the per-conversion font providers, may be null
+     *                            if no custom {@link FontProvider} subclass is set in the properties
+     */
+    public HtmlConverterEngine(ConverterProperties converterProperties, IFontProviderFactory fontProviderFactory) {
+        this.fontProviderFactory = fontProviderFactory;
+        templateProperties = converterProperties == null
+                ? new ConverterProperties() : new ConverterProperties(converterProperties);
+
+        FontProvider fontProvider = templateProperties.getFontProvider();
+        if (fontProvider == null) {
+            // Same defaults as in HtmlConverter and ProcessorContext, resolved only once
+            boolean needsForcedEmbeddedFonts = templateProperties.getPdfAConformance() != null
+                    || templateProperties.getPdfUaConformance() != null;
+            fontProvider = needsForcedEmbeddedFonts
+                    ? new BasicFontProvider(false, true, false) : new BasicFontProvider();
+        } else if (fontProviderFactory == null && !isPlainFontProvider(fontProvider)) {
+            throw new Html2PdfException(Html2PdfException.CUSTOM_FONT_PROVIDER_REQUIRES_FACTORY);
+        }
+        fontSet = fontProvider.getFontSet();
+        defaultFontFamily = fontProvider.getDefaultFontFamily();
+        templateProperties.setFontProvider(null);
+
+        OutlineHandler handler = templateProperties.getOutlineHandler();
+        if (handler == null && templateProperties.getPdfUaConformance() != null) {
+            handler = OutlineHandler.createStandardHandler();
+        }
+        outlineHandler = handler;
+        templateProperties.setOutlineHandler(null);
+
+        if (templateProperties.getMediaDeviceDescription() == null) {
+            templateProperties.setMediaDeviceDescription(MediaDeviceDescription.getDefault());
+        }
+        if (templateProperties.getTagWorkerFactory() == null) {
+            templateProperties.setTagWorkerFactory(DefaultTagWorkerFactory.getInstance());
+        }
+        if (templateProperties.getCssApplierFactory() == null) {
+            templateProperties.setCssApplierFactory(DefaultCssApplierFactory.getInstance());
+        }
+    }
+
+    /**
+     * Converts a {@link String} containing HTML to PDF by writing the result to an {@link OutputStream}.
+     *
+     * @param html the html in the form of a {@link String}
+     * @param pdfStream the PDF as an {@link OutputStream}
+     */
+    public void convertToPdf(String html, OutputStream pdfStream) {
+        HtmlConverter.convertToPdf(html, pdfStream, createConverterProperties());
+    }
+
+    /**
+     * Converts a {@link String} containing HTML to PDF using a specific {@link PdfWriter}.
+     *
+     * @param html the html in the form of a {@link String}
+     * @param pdfWriter the {@link PdfWriter} instance
+     */
+    public void convertToPdf(String html, PdfWriter pdfWriter) {
+        HtmlConverter.convertToPdf(html, pdfWriter, createConverterProperties());
+    }
+
+    /**
+     * Converts HTML obtained from an {@link InputStream} to PDF by writing the result to an {@link OutputStream}.
+     *
+     * @param htmlStream the {@link InputStream} with the source HTML
+     * @param pdfStream the {@link OutputStream} for the resulting PDF
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void convertToPdf(InputStream htmlStream, OutputStream pdfStream) throws IOException {
+        HtmlConverter.convertToPdf(htmlStream, pdfStream, createConverterProperties());
+    }
+
+    /**
+     * Converts HTML obtained from an {@link InputStream} to PDF using a specific {@link PdfWriter}.
+     *
+     * @param htmlStream the {@link InputStream} with the source HTML
+     * @param pdfWriter the {@link PdfWriter} instance
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void convertToPdf(InputStream htmlStream, PdfWriter pdfWriter) throws IOException {
+        HtmlConverter.convertToPdf(htmlStream, pdfWriter, createConverterProperties());
+    }
+
+    /**
+     * Converts HTML obtained from a {@link String} to objects that will be added to a {@link Document}
+     * for the specified {@link PdfDocument}.
+     *
+     * @param html the html in the form of a {@link String}
+     * @param pdfDocument the {@link PdfDocument} instance
+     * @return a {@link Document} instance
+     */
+    public Document convertToDocument(String html, PdfDocument pdfDocument) {
+        return HtmlConverter.convertToDocument(html, pdfDocument, createConverterProperties());
+    }
+
+    /**
+     * Converts HTML obtained from an {@link InputStream} to objects that will be added to a {@link Document}
+     * for the specified {@link PdfDocument}.
+     *
+     * @param htmlStream the {@link InputStream} with the source HTML
+     * @param pdfDocument the {@link PdfDocument} instance
+     * @return a {@link Document} instance
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public Document convertToDocument(InputStream htmlStream, PdfDocument pdfDocument) throws IOException {
+        return HtmlConverter.convertToDocument(htmlStream, pdfDocument, createConverterProperties());
+    }
+
+    /**
+     * Converts a {@link String} containing HTML to a {@link List} of iText objects ({@link IElement} instances).
+     *
+     * @param html the html in the form of a {@link String}
+     * @return a list of iText building blocks
+     */
+    public List<IElement> convertToElements(String html) {
+        return HtmlConverter.convertToElements(html, createConverterProperties());
+    }
+
+    /**
+     * Converts HTML obtained from an {@link InputStream} to a {@link List} of iText objects
+     * ({@link IElement} instances).
+     *
+     * @param htmlStream the {@link InputStream} with the source HTML
+     * @return a list of iText building blocks
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public List<IElement> convertToElements(InputStream htmlStream) throws IOException {
+        return HtmlConverter.convertToElements(htmlStream, createConverterProperties());
+    }
+
+    /**
+     * Creates a cheap per-conversion {@link ConverterProperties} instance sharing the immutable
+     * parts of the engine configuration.
+     *
+     * @return a new {@link ConverterProperties} instance to be used for a single conversion
+     */
+    public ConverterProperties createConverterProperties() {
+        FontProvider fontProvider = fontProviderFactory == null
+                ? new FontProvider(fontSet, defaultFontFamily)
+                : fontProviderFactory.createFontProvider(fontSet, defaultFontFamily);
+        ConverterProperties properties = new ConverterProperties(templateProperties).setFontProvider(fontProvider);
+        if (outlineHandler != null) {
+            properties.setOutlineHandler(new OutlineHandler(outlineHandler));
+        }
+        return properties;
+    }
+
+    private static boolean isPlainFontProvider(FontProvider fontProvider) {
+        // These classes only add fonts in their constructors and don't change the font selection
+        Class<?> fontProviderClass = fontProvider.getClass();
+        return fontProviderClass == FontProvider.class || fontProviderClass == BasicFontProvider.class
+                || fontProviderClass == DefaultFontProvider.class;
+    }
+}
@@ -28,7 +28,9 @@ import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.IElement;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.INode;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -58,6 +60,24 @@ public class Attacher {
         return processor.processDocument(documentNode, pdfDocument);
     }
 
+    /**
+     * Attaches the HTML content stored in a document node and in a sequence of body chunks to
+     * an existing PDF document, using specific converter properties,
+     * and returning an iText {@link Document} object.
+     *
+     * @param documentNode the document node with the head and the start of the body of the HTML
+     * @param streamedBodyChunks the document nodes with the rest of the body content, which are parsed on demand
+     * @param pdfDocument the {@link PdfDocument} instance
+     * @param converterProperties the {@link ConverterProperties} instance
+     * @return an iText {@link Document} object
+     * @see DefaultHtmlProcessor#processDocument(INode, Iterator, PdfDocument)
+     */
+    public static Document attach(IDocumentNode documentNode, Iterator<INode> streamedBodyChunks,
+            PdfDocument pdfDocument, ConverterProperties converterProperties) {
+        DefaultHtmlProcessor processor = new DefaultHtmlProcessor(converterProperties);
+        return processor.processDocument(documentNode, streamedBodyChunks, pdfDocument);
+    }
+
     /**
      * Attaches the HTML content stored in a document node to
      * a list of {@link IElement} objects.
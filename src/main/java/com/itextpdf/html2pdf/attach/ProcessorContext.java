@@ -26,16 +26,26 @@ import com.itextpdf.commons.actions.contexts.IMetaInfo;
 import com.itextpdf.commons.utils.DIContainer;
 import com.itextpdf.html2pdf.ConverterProperties;
 import com.itextpdf.html2pdf.attach.impl.DefaultTagWorkerFactory;
+import com.itextpdf.html2pdf.attach.impl.FontFaceLoader;
 import com.itextpdf.html2pdf.attach.impl.HtmlMetaInfoContainer;
 import com.itextpdf.html2pdf.attach.impl.LinkContext;
 import com.itextpdf.html2pdf.attach.impl.OutlineHandler;
 import com.itextpdf.html2pdf.css.apply.ICssApplierFactory;
 import com.itextpdf.html2pdf.css.apply.impl.DefaultCssApplierFactory;
 import com.itextpdf.html2pdf.css.resolve.CssContext;
+import com.itextpdf.html2pdf.css.resolve.ICssStyleSheetCache;
+import com.itextpdf.html2pdf.metrics.IConversionMetricsListener;
+import com.itextpdf.html2pdf.metrics.MetricsResourceRetriever;
 import com.itextpdf.html2pdf.resolver.font.DefaultFontProvider;
+import com.itextpdf.html2pdf.resolver.font.GlyphSelectionCachingFontProvider;
+import com.itextpdf.html2pdf.resolver.font.IFontProgramCache;
 import com.itextpdf.html2pdf.resolver.form.FormFieldNameResolver;
 import com.itextpdf.html2pdf.resolver.form.RadioCheckResolver;
 import com.itextpdf.html2pdf.resolver.resource.HtmlResourceResolver;
+import com.itextpdf.html2pdf.resolver.resource.IImageDataCache;
+import com.itextpdf.html2pdf.resolver.resource.PrefetchingResourceRetriever;
+import com.itextpdf.html2pdf.resolver.resource.ResourcePrefetcher;
+import com.itextpdf.html2pdf.resolver.resource.SvgImageCache;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.kernel.pdf.PdfConformance;
 import com.itextpdf.kernel.pdf.PdfDocument;
@@ -45,6 +55,7 @@ import com.itextpdf.layout.font.FontSet;
 import com.itextpdf.layout.font.Range;
 import com.itextpdf.styledxmlparser.css.CssStyleSheet;
 import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
+import com.itextpdf.styledxmlparser.resolver.resource.IResourceRetriever;
 import com.itextpdf.styledxmlparser.resolver.resource.ResourceResolver;
 
 import java.util.Map;
@@ -116,6 +127,71 @@ public class ProcessorContext {
      */
     private boolean immediateFlush;
 
+    /**
+     * The cache of parsed stylesheets shared between conversions.
+     */
+    private ICssStyleSheetCache cssStyleSheetCache;
+
+    /**
+     * Indicates whether the rule sets of the stylesheet should be indexed by selectors.
+     */
+    private boolean cssSelectorIndexEnabled;
+
+    /**
+     * Indicates whether sibling elements with identical matching inputs should share resolved styles.
+     */
+    private boolean cssStyleSharingEnabled;
+
+    /**
+     * Indicates whether the relayout may be skipped if "pages" counters are used only in page margin boxes.
+     */
+    private boolean deferredPagesCounterEnabled;
+
+    /**
+     * The listener of the conversion metrics.
+     */
+    private final IConversionMetricsListener conversionMetricsListener;
+
+    /**
+     * The prefetcher of the referenced resources.
+     */
+    private final ResourcePrefetcher resourcePrefetcher;
+
+    /**
+     * The cache of decoded images shared between conversions.
+     */
+    private final IImageDataCache imageDataCache;
+
+    /**
+     * The minimum size of local images which are streamed into the PDF without being loaded into memory.
+     */
+    private final long imageStreamingThreshold;
+
+    /**
+     * The cache of the processed SVG images.
+     */
+    private final SvgImageCache svgImageCache;
+
+    /**
+     * Indicates whether identical inline SVG elements share a single XObject.
+     */
+    private final boolean inlineSvgDeduplicationEnabled;
+
+    /**
+     * The cache of {@code @font-face} font programs shared between conversions.
+     */
+    private final IFontProgramCache fontProgramCache;
+
+    /**
+     * Indicates whether {@code @font-face} fonts are loaded only when their font family is used.
+     */
+    private final boolean lazyFontFaceLoadingEnabled;
+
+    /**
+     * The loader of {@code @font-face} fonts.
+     */
+    private FontFaceLoader fontFaceLoader;
+
     // Variable fields
 
     /**
@@ -185,6 +261,9 @@ public class ProcessorContext {
         if (fontProvider == null) {
             fontProvider = new DefaultFontProvider();
         }
+        if (converterProperties.isGlyphSelectionCacheEnabled()) {
+            fontProvider = new GlyphSelectionCachingFontProvider(fontProvider);
+        }
 
         tagWorkerFactory = converterProperties.getTagWorkerFactory();
         if (tagWorkerFactory == null) {
@@ -206,7 +285,29 @@ public class ProcessorContext {
             outlineHandler = new OutlineHandler();
         }
 
-        resourceResolver = new HtmlResourceResolver(baseUri, this, converterProperties.getResourceRetriever());
+        imageDataCache = converterProperties.getImageDataCache();
+        imageStreamingThreshold = converterProperties.getImageStreamingThreshold();
+        svgImageCache = new SvgImageCache(converterProperties.getSvgProcessorResultCache());
+        inlineSvgDeduplicationEnabled = converterProperties.isInlineSvgDeduplicationEnabled();
+        fontProgramCache = converterProperties.getFontProgramCache();
+        lazyFontFaceLoadingEnabled = converterProperties.isLazyFontFaceLoadingEnabled();
+        fontFaceLoader = new FontFaceLoader(this);
+        conversionMetricsListener = converterProperties.getConversionMetricsListener();
+        IResourceRetriever resourceRetriever = converterProperties.getResourceRetriever();
+        PrefetchingResourceRetriever prefetchingResourceRetriever = null;
+        if (converterProperties.getResourcePrefetchExecutor() != null) {
+            prefetchingResourceRetriever = new PrefetchingResourceRetriever(resourceRetriever,
+                    converterProperties.getResourcePrefetchExecutor());
+            resourceRetriever = prefetchingResourceRetriever;
+        }
+        // The metrics retriever wraps the prefetching one, so that only the resources which are actually
+        // requested are reported, and they are reported from the converting thread
+        if (conversionMetricsListener != null) {
+            resourceRetriever = new MetricsResourceRetriever(resourceRetriever, conversionMetricsListener);
+        }
+        resourceResolver = new HtmlResourceResolver(baseUri, this, resourceRetriever);
+        resourcePrefetcher = prefetchingResourceRetriever == null ? null
+                : new ResourcePrefetcher(resourceResolver, prefetchingResourceRetriever);
 
         limitOfLayouts = converterProperties.getLimitOfLayouts();
         cssContext = new CssContext();
@@ -217,6 +318,10 @@ public class ProcessorContext {
         formFieldNameResolver = new FormFieldNameResolver();
         radioCheckResolver = new RadioCheckResolver();
         immediateFlush = converterProperties.isImmediateFlush();
+        cssStyleSheetCache = converterProperties.getCssStyleSheetCache();
+        cssSelectorIndexEnabled = converterProperties.isCssSelectorIndexEnabled();
+        cssStyleSharingEnabled = converterProperties.isCssStyleSharingEnabled();
+        deferredPagesCounterEnabled = converterProperties.isDeferredPagesCounterEnabled();
         pdfAConformanceFromProperties = new PdfConformance(converterProperties.getPdfAConformance());
         processingInlineSvg = false;
         continuousContainerEnabled = converterProperties.isContinuousContainerEnabled();
@@ -421,6 +526,16 @@ public class ProcessorContext {
         tempFonts.addFont(fontProgram, encoding, alias, unicodeRange);
     }
 
+    /**
+     * Creates the temporary set of fonts if it doesn't exist yet, so that the fonts which are added
+     * to it later are available to the elements which already refer to it.
+     */
+    public void createTemporaryFontSetIfAbsent() {
+        if (tempFonts == null) {
+            tempFonts = new FontSet();
+        }
+    }
+
     /**
      * Check fonts in font provider and temporary font set.
      *
@@ -440,6 +555,10 @@ public class ProcessorContext {
         this.pdfDocument = null;
         this.state = new State();
         this.resourceResolver.resetCache();
+        this.svgImageCache.reset();
+        if (this.resourcePrefetcher != null) {
+            this.resourcePrefetcher.reset();
+        }
         this.cssContext = new CssContext();
         this.cssStyleSheet = null;
         this.linkContext = new LinkContext();
@@ -447,6 +566,7 @@ public class ProcessorContext {
         //Reset font provider. PdfFonts shall be reseted.
         this.fontProvider.reset();
         this.tempFonts = null;
+        this.fontFaceLoader = new FontFaceLoader(this);
         this.outlineHandler.reset();
         this.processingInlineSvg = false;
     }
@@ -480,6 +600,124 @@ public class ProcessorContext {
         return immediateFlush;
     }
 
+    /**
+     * Gets the cache of parsed stylesheets.
+     *
+     * @return the {@link ICssStyleSheetCache} instance or null if stylesheets are not cached
+     */
+    public ICssStyleSheetCache getCssStyleSheetCache() {
+        return cssStyleSheetCache;
+    }
+
+    /**
+     * Checks if the indexed matching of CSS rule sets is enabled.
+     *
+     * @return true if the indexed matching is enabled, false otherwise
+     */
+    public boolean isCssSelectorIndexEnabled() {
+        return cssSelectorIndexEnabled;
+    }
+
+    /**
+     * Checks if the style sharing between sibling elements is enabled.
+     *
+     * @return true if the style sharing is enabled, false otherwise
+     */
+    public boolean isCssStyleSharingEnabled() {
+        return cssStyleSharingEnabled;
+    }
+
+    /**
+     * Checks if the deferred resolution of the total page count is enabled.
+     *
+     * @return true if the deferred resolution of the total page count is enabled, false otherwise
+     */
+    public boolean isDeferredPagesCounterEnabled() {
+        return deferredPagesCounterEnabled;
+    }
+
+    /**
+     * Gets the listener of the conversion metrics.
+     *
+     * @return the {@link IConversionMetricsListener} instance, or null if the metrics are not collected
+     */
+    public IConversionMetricsListener getConversionMetricsListener() {
+        return conversionMetricsListener;
+    }
+
+    /**
+     * Gets the prefetcher of the referenced resources.
+     *
+     * @return the {@link ResourcePrefetcher} instance, or null if the resources are not prefetched
+     */
+    public ResourcePrefetcher getResourcePrefetcher() {
+        return resourcePrefetcher;
+    }
+
+    /**
+     * Gets the cache of decoded images shared between conversions.
+     *
+     * @return the {@link IImageDataCache} instance or null if images are not cached between conversions
+     */
+    public IImageDataCache getImageDataCache() {
+        return imageDataCache;
+    }
+
+    /**
+     * Gets the minimum size of local JPEG and JPEG 2000 images which are streamed into the PDF without being
+     * loaded into memory.
+     *
+     * @return the minimum size of streamed images in bytes, negative if images are never streamed
+     */
+    public long getImageStreamingThreshold() {
+        return imageStreamingThreshold;
+    }
+
+    /**
+     * Gets the cache of the processed SVG images.
+     *
+     * @return the {@link SvgImageCache} instance
+     */
+    public SvgImageCache getSvgImageCache() {
+        return svgImageCache;
+    }
+
+    /**
+     * Checks if identical inline SVG elements share a single XObject.
+     *
+     * @return true if the deduplication of inline SVG elements is enabled, false otherwise
+     */
+    public boolean isInlineSvgDeduplicationEnabled() {
+        return inlineSvgDeduplicationEnabled;
+    }
+
+    /**
+     * Gets the cache of {@code @font-face} font programs shared between conversions.
+     *
+     * @return the {@link IFontProgramCache} instance or null if font programs are not cached between conversions
+     */
+    public IFontProgramCache getFontProgramCache() {
+        return fontProgramCache;
+    }
+
+    /**
+     * Checks whether {@code @font-face} fonts are loaded only when their font family is used.
+     *
+     * @return true, if {@code @font-face} fonts are loaded lazily
+     */
+    public boolean isLazyFontFaceLoadingEnabled() {
+        return lazyFontFaceLoadingEnabled;
+    }
+
+    /**
+     * Gets the loader of {@code @font-face} fonts.
+     *
+     * @return the {@link FontFaceLoader} instance
+     */
+    public FontFaceLoader getFontFaceLoader() {
+        return fontFaceLoader;
+    }
+
     /**
      * Gets html meta info container.
      *
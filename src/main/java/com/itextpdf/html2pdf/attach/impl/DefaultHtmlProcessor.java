@@ -43,44 +43,41 @@ import com.itextpdf.html2pdf.attach.util.LinkHelper;
 import com.itextpdf.html2pdf.css.CssConstants;
 import com.itextpdf.html2pdf.css.apply.ICssApplier;
 import com.itextpdf.html2pdf.css.apply.util.CounterProcessorUtil;
+import com.itextpdf.html2pdf.css.apply.util.CssValueParsingCache;
 import com.itextpdf.html2pdf.css.apply.util.PageBreakApplierUtil;
 import com.itextpdf.html2pdf.css.apply.util.TextDecorationApplierUtil;
 import com.itextpdf.html2pdf.css.resolve.DefaultCssResolver;
 import com.itextpdf.html2pdf.exceptions.Html2PdfException;
+import com.itextpdf.html2pdf.html.ConsumableBodyElementNode;
+import com.itextpdf.html2pdf.html.HtmlDocumentScan;
 import com.itextpdf.html2pdf.html.TagConstants;
 import com.itextpdf.html2pdf.logs.Html2PdfLogMessageConstant;
-import com.itextpdf.io.font.FontProgram;
-import com.itextpdf.io.font.FontProgramFactory;
-import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.html2pdf.metrics.ConversionCounter;
+import com.itextpdf.html2pdf.metrics.ConversionStage;
+import com.itextpdf.html2pdf.metrics.IConversionMetricsListener;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.IPropertyContainer;
 import com.itextpdf.layout.element.Div;
 import com.itextpdf.layout.element.IAbstractElement;
 import com.itextpdf.layout.element.IElement;
-import com.itextpdf.layout.font.FontInfo;
-import com.itextpdf.layout.font.Range;
 import com.itextpdf.layout.properties.Property;
 import com.itextpdf.layout.properties.RenderingMode;
 import com.itextpdf.layout.renderer.DocumentRenderer;
 import com.itextpdf.layout.renderer.MetaInfoContainer;
-import com.itextpdf.styledxmlparser.css.CssDeclaration;
 import com.itextpdf.styledxmlparser.css.CssFontFaceRule;
 import com.itextpdf.styledxmlparser.css.ICssResolver;
-import com.itextpdf.styledxmlparser.css.font.CssFontFace;
 import com.itextpdf.styledxmlparser.css.pseudo.CssPseudoElementNode;
 import com.itextpdf.styledxmlparser.css.pseudo.CssPseudoElementUtil;
 import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
 import com.itextpdf.styledxmlparser.node.ITextNode;
-import com.itextpdf.styledxmlparser.util.FontFamilySplitterUtil;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -143,6 +140,27 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
      */
     private ICssResolver cssResolver;
 
+    /**
+     * The listener of the conversion metrics, null if the metrics are not collected.
+     */
+    private IConversionMetricsListener metricsListener;
+
+    /**
+     * The number of elements visited during the current conversion.
+     */
+    private long elementsVisited;
+
+    /**
+     * The time spent on the style resolution during the current conversion in nanoseconds.
+     */
+    private long styleResolutionNanos;
+
+    /**
+     * The chunks of the body content which are converted after the content of the body node, null if the body
+     * is not streamed or the chunks have already been converted.
+     */
+    private Iterator<INode> streamedBodyChunks;
+
     /**
      * Instantiates a new default html processor.
      *
@@ -150,6 +168,7 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
      */
     public DefaultHtmlProcessor(ConverterProperties converterProperties) {
         this.context = ProcessorContextCreator.createProcessorContext(converterProperties);
+        this.metricsListener = context.getConversionMetricsListener();
     }
 
     /**
@@ -164,14 +183,17 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
         propertyContainer.setProperty(Property.COLLAPSING_MARGINS, true);
         propertyContainer.setProperty(Property.RENDERING_MODE, RenderingMode.HTML_MODE);
         propertyContainer.setProperty(Property.FONT_PROVIDER, context.getFontProvider());
+        // TODO DEVSIX-2534
+        String[] fontFamilies = CssValueParsingCache.parseFontFamilies(cssProperties.get(CssConstants.FONT_FAMILY));
+        if (fontFamilies != null) {
+            context.getFontFaceLoader().loadDeferredFontFaces(Arrays.asList(fontFamilies));
+        }
         if (context.getTempFonts() != null) {
             propertyContainer.setProperty(Property.FONT_SET, context.getTempFonts());
         }
 
-        // TODO DEVSIX-2534
-        List<String> fontFamilies = FontFamilySplitterUtil.splitFontFamily(cssProperties.get(CssConstants.FONT_FAMILY));
         if (fontFamilies != null && !propertyContainer.hasOwnProperty(Property.FONT)) {
-            propertyContainer.setProperty(Property.FONT, fontFamilies.toArray(new String[0]));
+            propertyContainer.setProperty(Property.FONT, fontFamilies);
         }
     }
 
@@ -186,18 +208,22 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
 
         context.reset();
         roots = new ArrayList<>();
-        cssResolver = new DefaultCssResolver(root, context);
+        HtmlDocumentScan documentScan = HtmlDocumentScan.scan(root, context.getResourcePrefetcher());
+        long start = System.nanoTime();
+        cssResolver = new DefaultCssResolver(documentScan, context);
+        reportStageCompleted(ConversionStage.CSS_COLLECTION, start);
         context.setCssStyleSheet(((DefaultCssResolver) cssResolver).getCssStyleSheet());
-        context.getLinkContext().scanForIds(root);
+        prefetchStyleSheetResources();
+        context.getLinkContext().scanForIds(documentScan);
         addFontFaceFonts();
-        IElementNode html = findHtmlNode(root);
-        IElementNode body = findBodyNode(root);
+        IElementNode html = documentScan.getHtmlNode();
+        IElementNode body = documentScan.getBodyNode();
 
         // Force resolve styles to fetch default font size etc
         html.setStyles(cssResolver.resolveStyles(html, context.getCssContext()));
 
         // visit body
-        visit(body);
+        visitAndReport(body);
 
         Div bodyDiv = (Div) roots.get(0);
         List<com.itextpdf.layout.element.IElement> elements = new ArrayList<>();
@@ -209,6 +235,7 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
                 elements.add((com.itextpdf.layout.element.IElement) propertyContainer);
             }
         }
+        releasePrefetchedResources();
         cssResolver = null;
         roots = null;
         for (IElement element : elements) {
@@ -222,6 +249,24 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
      */
     @Override
     public Document processDocument(INode root, PdfDocument pdfDocument) {
+        return processDocument(root, null, pdfDocument);
+    }
+
+    /**
+     * Parses HTML to add the content to a {@link PdfDocument}, with the content of the body provided in chunks.
+     * <p>
+     * The root node provides the head of the document, including the style sheets, and the body element.
+     * Each chunk is a root node of a document whose body holds the next part of the body content. The children
+     * of the chunk bodies are converted as children of the body of the root node one chunk at a time, so that
+     * a chunk can be released as soon as it is converted. The chunks are not taken into account when the
+     * style sheets, the {@code @font-face} fonts and the {@code target-counter} values are collected.
+     *
+     * @param root the root node of the HTML that needs to be parsed
+     * @param streamedBodyChunks the chunks of the body content, null if the whole body is provided by the root node
+     * @param pdfDocument the {@link PdfDocument} instance
+     * @return a {@link Document} instance
+     */
+    public Document processDocument(INode root, Iterator<INode> streamedBodyChunks, PdfDocument pdfDocument) {
         EventManager.getInstance().onEvent(PdfHtmlProductEvent.createConvertHtmlEvent(
                 pdfDocument.getDocumentIdWrapper(), context.getMetaInfoContainer().getMetaInfo()));
 
@@ -230,41 +275,106 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
             throw new Html2PdfException(Html2PdfException.FONT_PROVIDER_CONTAINS_ZERO_FONTS);
         }
         roots = new ArrayList<>();
-        cssResolver = new DefaultCssResolver(root, context);
+        this.streamedBodyChunks = streamedBodyChunks;
+        HtmlDocumentScan documentScan = HtmlDocumentScan.scan(root, context.getResourcePrefetcher());
+        long start = System.nanoTime();
+        cssResolver = new DefaultCssResolver(documentScan, context);
+        reportStageCompleted(ConversionStage.CSS_COLLECTION, start);
         context.setCssStyleSheet(((DefaultCssResolver) cssResolver).getCssStyleSheet());
-        context.getLinkContext().scanForIds(root);
+        prefetchStyleSheetResources();
+        context.getLinkContext().scanForIds(documentScan);
         addFontFaceFonts();
-        root = findHtmlNode(root);
+        root = documentScan.getHtmlNode();
 
         if (context.getCssContext().isNonPagesTargetCounterPresent()) {
             visitToProcessCounters(root);
             context.getCssContext().getCounterManager().clearManager();
         }
-        visit(root);
+        visitAndReport(root);
+        releasePrefetchedResources();
         HtmlDocument doc = (HtmlDocument) roots.get(0);
         // TODO DEVSIX-4261 more precise check if a counter was actually added to the document
         if (context.getCssContext().isPagesCounterPresent()) {
             if (doc.getRenderer() instanceof HtmlDocumentRenderer) {
                 ((HtmlDocumentRenderer) doc.getRenderer()).processWaitingElement();
-                int counter = 0;
-                do {
-                    ++counter;
-                    doc.relayout();
-                    if (counter >= context.getLimitOfLayouts()) {
-                        logger.warn(MessageFormatUtil.format(
-                                Html2PdfLogMessageConstant.EXCEEDED_THE_MAXIMUM_NUMBER_OF_RELAYOUTS));
-                        break;
-                    }
-                } while (((DocumentRenderer) doc.getRenderer()).isRelayoutRequired());
+                // Page margin boxes are drawn when the document is closed, i.e. when the total number
+                // of pages is already known, so "pages" counters used only there don't require relayout
+                if (!context.isDeferredPagesCounterEnabled()
+                        || context.getCssContext().isPagesCounterOutsideOfMarginBoxesPresent()) {
+                    int counter = 0;
+                    do {
+                        ++counter;
+                        long relayoutStart = System.nanoTime();
+                        doc.relayout();
+                        reportStageCompleted(ConversionStage.RELAYOUT, relayoutStart);
+                        reportCounterIncremented(ConversionCounter.RELAYOUTS, 1);
+                        if (counter >= context.getLimitOfLayouts()) {
+                            logger.warn(MessageFormatUtil.format(
+                                    Html2PdfLogMessageConstant.EXCEEDED_THE_MAXIMUM_NUMBER_OF_RELAYOUTS));
+                            break;
+                        }
+                    } while (((DocumentRenderer) doc.getRenderer()).isRelayoutRequired());
+                }
             } else {
                 logger.warn(Html2PdfLogMessageConstant.CUSTOM_RENDERER_IS_SET_FOR_HTML_DOCUMENT);
             }
         }
+        reportCounterIncremented(ConversionCounter.PAGES, pdfDocument.getNumberOfPages());
         cssResolver = null;
         roots = null;
         return doc;
     }
 
+    /**
+     * Cancels the outstanding resource prefetching and releases the prefetched resources once the DOM
+     * has been visited, since the resources are requested during the visit.
+     */
+    private void releasePrefetchedResources() {
+        if (context.getResourcePrefetcher() != null) {
+            context.getResourcePrefetcher().reset();
+        }
+    }
+
+    /**
+     * Visits the root node and reports the metrics of the visit, if they are collected.
+     *
+     * @param node the root node
+     */
+    private void visitAndReport(INode node) {
+        elementsVisited = 0;
+        styleResolutionNanos = 0;
+        long start = System.nanoTime();
+        visit(node);
+        reportStageCompleted(ConversionStage.VISIT, start);
+        if (metricsListener != null) {
+            metricsListener.onStageCompleted(ConversionStage.STYLE_RESOLUTION, styleResolutionNanos);
+            metricsListener.onCounterIncremented(ConversionCounter.ELEMENTS_VISITED, elementsVisited);
+        }
+    }
+
+    /**
+     * Schedules fetching of the resources referenced by the collected stylesheet, if the resources are prefetched.
+     */
+    private void prefetchStyleSheetResources() {
+        if (context.getResourcePrefetcher() != null && context.getCssStyleSheet() != null) {
+            // Lazily loaded fonts shall not be fetched unless they are used
+            context.getResourcePrefetcher().prefetchStyleSheetResources(context.getCssStyleSheet(),
+                    context.getDeviceDescription(), !context.isLazyFontFaceLoadingEnabled());
+        }
+    }
+
+    private void reportStageCompleted(ConversionStage stage, long startNanos) {
+        if (metricsListener != null) {
+            metricsListener.onStageCompleted(stage, System.nanoTime() - startNanos);
+        }
+    }
+
+    private void reportCounterIncremented(ConversionCounter counter, long delta) {
+        if (metricsListener != null) {
+            metricsListener.onCounterIncremented(counter, delta);
+        }
+    }
+
     /**
      * Recursively processes a node to preprocess target-counters.
      *
@@ -296,7 +406,14 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
     private void visit(INode node) {
         if (node instanceof IElementNode) {
             IElementNode element = (IElementNode) node;
-            element.setStyles(cssResolver.resolveStyles(element, context.getCssContext()));
+            if (metricsListener == null) {
+                element.setStyles(cssResolver.resolveStyles(element, context.getCssContext()));
+            } else {
+                long start = System.nanoTime();
+                element.setStyles(cssResolver.resolveStyles(element, context.getCssContext()));
+                styleResolutionNanos += System.nanoTime() - start;
+                ++elementsVisited;
+            }
             if (!isDisplayable(element)) {
                 return;
             }
@@ -330,10 +447,9 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
             CounterProcessorUtil.startProcessingCounters(context.getCssContext(), element);
             visit(createPseudoElement(element, tagWorker, CssConstants.BEFORE));
             visit(createPseudoElement(element, tagWorker, CssConstants.PLACEHOLDER));
-            for (INode childNode : element.childNodes()) {
-                if (!context.isProcessingInlineSvg()) {
-                    visit(childNode);
-                }
+            visitChildNodes(element);
+            if (streamedBodyChunks != null && TagConstants.BODY.equals(element.name())) {
+                visitStreamedBodyChunks(element);
             }
             visit(createPseudoElement(element, tagWorker, CssConstants.AFTER));
             CounterProcessorUtil.endProcessingCounters(context.getCssContext(), element);
@@ -429,62 +545,18 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
      * Adds @font-face fonts to the FontProvider.
      */
     private void addFontFaceFonts() {
+        int fontsLoaded = 0;
         if (cssResolver instanceof DefaultCssResolver) {
+            FontFaceLoader fontFaceLoader = context.getFontFaceLoader();
             for (CssFontFaceRule fontFace : ((DefaultCssResolver) cssResolver).getFonts()) {
-                boolean findSupportedSrc = false;
-                List<CssDeclaration> declarations = fontFace.getProperties();
-                CssFontFace ff = CssFontFace.create(declarations);
-                if (ff != null) {
-                    for (CssFontFace.CssFontFaceSrc src : ff.getSources()) {
-                        if (createFont(ff.getFontFamily(), src, fontFace.resolveUnicodeRange())) {
-                            findSupportedSrc = true;
-                            break;
-                        }
-                    }
-                }
-                if (!findSupportedSrc) {
-                    logger.error(MessageFormatUtil.format(
-                            Html2PdfLogMessageConstant.UNABLE_TO_RETRIEVE_FONT, fontFace));
-                }
-            }
-        }
-    }
-
-    /**
-     * Creates a font and adds it to the context.
-     *
-     * @param fontFamily   the font family
-     * @param src          the source of the font
-     * @param unicodeRange the unicode range
-     * @return true, if successful
-     */
-    private boolean createFont(String fontFamily, CssFontFace.CssFontFaceSrc src, Range unicodeRange) {
-        if (!CssFontFace.isSupportedFontFormat(src.getFormat())) {
-            return false;
-        } else if (src.isLocal()) { // to method with lazy initialization
-            Collection<FontInfo> fonts = context.getFontProvider().getFontSet().get(src.getSrc());
-            if (fonts.size() > 0) {
-                for (FontInfo fi : fonts) {
-                    context.addTemporaryFont(fi, fontFamily);
-                }
-                return true;
-            } else {
-                return false;
-            }
-        } else {
-            try {
-                // Cache at resource resolver level only, at font level we will create font in any case.
-                // The instance of fontProgram will be collected by GC if the is no need in it.
-                byte[] bytes = context.getResourceResolver().retrieveBytesFromResource(src.getSrc());
-                if (bytes != null) {
-                    FontProgram fp = FontProgramFactory.createFont(bytes, false);
-                    context.addTemporaryFont(fp, PdfEncodings.IDENTITY_H, fontFamily, unicodeRange);
-                    return true;
+                if (context.isLazyFontFaceLoadingEnabled()) {
+                    fontFaceLoader.deferFontFace(fontFace);
+                } else if (fontFaceLoader.loadFontFace(fontFace)) {
+                    ++fontsLoaded;
                 }
-            } catch (Exception ignored) {
             }
-            return false;
         }
+        reportCounterIncremented(ConversionCounter.FONTS_LOADED, fontsLoaded);
     }
 
     /**
@@ -519,48 +591,59 @@ public class DefaultHtmlProcessor implements IHtmlProcessor {
     }
 
     /**
-     * Find an element in a node.
+     * Processes the children of an element. The children of a {@link ConsumableBodyElementNode} are released
+     * as soon as they are processed.
      *
-     * @param node    the node
-     * @param tagName the tag name
-     * @return the element node
+     * @param element the element
      */
-    private IElementNode findElement(INode node, String tagName) {
-        LinkedList<INode> q = new LinkedList<>();
-        q.add(node);
-        while (!q.isEmpty()) {
-            INode currentNode = q.getFirst();
-            q.removeFirst();
-            if (currentNode instanceof IElementNode && ((IElementNode) currentNode).name().equals(tagName)) {
-                return (IElementNode) currentNode;
+    private void visitChildNodes(IElementNode element) {
+        if (element instanceof ConsumableBodyElementNode) {
+            ConsumableBodyElementNode body = (ConsumableBodyElementNode) element;
+            List<INode> childNodes = body.childNodes();
+            for (int i = 0; i < childNodes.size(); i++) {
+                if (!context.isProcessingInlineSvg()) {
+                    visit(childNodes.get(i));
+                }
+                body.releaseChild(i);
             }
-            for (INode child : currentNode.childNodes()) {
-                if (child instanceof IElementNode) {
-                    q.add(child);
+        } else {
+            for (INode childNode : element.childNodes()) {
+                if (!context.isProcessingInlineSvg()) {
+                    visit(childNode);
                 }
             }
         }
-        return null;
     }
 
     /**
-     * Find the HTML node.
+     * Processes the children of the streamed body chunks as the children of the body element.
+     * The styles of the html and body elements of a chunk are replaced with the styles of the actual ones,
+     * so that the chunk content inherits them.
      *
-     * @param node the node
-     * @return the i element node
+     * @param body the body element
      */
-    private IElementNode findHtmlNode(INode node) {
-        return findElement(node, TagConstants.HTML);
-    }
-
-    /**
-     * Find the BODY node.
-     *
-     * @param node the node
-     * @return the i element node
-     */
-    private IElementNode findBodyNode(INode node) {
-        return findElement(node, TagConstants.BODY);
+    private void visitStreamedBodyChunks(IElementNode body) {
+        Iterator<INode> chunks = streamedBodyChunks;
+        streamedBodyChunks = null;
+        IElementNode html = body.parentNode() instanceof IElementNode ? (IElementNode) body.parentNode() : null;
+        while (chunks.hasNext()) {
+            HtmlDocumentScan chunkScan = HtmlDocumentScan.scan(chunks.next(), context.getResourcePrefetcher());
+            IElementNode chunkHtml = chunkScan.getHtmlNode();
+            IElementNode chunkBody = chunkScan.getBodyNode();
+            if (chunkBody == null) {
+                continue;
+            }
+            if (chunkHtml != null && html != null) {
+                chunkHtml.setStyles(html.getStyles());
+            }
+            chunkBody.setStyles(body.getStyles());
+            context.getLinkContext().addLinkDestinations(chunkScan);
+            visitChildNodes(chunkBody);
+            chunkBody.setStyles(null);
+            if (chunkHtml != null) {
+                chunkHtml.setStyles(null);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,246 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.attach.impl;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.html2pdf.attach.ProcessorContext;
+import com.itextpdf.html2pdf.logs.Html2PdfLogMessageConstant;
+import com.itextpdf.html2pdf.metrics.ConversionCounter;
+import com.itextpdf.html2pdf.resolver.font.IFontProgramCache;
+import com.itextpdf.html2pdf.util.ContentHashUtil;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.layout.font.FontInfo;
+import com.itextpdf.layout.font.Range;
+import com.itextpdf.styledxmlparser.css.CssFontFaceRule;
+import com.itextpdf.styledxmlparser.css.font.CssFontFace;
+import com.itextpdf.styledxmlparser.resolver.resource.ResourceResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the fonts of {@code @font-face} rules and adds them to the temporary fonts of the {@link ProcessorContext}.
+ * <p>
+ * The rules can either be loaded right away, or be deferred and loaded only when their font family is used
+ * by an element for the first time.
+ * <p>
+ * This class is not reusable and a new instance shall be created for every new conversion process.
+ */
+public class FontFaceLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(FontFaceLoader.class);
+
+    /**
+     * The prefix of the font program cache keys created from the resolved font URL.
+     */
+    private static final String FONT_URL_KEY_PREFIX = "url:";
+
+    /**
+     * The prefix of the font program cache keys created from the font content hash.
+     */
+    private static final String FONT_CONTENT_KEY_PREFIX = "sha256:";
+
+    private final ProcessorContext context;
+
+    /**
+     * The deferred {@code @font-face} rules grouped by their lower-cased font family.
+     */
+    private final Map<String, List<CssFontFaceRule>> deferredFontFaces = new HashMap<>();
+
+    /**
+     * Creates a new {@link FontFaceLoader} instance.
+     *
+     * @param context the processor context the fonts are added to
+     */
+    public FontFaceLoader(ProcessorContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Loads the font of the {@code @font-face} rule and adds it to the temporary fonts of the context.
+     * The first supported source which can be retrieved is used.
+     *
+     * @param fontFace the {@code @font-face} rule
+     * @return true, if the font has been loaded
+     */
+    public boolean loadFontFace(CssFontFaceRule fontFace) {
+        CssFontFace ff = CssFontFace.create(fontFace.getProperties());
+        if (ff != null) {
+            for (CssFontFace.CssFontFaceSrc src : ff.getSources()) {
+                if (createFont(ff.getFontFamily(), src, fontFace.resolveUnicodeRange())) {
+                    return true;
+                }
+            }
+        }
+        logger.error(MessageFormatUtil.format(Html2PdfLogMessageConstant.UNABLE_TO_RETRIEVE_FONT, fontFace));
+        return false;
+    }
+
+    /**
+     * Defers loading of the {@code @font-face} rule until its font family is passed to
+     * {@link #loadDeferredFontFaces(List)}.
+     *
+     * @param fontFace the {@code @font-face} rule
+     */
+    public void deferFontFace(CssFontFaceRule fontFace) {
+        CssFontFace ff = CssFontFace.create(fontFace.getProperties());
+        if (ff == null) {
+            logger.error(MessageFormatUtil.format(Html2PdfLogMessageConstant.UNABLE_TO_RETRIEVE_FONT, fontFace));
+            return;
+        }
+        String fontFamily = normalizeFontFamily(ff.getFontFamily());
+        List<CssFontFaceRule> fontFaces = deferredFontFaces.get(fontFamily);
+        if (fontFaces == null) {
+            fontFaces = new ArrayList<>();
+            deferredFontFaces.put(fontFamily, fontFaces);
+        }
+        fontFaces.add(fontFace);
+        // Elements refer to the temporary font set before the deferred fonts are added to it
+        context.createTemporaryFontSetIfAbsent();
+    }
+
+    /**
+     * Loads the deferred {@code @font-face} rules of the passed font families. All the rules of a family are
+     * loaded at once, since the font selection takes both the style and the unicode range of the fonts
+     * into account.
+     *
+     * @param fontFamilies the font families used by an element
+     */
+    public void loadDeferredFontFaces(List<String> fontFamilies) {
+        if (deferredFontFaces.isEmpty() || fontFamilies == null) {
+            return;
+        }
+        int fontsLoaded = 0;
+        for (String fontFamily : fontFamilies) {
+            List<CssFontFaceRule> fontFaces = deferredFontFaces.remove(normalizeFontFamily(fontFamily));
+            if (fontFaces != null) {
+                for (CssFontFaceRule fontFace : fontFaces) {
+                    if (loadFontFace(fontFace)) {
+                        ++fontsLoaded;
+                    }
+                }
+            }
+        }
+        if (fontsLoaded > 0 && context.getConversionMetricsListener() != null) {
+            context.getConversionMetricsListener().onCounterIncremented(ConversionCounter.FONTS_LOADED, fontsLoaded);
+        }
+    }
+
+    /**
+     * Checks whether there are {@code @font-face} rules which are deferred and not loaded yet.
+     *
+     * @return true, if there is at least one deferred rule
+     */
+    public boolean hasDeferredFontFaces() {
+        return !deferredFontFaces.isEmpty();
+    }
+
+    private static String normalizeFontFamily(String fontFamily) {
+        return fontFamily.trim().toLowerCase();
+    }
+
+    /**
+     * Creates a font and adds it to the context.
+     *
+     * @param fontFamily   the font family
+     * @param src          the source of the font
+     * @param unicodeRange the unicode range
+     * @return true, if successful
+     */
+    private boolean createFont(String fontFamily, CssFontFace.CssFontFaceSrc src, Range unicodeRange) {
+        if (!CssFontFace.isSupportedFontFormat(src.getFormat())) {
+            return false;
+        } else if (src.isLocal()) { // to method with lazy initialization
+            Collection<FontInfo> fonts = context.getFontProvider().getFontSet().get(src.getSrc());
+            if (fonts.size() > 0) {
+                for (FontInfo fi : fonts) {
+                    context.addTemporaryFont(fi, fontFamily);
+                }
+                return true;
+            } else {
+                return false;
+            }
+        } else {
+            try {
+                FontProgram fp = createFontProgram(src.getSrc());
+                if (fp != null) {
+                    context.addTemporaryFont(fp, PdfEncodings.IDENTITY_H, fontFamily, unicodeRange);
+                    return true;
+                }
+            } catch (Exception ignored) {
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Creates the font program of a {@code @font-face} source, using the font program cache if it is set.
+     *
+     * @param src the source of the font
+     * @return the font program, or null if the font can't be retrieved
+     * @throws IOException if the font can't be parsed
+     */
+    private FontProgram createFontProgram(String src) throws IOException {
+        IFontProgramCache fontProgramCache = context.getFontProgramCache();
+        if (fontProgramCache == null) {
+            // Cache at resource resolver level only, at font level we will create font in any case.
+            // The instance of fontProgram will be collected by GC if the is no need in it.
+            byte[] bytes = context.getResourceResolver().retrieveBytesFromResource(src);
+            return bytes == null ? null : FontProgramFactory.createFont(bytes, false);
+        }
+        String urlKey = null;
+        if (!ResourceResolver.isDataSrc(src)) {
+            try {
+                urlKey = FONT_URL_KEY_PREFIX + context.getResourceResolver().resolveAgainstBaseUri(src).toExternalForm();
+            } catch (MalformedURLException ignored) {
+                // The font is cached by its content only
+            }
+        }
+        FontProgram fp = urlKey == null ? null : fontProgramCache.getFontProgram(urlKey);
+        if (fp == null) {
+            byte[] bytes = context.getResourceResolver().retrieveBytesFromResource(src);
+            if (bytes == null) {
+                return null;
+            }
+            String contentKey = FONT_CONTENT_KEY_PREFIX + ContentHashUtil.computeSha256(bytes);
+            fp = fontProgramCache.getFontProgram(contentKey);
+            if (fp == null) {
+                fp = FontProgramFactory.createFont(bytes, false);
+                fontProgramCache.putFontProgram(contentKey, fp);
+            }
+            if (urlKey != null) {
+                fontProgramCache.putFontProgram(urlKey, fp);
+            }
+        }
+        return fp;
+    }
+}
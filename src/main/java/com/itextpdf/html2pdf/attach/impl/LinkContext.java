@@ -23,6 +23,7 @@
 package com.itextpdf.html2pdf.attach.impl;
 
 import com.itextpdf.html2pdf.html.AttributeConstants;
+import com.itextpdf.html2pdf.html.HtmlDocumentScan;
 import com.itextpdf.html2pdf.html.TagConstants;
 import com.itextpdf.kernel.pdf.annot.PdfLinkAnnotation;
 import com.itextpdf.styledxmlparser.node.IElementNode;
@@ -75,6 +76,34 @@ public class LinkContext {
             root = root.parentNode();
         }
 
+        collectLinkDestinations(root);
+        return this;
+    }
+
+    /**
+     * Set the (internal) link targets found by a scan of the DOM tree
+     *
+     * @param documentScan the scan of the DOM tree
+     * @return this LinkContext
+     */
+    public LinkContext scanForIds(HtmlDocumentScan documentScan) {
+        linkDestinations.clear();
+        return addLinkDestinations(documentScan);
+    }
+
+    /**
+     * Add the (internal) link targets found by a scan of a DOM subtree, keeping the ones found before.
+     * This is used when the document is converted in parts and the parts are not available at once.
+     *
+     * @param documentScan the scan of the DOM subtree
+     * @return this LinkContext
+     */
+    public LinkContext addLinkDestinations(HtmlDocumentScan documentScan) {
+        linkDestinations.addAll(documentScan.getLinkDestinations());
+        return this;
+    }
+
+    private void collectLinkDestinations(INode root) {
         Stack<INode> stk = new Stack<>();
         stk.push(root);
         while (!stk.isEmpty()) {
@@ -92,8 +121,6 @@ public class LinkContext {
                 stk.addAll(n.childNodes());
             }
         }
-
-        return this;
     }
 
     /**
@@ -103,6 +103,20 @@ public class OutlineHandler {
     public OutlineHandler(){
         markExtractor = new TagOutlineMarkExtractor();
     }
+
+    /**
+     * Creates an OutlineHandler with the same configuration (mark extractor, mark priorities mapping
+     * and destination name prefix) as the passed one. The processing state is not copied, so the
+     * created instance is ready to process a new document.
+     *
+     * @param other the {@link OutlineHandler} to copy configuration from
+     */
+    public OutlineHandler(OutlineHandler other) {
+        this.markExtractor = other.markExtractor;
+        this.markPrioritiesMapping.putAll(other.markPrioritiesMapping);
+        this.destinationNamePrefix = other.destinationNamePrefix;
+    }
+
     /**
      * Creates an OutlineHandler with standard {@link TagOutlineMarkExtractor} and predefined mappings.
      *
@@ -25,8 +25,10 @@ package com.itextpdf.html2pdf.attach.impl.layout;
 import com.itextpdf.html2pdf.logs.Html2PdfLogMessageConstant;
 import com.itextpdf.html2pdf.attach.ITagWorker;
 import com.itextpdf.html2pdf.attach.ProcessorContext;
+import com.itextpdf.html2pdf.css.CssConstants;
 import com.itextpdf.html2pdf.css.apply.ICssApplier;
 import com.itextpdf.html2pdf.css.page.PageMarginRunningElementNode;
+import com.itextpdf.html2pdf.css.resolve.ComputedStylesMap;
 import com.itextpdf.html2pdf.css.resolve.DefaultCssResolver;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.geom.Rectangle;
@@ -42,6 +44,7 @@ import com.itextpdf.layout.renderer.IRenderer;
 import com.itextpdf.layout.tagging.LayoutTaggingHelper;
 import com.itextpdf.styledxmlparser.css.CssRuleName;
 import com.itextpdf.styledxmlparser.css.page.PageMarginBoxContextNode;
+import com.itextpdf.styledxmlparser.css.util.CssDimensionParsingUtils;
 import com.itextpdf.styledxmlparser.css.util.CssUtils;
 import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
@@ -65,6 +68,16 @@ class PageMarginBoxBuilder {
 
     List<PageMarginBoxContextNode> resolvedPageMarginBoxes;
 
+    /**
+     * CSS resolvers of the margin boxes, built once and reused for every page.
+     */
+    private final Map<PageMarginBoxContextNode, DefaultCssResolver> cssResolvers = new HashMap<>();
+
+    /**
+     * Resolved styles of the margin box children which don't depend on the page being processed.
+     */
+    private final Map<INode, Map<String, String>> resolvedChildStyles = new HashMap<>();
+
     private static final float EPSILON = 0.00001f;
 
     public PageMarginBoxBuilder(List<PageMarginBoxContextNode> resolvedPageMarginBoxes, float[] margins, PageSize pageSize) {
@@ -115,7 +128,11 @@ class PageMarginBoxBuilder {
 
     private IElement processMarginBoxContent(PageMarginBoxContextNode marginBoxContentNode, int pageNumber, ProcessorContext context) {
         marginBoxContentNode.setStyles(marginBoxContentNode.getStyles());
-        DefaultCssResolver cssResolver = new DefaultCssResolver(marginBoxContentNode, context);
+        DefaultCssResolver cssResolver = cssResolvers.get(marginBoxContentNode);
+        if (cssResolver == null) {
+            cssResolver = new DefaultCssResolver(marginBoxContentNode, context);
+            cssResolvers.put(marginBoxContentNode, cssResolver);
+        }
         ITagWorker marginBoxWorker = context.getTagWorkerFactory().getTagWorker(marginBoxContentNode, context);
         for (int i = 0; i < marginBoxContentNode.childNodes().size(); i++) {
             INode childNode = marginBoxContentNode.childNodes().get(i);
@@ -125,7 +142,7 @@ class PageMarginBoxBuilder {
             } else if (childNode instanceof IElementNode) {
                 ITagWorker childTagWorker = context.getTagWorkerFactory().getTagWorker((IElementNode) childNode, context);
                 if (childTagWorker != null) {
-                    Map<String, String> stringStringMap = cssResolver.resolveStyles(childNode, context.getCssContext());
+                    Map<String, String> stringStringMap = resolveChildStyles(cssResolver, childNode, context);
                     ((IElementNode) childNode).setStyles(stringStringMap);
                     ICssApplier cssApplier = context.getCssApplierFactory().getCssApplier((IElementNode) childNode);
                     if (cssApplier != null) {
@@ -159,6 +176,24 @@ class PageMarginBoxBuilder {
         return (IElement) marginBoxWorker.getElementResult();
     }
 
+    private Map<String, String> resolveChildStyles(DefaultCssResolver cssResolver, INode childNode,
+            ProcessorContext context) {
+        Map<String, String> styles = resolvedChildStyles.get(childNode);
+        if (styles != null) {
+            // Keep the side effect of the style resolution on the CSS context
+            context.getCssContext().setCurrentFontSize(
+                    CssDimensionParsingUtils.parseAbsoluteFontSize(styles.get(CssConstants.FONT_SIZE)));
+            // Appliers may modify the styles of the node, so the cached instance is never exposed
+            return new ComputedStylesMap(styles);
+        }
+        styles = cssResolver.resolveStyles(childNode, context.getCssContext());
+        // Counters are processed during the style resolution, so such styles are resolved for every page
+        if (!styles.containsKey(CssConstants.COUNTER_RESET) && !styles.containsKey(CssConstants.COUNTER_INCREMENT)) {
+            resolvedChildStyles.put(childNode, new ComputedStylesMap(styles));
+        }
+        return styles;
+    }
+
     private void getPMBRenderers(IElement[] elements, DocumentRenderer documentRenderer, PdfDocument pdfDocument) {
         renderers = new IRenderer[16];
         for (int i = 0; i < 4; i++) {
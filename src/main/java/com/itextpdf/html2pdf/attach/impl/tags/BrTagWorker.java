@@ -26,13 +26,13 @@ import com.itextpdf.html2pdf.attach.ITagWorker;
 import com.itextpdf.html2pdf.attach.ProcessorContext;
 import com.itextpdf.html2pdf.attach.util.AccessiblePropHelper;
 import com.itextpdf.html2pdf.css.CssConstants;
+import com.itextpdf.html2pdf.css.apply.util.CssValueParsingCache;
 import com.itextpdf.kernel.pdf.tagging.StandardRoles;
 import com.itextpdf.layout.IPropertyContainer;
 import com.itextpdf.layout.element.Text;
 import com.itextpdf.styledxmlparser.node.IElementNode;
-import com.itextpdf.styledxmlparser.util.FontFamilySplitterUtil;
 
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * TagWorker class for the {@code br} element.
@@ -55,8 +55,11 @@ public class BrTagWorker implements ITagWorker {
         // because only font-family should be applied to <br /> element.
         String fontFamily = element.getStyles().get(CssConstants.FONT_FAMILY);
         // TODO DEVSIX-2534
-        List<String> splitFontFamily = FontFamilySplitterUtil.splitFontFamily(fontFamily);
-        newLine.setFontFamily(splitFontFamily.toArray(new String[splitFontFamily.size()]));
+        String[] splitFontFamily = CssValueParsingCache.parseFontFamilies(fontFamily);
+        if (splitFontFamily != null) {
+            context.getFontFaceLoader().loadDeferredFontFaces(Arrays.asList(splitFontFamily));
+            newLine.setFontFamily(splitFontFamily);
+        }
 
         AccessiblePropHelper.trySetLangAttribute(newLine, element);
     }
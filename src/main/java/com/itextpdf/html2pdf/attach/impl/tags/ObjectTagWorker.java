@@ -30,12 +30,12 @@ import com.itextpdf.html2pdf.attach.util.AccessiblePropHelper;
 import com.itextpdf.html2pdf.attach.util.ContextMappingHelper;
 import com.itextpdf.html2pdf.html.AttributeConstants;
 import com.itextpdf.html2pdf.logs.Html2PdfLogMessageConstant;
+import com.itextpdf.html2pdf.resolver.resource.SvgImageCache;
 import com.itextpdf.html2pdf.util.SvgProcessingUtil;
 import com.itextpdf.layout.IPropertyContainer;
 import com.itextpdf.layout.element.Image;
 import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.resolver.resource.ResourceResolver;
-import com.itextpdf.svg.converter.SvgConverter;
 import com.itextpdf.svg.element.SvgImage;
 import com.itextpdf.svg.exceptions.SvgProcessingException;
 import com.itextpdf.svg.processors.ISvgProcessorResult;
@@ -74,6 +74,16 @@ public class ObjectTagWorker implements ITagWorker {
      */
     private ISvgProcessorResult res;
 
+    /**
+     * The key of the SVG source in the {@link SvgImageCache}.
+     */
+    private String sourceKey;
+
+    /**
+     * The XObject previously created for the same SVG source.
+     */
+    private SvgImageXObject cachedXObject;
+
     /**
      * Creates a new {@link ImgTagWorker} instance.
      *
@@ -87,6 +97,13 @@ public class ObjectTagWorker implements ITagWorker {
         String type = element.getAttribute(AttributeConstants.TYPE);
         if (isSvgImage(type)) {
             String dataValue = element.getAttribute(AttributeConstants.DATA);
+            if (dataValue != null) {
+                sourceKey = SvgImageCache.createSourceKey(dataValue, context.getResourceResolver());
+                cachedXObject = context.getSvgImageCache().getImageXObject(sourceKey, true, context);
+                if (cachedXObject != null) {
+                    return;
+                }
+            }
             try (InputStream svgStream = context.getResourceResolver().retrieveResourceAsInputStream(dataValue)) {
                 if (svgStream != null) {
                     SvgConverterProperties props = ContextMappingHelper.mapToSvgConverterProperties(context);
@@ -95,7 +112,7 @@ public class ObjectTagWorker implements ITagWorker {
                         String dir = FileUtil.parentDirectory(fullURL);
                         props.setBaseUri(dir);
                     }
-                    res = SvgConverter.parseAndProcess(svgStream, props);
+                    res = context.getSvgImageCache().process(sourceKey, svgStream, props);
                 }
             } catch (SvgProcessingException spe) {
                 LOGGER.error(spe.getMessage());
@@ -118,9 +135,13 @@ public class ObjectTagWorker implements ITagWorker {
     @Override
     public void processEnd(IElementNode element, ProcessorContext context) {
         // Create Image object
-        if (res != null) {
+        if (cachedXObject != null) {
+            image = new SvgImage(cachedXObject);
+            AccessiblePropHelper.trySetLangAttribute(image, element);
+        } else if (res != null) {
             SvgImageXObject svgImageXObject = processUtil.createXObjectFromProcessingResult(res, context, false);
             svgImageXObject.setIsCreatedByObject(true);
+            context.getSvgImageCache().putImageXObject(sourceKey, true, context, res, svgImageXObject);
             image = new SvgImage(svgImageXObject);
             AccessiblePropHelper.trySetLangAttribute(image, element);
         }
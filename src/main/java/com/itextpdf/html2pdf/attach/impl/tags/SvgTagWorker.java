@@ -28,6 +28,7 @@ import com.itextpdf.html2pdf.attach.util.AccessiblePropHelper;
 import com.itextpdf.html2pdf.attach.util.AlternateDescriptionResolver;
 import com.itextpdf.html2pdf.attach.util.ContextMappingHelper;
 import com.itextpdf.html2pdf.logs.Html2PdfLogMessageConstant;
+import com.itextpdf.html2pdf.resolver.resource.SvgImageCache;
 import com.itextpdf.html2pdf.util.SvgProcessingUtil;
 import com.itextpdf.layout.IPropertyContainer;
 import com.itextpdf.layout.element.Image;
@@ -51,6 +52,8 @@ public class SvgTagWorker implements ITagWorker {
 
     private Image svgImage;
     private ISvgProcessorResult processingResult;
+    private String sourceKey;
+    private SvgImageXObject cachedXObject;
 
     /**
      * Creates a new {@link SvgTagWorker} instance.
@@ -60,20 +63,32 @@ public class SvgTagWorker implements ITagWorker {
      */
     public SvgTagWorker(IElementNode element, ProcessorContext context) {
         svgImage = null;
+        context.startProcessingInlineSvg();
+        if (context.isInlineSvgDeduplicationEnabled()) {
+            sourceKey = context.getSvgImageCache().createInlineSvgKey(element, context.getCssStyleSheet(),
+                    context.getDeviceDescription());
+            cachedXObject = context.getSvgImageCache().getImageXObject(sourceKey, false, context);
+            if (cachedXObject != null) {
+                return;
+            }
+        }
         SvgConverterProperties props = ContextMappingHelper.mapToSvgConverterProperties(context);
         try {
             processingResult = new DefaultSvgProcessor().process((INode) element, props);
         } catch (SvgProcessingException spe) {
             LOGGER.error(Html2PdfLogMessageConstant.UNABLE_TO_PROCESS_SVG_ELEMENT, spe);
         }
-        context.startProcessingInlineSvg();
     }
 
     @Override
     public void processEnd(IElementNode element, ProcessorContext context) {
-        if (processingResult != null) {
-            SvgImageXObject svgImageXObject = new SvgProcessingUtil(context.getResourceResolver())
+        SvgImageXObject svgImageXObject = cachedXObject;
+        if (svgImageXObject == null && processingResult != null) {
+            svgImageXObject = new SvgProcessingUtil(context.getResourceResolver())
                     .createXObjectFromProcessingResult(processingResult, context, true);
+            context.getSvgImageCache().putImageXObject(sourceKey, false, context, processingResult, svgImageXObject);
+        }
+        if (svgImageXObject != null) {
             svgImage = new SvgImage(svgImageXObject);
 
             AccessiblePropHelper.trySetLangAttribute(svgImage, element);
@@ -43,7 +43,6 @@ import com.itextpdf.layout.properties.TransparentColor;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.styledxmlparser.css.CommonCssConstants;
 import com.itextpdf.styledxmlparser.css.util.CssBackgroundUtils;
-import com.itextpdf.styledxmlparser.css.util.CssDimensionParsingUtils;
 import com.itextpdf.styledxmlparser.css.util.CssGradientUtil;
 import com.itextpdf.styledxmlparser.css.util.CssUtils;
 import com.itextpdf.styledxmlparser.exceptions.StyledXMLParserException;
@@ -101,7 +100,7 @@ public final class BackgroundApplierUtil {
         final List<String> backgroundBlendModeArray = CssUtils.splitStringWithComma(backgroundBlendModeStr);
 
         final String fontSize = cssProps.get(CssConstants.FONT_SIZE);
-        final float em = fontSize == null ? 0 : CssDimensionParsingUtils.parseAbsoluteLength(fontSize);
+        final float em = fontSize == null ? 0 : CssValueParsingCache.parseAbsoluteLength(fontSize);
         final float rem = context.getCssContext().getRootFontSize();
 
         final List<String> backgroundClipArray = CssUtils.splitStringWithComma(backgroundClipStr);
@@ -219,7 +218,7 @@ public final class BackgroundApplierUtil {
                     position.setPositionX(BackgroundPosition.PositionX.CENTER);
                     break;
                 default:
-                    final UnitValue unitValue = CssDimensionParsingUtils.parseLengthValueToPt(value, em, rem);
+                    final UnitValue unitValue = CssValueParsingCache.parseLengthValueToPt(value, em, rem);
                     if (unitValue != null) {
                         position.setXShift(unitValue);
                     }
@@ -240,7 +239,7 @@ public final class BackgroundApplierUtil {
                     position.setPositionY(BackgroundPosition.PositionY.CENTER);
                     break;
                 default:
-                    final UnitValue unitValue = CssDimensionParsingUtils.parseLengthValueToPt(value, em, rem);
+                    final UnitValue unitValue = CssValueParsingCache.parseLengthValueToPt(value, em, rem);
                     if (unitValue != null) {
                         position.setYShift(unitValue);
                     }
@@ -282,7 +281,7 @@ public final class BackgroundApplierUtil {
     private static void applyBackgroundColor(final String backgroundColorStr, final IPropertyContainer element,
             BackgroundBox clip) {
         if (backgroundColorStr != null && !CssConstants.TRANSPARENT.equals(backgroundColorStr)) {
-            TransparentColor color = CssDimensionParsingUtils.parseColor(backgroundColorStr);
+            TransparentColor color = CssValueParsingCache.parseColor(backgroundColorStr);
             final Background backgroundColor = new Background(color.getColor(), color.getOpacity(), clip);
             element.setProperty(Property.BACKGROUND, backgroundColor);
         }
@@ -376,7 +375,7 @@ public final class BackgroundApplierUtil {
             return;
         }
         image.getBackgroundSize().setBackgroundSizeToValues(
-                CssDimensionParsingUtils.parseLengthValueToPt(widthValue, em, rem), null);
+                CssValueParsingCache.parseLengthValueToPt(widthValue, em, rem), null);
     }
 
     private static void applyBackgroundWidthHeight(final List<String> backgroundSizeValues,
@@ -384,7 +383,7 @@ public final class BackgroundApplierUtil {
         String widthValue = backgroundSizeValues.get(0);
         if (CommonCssConstants.BACKGROUND_SIZE_VALUES.contains(widthValue)) {
             if (widthValue.equals(CommonCssConstants.AUTO)) {
-                UnitValue height = CssDimensionParsingUtils.parseLengthValueToPt(backgroundSizeValues.get(1), em, rem);
+                UnitValue height = CssValueParsingCache.parseLengthValueToPt(backgroundSizeValues.get(1), em, rem);
                 if (height != null) {
                     image.getBackgroundSize().setBackgroundSizeToValues(null, height);
                 }
@@ -392,8 +391,8 @@ public final class BackgroundApplierUtil {
             return;
         }
         image.getBackgroundSize().setBackgroundSizeToValues(
-                CssDimensionParsingUtils.parseLengthValueToPt(backgroundSizeValues.get(0), em, rem),
-                CssDimensionParsingUtils.parseLengthValueToPt(backgroundSizeValues.get(1), em, rem));
+                CssValueParsingCache.parseLengthValueToPt(backgroundSizeValues.get(0), em, rem),
+                CssValueParsingCache.parseLengthValueToPt(backgroundSizeValues.get(1), em, rem));
     }
 
     /**
@@ -66,7 +66,7 @@ public class BorderStyleApplierUtil {
      * @param element  the element
      */
     public static void applyBorders(Map<String, String> cssProps, ProcessorContext context, IPropertyContainer element) {
-        float em = CssDimensionParsingUtils.parseAbsoluteLength(cssProps.get(CssConstants.FONT_SIZE));
+        float em = CssValueParsingCache.parseAbsoluteLength(cssProps.get(CssConstants.FONT_SIZE));
         float rem = context.getCssContext().getRootFontSize();
 
         Border[] bordersArray = getBordersArray(cssProps, em, rem);
@@ -163,7 +163,7 @@ public class BorderStyleApplierUtil {
             }
         }
 
-        UnitValue unitValue = CssDimensionParsingUtils.parseLengthValueToPt(borderWidth, em, rem);
+        UnitValue unitValue = CssValueParsingCache.parseLengthValueToPt(borderWidth, em, rem);
         if (unitValue == null) {
             return null;
         }
@@ -178,7 +178,7 @@ public class BorderStyleApplierUtil {
             float opacity = 1f;
             if (borderColor != null) {
                 if (!CssConstants.TRANSPARENT.equals(borderColor)) {
-                    TransparentColor tColor = CssDimensionParsingUtils.parseColor(borderColor);
+                    TransparentColor tColor = CssValueParsingCache.parseColor(borderColor);
                     color = tColor.getColor();
                     opacity = tColor.getOpacity();
                 } else {
@@ -253,7 +253,7 @@ public class BorderStyleApplierUtil {
         BorderRadius[] borderRadii = new BorderRadius[4];
 
         BorderRadius borderRadius = null;
-        UnitValue borderRadiusUV = CssDimensionParsingUtils
+        UnitValue borderRadiusUV = CssValueParsingCache
                 .parseLengthValueToPt(styles.get(CssConstants.BORDER_RADIUS), em, rem);
         if (null != borderRadiusUV) {
             borderRadius = new BorderRadius(borderRadiusUV);
@@ -0,0 +1,218 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.apply.util;
+
+import com.itextpdf.kernel.colors.WebColors;
+import com.itextpdf.layout.properties.TransparentColor;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.styledxmlparser.css.util.CssDimensionParsingUtils;
+import com.itextpdf.styledxmlparser.css.util.CssTypesValidationUtils;
+import com.itextpdf.styledxmlparser.util.FontFamilySplitterUtil;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of parsed CSS length and color values used by the CSS appliers.
+ * <p>
+ * The same values (e.g. "12pt", "1px", "#333") are parsed for almost every element, so each distinct value
+ * is parsed once and the result is reused. Only successfully parsed values are cached, so that warnings
+ * about invalid values are still logged every time. The cache is thread-safe and bounded: when a cache
+ * grows over its limit, it is cleared.
+ */
+public final class CssValueParsingCache {
+
+    /**
+     * The maximum number of entries in each of the caches.
+     */
+    static final int MAX_SIZE = 4096;
+
+    private static final Map<String, Float> ABSOLUTE_LENGTHS = new ConcurrentHashMap<>();
+
+    private static final Map<LengthKey, UnitValue> LENGTHS = new ConcurrentHashMap<>();
+
+    private static final Map<String, TransparentColor> COLORS = new ConcurrentHashMap<>();
+
+    private static final Map<String, String[]> FONT_FAMILIES = new ConcurrentHashMap<>();
+
+    private static final Map<List<String>, String[]> CANONICAL_FONT_FAMILIES = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a {@link CssValueParsingCache} instance.
+     */
+    private CssValueParsingCache() {
+    }
+
+    /**
+     * Parses an absolute length, see {@link CssDimensionParsingUtils#parseAbsoluteLength(String)}.
+     *
+     * @param length the length as a string
+     * @return the length as a float in points
+     */
+    public static float parseAbsoluteLength(String length) {
+        if (length == null) {
+            return CssDimensionParsingUtils.parseAbsoluteLength(length);
+        }
+        Float cached = ABSOLUTE_LENGTHS.get(length);
+        if (cached != null) {
+            return (float) cached;
+        }
+        float result = CssDimensionParsingUtils.parseAbsoluteLength(length);
+        if (CssTypesValidationUtils.isMetricValue(length) || CssTypesValidationUtils.isNumber(length)) {
+            put(ABSOLUTE_LENGTHS, length, result);
+        }
+        return result;
+    }
+
+    /**
+     * Parses a length value into a {@link UnitValue} in points or percents,
+     * see {@link CssDimensionParsingUtils#parseLengthValueToPt(String, float, float)}.
+     *
+     * @param value the length value
+     * @param emValue the em value
+     * @param remValue the root em value
+     * @return a new {@link UnitValue} instance, or null if the value can't be parsed
+     */
+    public static UnitValue parseLengthValueToPt(String value, float emValue, float remValue) {
+        if (value == null) {
+            return CssDimensionParsingUtils.parseLengthValueToPt(value, emValue, remValue);
+        }
+        LengthKey key = new LengthKey(value, emValue, remValue);
+        UnitValue cached = LENGTHS.get(key);
+        if (cached == null) {
+            cached = CssDimensionParsingUtils.parseLengthValueToPt(value, emValue, remValue);
+            if (cached == null) {
+                return null;
+            }
+            if (CssTypesValidationUtils.isMetricValue(value) || CssTypesValidationUtils.isNumber(value)
+                    || CssTypesValidationUtils.isRelativeValue(value)) {
+                put(LENGTHS, key, new UnitValue(cached.getUnitType(), cached.getValue()));
+            }
+            return cached;
+        }
+        // UnitValue is mutable, so the cached instance must never leak
+        return new UnitValue(cached.getUnitType(), cached.getValue());
+    }
+
+    /**
+     * Parses a color, see {@link CssDimensionParsingUtils#parseColor(String)}.
+     * <p>
+     * The returned instance may be shared between several calls and must not be modified.
+     *
+     * @param colorValue the color value
+     * @return the {@link TransparentColor} instance
+     */
+    public static TransparentColor parseColor(String colorValue) {
+        if (colorValue == null) {
+            return CssDimensionParsingUtils.parseColor(colorValue);
+        }
+        TransparentColor cached = COLORS.get(colorValue);
+        if (cached == null) {
+            cached = CssDimensionParsingUtils.parseColor(colorValue);
+            if (WebColors.getRGBAColor(colorValue) != null) {
+                put(COLORS, colorValue, cached);
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Splits a {@code font-family} value into the list of font families,
+     * see {@link FontFamilySplitterUtil#splitFontFamily(String)}.
+     * <p>
+     * The values which result in the same list of font families share the same cached array, so that the
+     * font family names are interned. Every call returns a copy of the cached array, since the returned
+     * arrays are set as {@link com.itextpdf.layout.properties.Property#FONT} of the elements given to the caller.
+     *
+     * @param fontFamily the {@code font-family} value
+     * @return the array of font families, or null if the value is null
+     */
+    public static String[] parseFontFamilies(String fontFamily) {
+        if (fontFamily == null) {
+            return null;
+        }
+        String[] cached = FONT_FAMILIES.get(fontFamily);
+        if (cached == null) {
+            List<String> fontFamilies = FontFamilySplitterUtil.splitFontFamily(fontFamily);
+            cached = CANONICAL_FONT_FAMILIES.get(fontFamilies);
+            if (cached == null) {
+                cached = fontFamilies.toArray(new String[fontFamilies.size()]);
+                put(CANONICAL_FONT_FAMILIES, fontFamilies, cached);
+            }
+            put(FONT_FAMILIES, fontFamily, cached);
+        }
+        return cached.clone();
+    }
+
+    /**
+     * Removes all the cached values.
+     */
+    public static void clear() {
+        ABSOLUTE_LENGTHS.clear();
+        LENGTHS.clear();
+        COLORS.clear();
+        FONT_FAMILIES.clear();
+        CANONICAL_FONT_FAMILIES.clear();
+    }
+
+    private static <K, V> void put(Map<K, V> cache, K key, V value) {
+        if (cache.size() >= MAX_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+
+    private static final class LengthKey {
+        private final String value;
+        private final float em;
+        private final float rem;
+
+        LengthKey(String value, float em, float rem) {
+            this.value = value;
+            this.em = em;
+            this.rem = rem;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            LengthKey other = (LengthKey) o;
+            return Float.compare(em, other.em) == 0 && Float.compare(rem, other.rem) == 0
+                    && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = value.hashCode();
+            result = 31 * result + Float.floatToIntBits(em);
+            result = 31 * result + Float.floatToIntBits(rem);
+            return result;
+        }
+    }
+}
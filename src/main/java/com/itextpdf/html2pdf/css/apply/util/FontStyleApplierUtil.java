@@ -48,9 +48,9 @@ import com.itextpdf.layout.splitting.BreakAllSplitCharacters;
 import com.itextpdf.layout.splitting.KeepAllSplitCharacters;
 import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.IStylesContainer;
-import com.itextpdf.styledxmlparser.util.FontFamilySplitterUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -89,7 +89,7 @@ public final class FontStyleApplierUtil {
      */
     public static void applyFontStyles(Map<String, String> cssProps, ProcessorContext context,
             IStylesContainer stylesContainer, IPropertyContainer element) {
-        float em = CssDimensionParsingUtils.parseAbsoluteLength(cssProps.get(CssConstants.FONT_SIZE));
+        float em = CssValueParsingCache.parseAbsoluteLength(cssProps.get(CssConstants.FONT_SIZE));
         float rem = context.getCssContext().getRootFontSize();
         if (em != 0) {
             element.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(em));
@@ -97,8 +97,9 @@ public final class FontStyleApplierUtil {
 
         if (cssProps.get(CssConstants.FONT_FAMILY) != null) {
             // TODO DEVSIX-2534
-            List<String> fontFamilies = FontFamilySplitterUtil.splitFontFamily(cssProps.get(CssConstants.FONT_FAMILY));
-            element.setProperty(Property.FONT, fontFamilies.toArray(new String[fontFamilies.size()]));
+            String[] fontFamilies = CssValueParsingCache.parseFontFamilies(cssProps.get(CssConstants.FONT_FAMILY));
+            context.getFontFaceLoader().loadDeferredFontFaces(Arrays.asList(fontFamilies));
+            element.setProperty(Property.FONT, fontFamilies);
         }
         if (cssProps.get(CssConstants.FONT_WEIGHT) != null) {
             element.setProperty(Property.FONT_WEIGHT, cssProps.get(CssConstants.FONT_WEIGHT));
@@ -111,7 +112,7 @@ public final class FontStyleApplierUtil {
         if (cssColorPropValue != null) {
             TransparentColor transparentColor;
             if (!CssConstants.TRANSPARENT.equals(cssColorPropValue)) {
-                TransparentColor tColor = CssDimensionParsingUtils.parseColor(cssColorPropValue);
+                TransparentColor tColor = CssValueParsingCache.parseColor(cssColorPropValue);
                 Color color = tColor.getColor();
                 float opacity = tColor.getOpacity();
                 transparentColor = new TransparentColor(color, opacity);
@@ -194,7 +195,7 @@ public final class FontStyleApplierUtil {
 
         String textIndent = cssProps.get(CommonCssConstants.TEXT_INDENT);
         if (textIndent != null) {
-            UnitValue textIndentValue = CssDimensionParsingUtils.parseLengthValueToPt(textIndent, em, rem);
+            UnitValue textIndentValue = CssValueParsingCache.parseLengthValueToPt(textIndent, em, rem);
             if (textIndentValue != null) {
                 if (textIndentValue.isPointValue()) {
                     element.setProperty(Property.FIRST_LINE_INDENT, textIndentValue.getValue());
@@ -208,7 +209,7 @@ public final class FontStyleApplierUtil {
 
         String letterSpacing = cssProps.get(CssConstants.LETTER_SPACING);
         if (letterSpacing != null && !CssConstants.NORMAL.equals(letterSpacing)) {
-            UnitValue letterSpacingValue = CssDimensionParsingUtils.parseLengthValueToPt(letterSpacing, em, rem);
+            UnitValue letterSpacingValue = CssValueParsingCache.parseLengthValueToPt(letterSpacing, em, rem);
             if (letterSpacingValue.isPointValue()) {
                 element.setProperty(Property.CHARACTER_SPACING, letterSpacingValue.getValue());
             } else {
@@ -218,7 +219,7 @@ public final class FontStyleApplierUtil {
 
         String wordSpacing = cssProps.get(CssConstants.WORD_SPACING);
         if (wordSpacing != null) {
-            UnitValue wordSpacingValue = CssDimensionParsingUtils.parseLengthValueToPt(wordSpacing, em, rem);
+            UnitValue wordSpacingValue = CssValueParsingCache.parseLengthValueToPt(wordSpacing, em, rem);
             if (wordSpacingValue != null) {
                 if (wordSpacingValue.isPointValue()) {
                     element.setProperty(Property.WORD_SPACING, wordSpacingValue.getValue());
@@ -261,7 +262,7 @@ public final class FontStyleApplierUtil {
                     logger.error(Html2PdfLogMessageConstant.HSL_COLOR_NOT_SUPPORTED);
                     textDecorationColor = ColorConstants.BLACK;
                 } else {
-                    tColor = CssDimensionParsingUtils.parseColor(textDecorationColorProp);
+                    tColor = CssValueParsingCache.parseColor(textDecorationColorProp);
                     textDecorationColor = tColor.getColor();
                     opacity = tColor.getOpacity();
                 }
@@ -319,7 +320,7 @@ public final class FontStyleApplierUtil {
                     elementToSet.setProperty(Property.LINE_HEIGHT, LineHeight.createNormalValue());
                 }
             } else {
-                UnitValue lineHeightValue = CssDimensionParsingUtils.parseLengthValueToPt(lineHeight, em, rem);
+                UnitValue lineHeightValue = CssValueParsingCache.parseLengthValueToPt(lineHeight, em, rem);
                 if (lineHeightValue != null && lineHeightValue.isPointValue()) {
                     elementToSet.setProperty(Property.LINE_HEIGHT,
                             LineHeight.createFixedValue(lineHeightValue.getValue()));
@@ -346,7 +347,7 @@ public final class FontStyleApplierUtil {
                     element.setProperty(Property.LEADING, new Leading(Leading.MULTIPLIED, (float) mult));
                 }
             } else {
-                UnitValue lineHeightValue = CssDimensionParsingUtils.parseLengthValueToPt(lineHeight, em, rem);
+                UnitValue lineHeightValue = CssValueParsingCache.parseLengthValueToPt(lineHeight, em, rem);
                 if (lineHeightValue != null && lineHeightValue.isPointValue()) {
                     element.setProperty(Property.LEADING, new Leading(Leading.FIXED, lineHeightValue.getValue()));
                 } else if (lineHeightValue != null) {
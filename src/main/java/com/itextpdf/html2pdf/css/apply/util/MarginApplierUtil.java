@@ -31,7 +31,6 @@ import com.itextpdf.layout.element.Image;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.Property;
 import com.itextpdf.layout.properties.UnitValue;
-import com.itextpdf.styledxmlparser.css.util.CssDimensionParsingUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -82,7 +81,7 @@ public final class MarginApplierUtil {
         boolean isBlock = element instanceof IBlockElement || CssConstants.BLOCK.equals(cssProps.get(CssConstants.DISPLAY));
         boolean isImage = element instanceof Image;
         
-        float em = CssDimensionParsingUtils.parseAbsoluteLength(cssProps.get(CssConstants.FONT_SIZE));
+        float em = CssValueParsingCache.parseAbsoluteLength(cssProps.get(CssConstants.FONT_SIZE));
         float rem = context.getCssContext().getRootFontSize();
 
         if (isBlock || isImage) {
@@ -139,7 +138,7 @@ public final class MarginApplierUtil {
      * @return the margin value as a {@link Float}
      */
     private static Float parseMarginValue(String marginValString, float em, float rem, float baseValue) {
-        UnitValue marginUnitVal = CssDimensionParsingUtils.parseLengthValueToPt(marginValString, em, rem);
+        UnitValue marginUnitVal = CssValueParsingCache.parseLengthValueToPt(marginValString, em, rem);
         if (marginUnitVal != null) {
             if (!marginUnitVal.isPointValue()) {
                 if (baseValue != 0.0f) {
@@ -28,7 +28,6 @@ import com.itextpdf.html2pdf.css.CssConstants;
 import com.itextpdf.layout.IPropertyContainer;
 import com.itextpdf.layout.properties.Property;
 import com.itextpdf.layout.properties.UnitValue;
-import com.itextpdf.styledxmlparser.css.util.CssDimensionParsingUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,12 +74,12 @@ public final class PaddingApplierUtil {
         String paddingLeft = cssProps.get(CssConstants.PADDING_LEFT);
         String paddingRight = cssProps.get(CssConstants.PADDING_RIGHT);
 
-        float em = CssDimensionParsingUtils.parseAbsoluteLength(cssProps.get(CssConstants.FONT_SIZE));
+        float em = CssValueParsingCache.parseAbsoluteLength(cssProps.get(CssConstants.FONT_SIZE));
         float rem = context.getCssContext().getRootFontSize();
-        UnitValue paddingTopVal = CssDimensionParsingUtils.parseLengthValueToPt(paddingTop, em, rem);
-        UnitValue paddingBottomVal = CssDimensionParsingUtils.parseLengthValueToPt(paddingBottom, em, rem);
-        UnitValue paddingLeftVal = CssDimensionParsingUtils.parseLengthValueToPt(paddingLeft, em, rem);
-        UnitValue paddingRightVal = CssDimensionParsingUtils.parseLengthValueToPt(paddingRight, em, rem);
+        UnitValue paddingTopVal = CssValueParsingCache.parseLengthValueToPt(paddingTop, em, rem);
+        UnitValue paddingBottomVal = CssValueParsingCache.parseLengthValueToPt(paddingBottom, em, rem);
+        UnitValue paddingLeftVal = CssValueParsingCache.parseLengthValueToPt(paddingLeft, em, rem);
+        UnitValue paddingRightVal = CssValueParsingCache.parseLengthValueToPt(paddingRight, em, rem);
 
         if (paddingTopVal != null) {
             if (paddingTopVal.isPointValue()) {
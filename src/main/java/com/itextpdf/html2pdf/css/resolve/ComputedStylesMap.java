@@ -0,0 +1,364 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.resolve;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact {@link Map} implementation for computed element styles.
+ * <p>
+ * Property names and values are kept in plain arrays in insertion order, and lookups are done via an open
+ * addressing index of positions. As opposed to {@link java.util.HashMap}, no entry object is allocated per
+ * property, which considerably reduces the heap footprint of the styles of large documents. Removal of
+ * properties is supported but is linear in the map size, since it is rare for computed styles.
+ * Null keys are not supported, null values are.
+ */
+public class ComputedStylesMap extends AbstractMap<String, String> {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private String[] keys;
+
+    private String[] values;
+
+    private int[] hashes;
+
+    /**
+     * Positions of the properties increased by one, zero stands for an empty slot.
+     */
+    private int[] index;
+
+    private int size;
+
+    private int modCount;
+
+    /**
+     * Creates a new empty {@link ComputedStylesMap} instance.
+     */
+    public ComputedStylesMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty {@link ComputedStylesMap} instance.
+     *
+     * @param initialCapacity the number of properties the map can hold without resizing
+     */
+    public ComputedStylesMap(int initialCapacity) {
+        init(Math.max(1, initialCapacity));
+    }
+
+    /**
+     * Creates a new {@link ComputedStylesMap} instance with the same mappings as the passed map.
+     *
+     * @param styles the map whose mappings are to be placed in this map
+     */
+    public ComputedStylesMap(Map<String, String> styles) {
+        if (styles instanceof ComputedStylesMap) {
+            ComputedStylesMap other = (ComputedStylesMap) styles;
+            this.keys = Arrays.copyOf(other.keys, other.keys.length);
+            this.values = Arrays.copyOf(other.values, other.values.length);
+            this.hashes = Arrays.copyOf(other.hashes, other.hashes.length);
+            this.index = Arrays.copyOf(other.index, other.index.length);
+            this.size = other.size;
+        } else {
+            init(Math.max(DEFAULT_CAPACITY, styles.size()));
+            putAll(styles);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String get(Object key) {
+        int position = find(key);
+        return position < 0 ? null : values[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String put(String key, String value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null keys are not supported");
+        }
+        int hash = key.hashCode();
+        int position = find(key, hash);
+        if (position >= 0) {
+            String oldValue = values[position];
+            values[position] = value;
+            return oldValue;
+        }
+        if (size == keys.length) {
+            resize(keys.length * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        hashes[size] = hash;
+        addToIndex(hash, size);
+        ++size;
+        ++modCount;
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String remove(Object key) {
+        int position = find(key);
+        if (position < 0) {
+            return null;
+        }
+        String oldValue = values[position];
+        removeAt(position);
+        return oldValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(index, 0);
+        size = 0;
+        ++modCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new EntrySet();
+    }
+
+    private void init(int capacity) {
+        keys = new String[capacity];
+        values = new String[capacity];
+        hashes = new int[capacity];
+        index = new int[indexLength(capacity)];
+    }
+
+    private int find(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        return find((String) key, key.hashCode());
+    }
+
+    private int find(String key, int hash) {
+        int mask = index.length - 1;
+        int slot = spread(hash) & mask;
+        int position;
+        while ((position = index[slot]) != 0) {
+            --position;
+            if (hashes[position] == hash) {
+                String candidate = keys[position];
+                if (candidate == key || candidate.equals(key)) {
+                    return position;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void addToIndex(int hash, int position) {
+        int mask = index.length - 1;
+        int slot = spread(hash) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = position + 1;
+    }
+
+    private void resize(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        index = new int[indexLength(capacity)];
+        rebuildIndex();
+    }
+
+    private void rebuildIndex() {
+        Arrays.fill(index, 0);
+        for (int i = 0; i < size; i++) {
+            addToIndex(hashes[i], i);
+        }
+    }
+
+    private void removeAt(int position) {
+        int moved = size - position - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, position + 1, keys, position, moved);
+            System.arraycopy(values, position + 1, values, position, moved);
+            System.arraycopy(hashes, position + 1, hashes, position, moved);
+        }
+        --size;
+        keys[size] = null;
+        values[size] = null;
+        ++modCount;
+        rebuildIndex();
+    }
+
+    private static int indexLength(int capacity) {
+        // Keep the load factor of the index not greater than 0.5
+        int length = 1;
+        while (length < capacity * 2) {
+            length <<= 1;
+        }
+        return length;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+        @Override
+        public Iterator<Map.Entry<String, String>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            ComputedStylesMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+        private int cursor = 0;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor++;
+            return new Entry(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class Entry implements Map.Entry<String, String> {
+        private final int position;
+
+        Entry(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public String getKey() {
+            return keys[position];
+        }
+
+        @Override
+        public String getValue() {
+            return values[position];
+        }
+
+        @Override
+        public String setValue(String value) {
+            String oldValue = values[position];
+            values[position] = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            Object otherValue = other.getValue();
+            return getKey().equals(other.getKey())
+                    && (getValue() == null ? otherValue == null : getValue().equals(otherValue));
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ (getValue() == null ? 0 : getValue().hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
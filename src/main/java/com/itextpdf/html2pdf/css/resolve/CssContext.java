@@ -46,6 +46,9 @@ public class CssContext extends AbstractCssContext {
     /** Indicates if a pages counter or page(s) target-counter is present. */
     private boolean pagesCounterOrTargetCounterPresent = false;
 
+    /** Indicates if a pages counter is present outside of page margin boxes or page(s) target-counter is present. */
+    private boolean pagesCounterOutsideOfMarginBoxesPresent = false;
+
     /** Indicates if a non-page(s) target-counter(s) is present. */
     private boolean nonPagesTargetCounterPresent = false;
 
@@ -124,6 +127,26 @@ public class CssContext extends AbstractCssContext {
         return pagesCounterOrTargetCounterPresent;
     }
 
+    /**
+     * Sets the presence of a pages counter outside of page margin boxes or page(s) target-counter.
+     *
+     * @param pagesCounterOutsideOfMarginBoxesPresent the new pages counter outside of page margin boxes
+     *                                                or page(s) target-counter present
+     */
+    public void setPagesCounterOutsideOfMarginBoxesPresent(boolean pagesCounterOutsideOfMarginBoxesPresent) {
+        this.pagesCounterOutsideOfMarginBoxesPresent = pagesCounterOutsideOfMarginBoxesPresent;
+    }
+
+    /**
+     * Checks if a pages counter is present outside of page margin boxes or page(s) target-counter is present.
+     * Only such counters may affect the layout of the content.
+     *
+     * @return true, if pages counter outside of page margin boxes or page(s) target-counter present
+     */
+    public boolean isPagesCounterOutsideOfMarginBoxesPresent() {
+        return pagesCounterOutsideOfMarginBoxesPresent;
+    }
+
     /**
      * Sets the presence of a non-page(s) target-counter(s).
      *
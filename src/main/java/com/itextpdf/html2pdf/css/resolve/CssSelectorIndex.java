@@ -0,0 +1,514 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.resolve;
+
+import com.itextpdf.html2pdf.css.CssConstants;
+import com.itextpdf.html2pdf.html.AttributeConstants;
+import com.itextpdf.styledxmlparser.css.CssContextNode;
+import com.itextpdf.styledxmlparser.css.CssDeclaration;
+import com.itextpdf.styledxmlparser.css.CssFontFaceRule;
+import com.itextpdf.styledxmlparser.css.CssRuleSet;
+import com.itextpdf.styledxmlparser.css.CssStatement;
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+import com.itextpdf.styledxmlparser.css.media.CssMediaRule;
+import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
+import com.itextpdf.styledxmlparser.css.page.CssPageRule;
+import com.itextpdf.styledxmlparser.node.ICustomElementNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the statements of a {@link CssStyleSheet} that speeds up searching for the rule sets matching an element.
+ * <p>
+ * Every rule set is put into a single bucket chosen by the rightmost compound selector: the id bucket, if the
+ * compound selector contains an id, otherwise the class bucket of its first class, otherwise the tag bucket,
+ * otherwise the universal bucket. Media rules are matched against the media device description once, when
+ * the index is created. Statements which can't be indexed (e.g. page rules, selectors with escapes) are put into
+ * the universal bucket, which is checked for every node.
+ * <p>
+ * For a given node only the candidate buckets are checked, in the original stylesheet order, thus the result
+ * is always the same as the one of {@link CssStyleSheet#getCssRuleSets(INode, MediaDeviceDescription)}:
+ * a rule set whose rightmost compound selector requires an id, a class or a tag can't match an element which
+ * doesn't have it.
+ */
+class CssSelectorIndex {
+
+    private static final Comparator<IndexedStatement> STATEMENT_ORDER_COMPARATOR = new IndexedStatementComparator();
+
+    private static final String[] POSITION_DEPENDENT_PSEUDO_CLASSES = new String[] {
+            ":nth-", ":first-", ":last-", ":only-", ":empty"};
+
+    private static final Set<String> COUNTER_RELATED_PROPERTIES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(CssConstants.CONTENT, CssConstants.COUNTER_RESET, CssConstants.COUNTER_INCREMENT,
+                    CssConstants.QUOTES)));
+
+    private final MediaDeviceDescription deviceDescription;
+
+    private final StatementFilter statementFilter;
+
+    private final Map<String, List<IndexedStatement>> idBuckets = new HashMap<>();
+
+    private final Map<String, List<IndexedStatement>> classBuckets = new HashMap<>();
+
+    private final Map<String, List<IndexedStatement>> tagBuckets = new HashMap<>();
+
+    private final List<IndexedStatement> universalBucket = new ArrayList<>();
+
+    private final List<IndexedStatement> allStatements = new ArrayList<>();
+
+    /**
+     * Creates a new {@link CssSelectorIndex} instance.
+     *
+     * @param styleSheet        the style sheet to index
+     * @param deviceDescription the media device description used to match media rules
+     */
+    CssSelectorIndex(CssStyleSheet styleSheet, MediaDeviceDescription deviceDescription) {
+        this(styleSheet, deviceDescription, StatementFilter.ALL);
+    }
+
+    private CssSelectorIndex(CssStyleSheet styleSheet, MediaDeviceDescription deviceDescription,
+            StatementFilter statementFilter) {
+        this.deviceDescription = deviceDescription;
+        this.statementFilter = statementFilter;
+        addStatements(styleSheet.getStatements());
+    }
+
+    /**
+     * Creates an index of the statements whose matching might depend on the position of an element among its
+     * siblings or on its children, e.g. rule sets with {@code :nth-child} or sibling combinators. Statements
+     * which can't be analyzed are also indexed, so that the index errs on the side of caution.
+     *
+     * @param styleSheet        the style sheet to index
+     * @param deviceDescription the media device description used to match media rules
+     * @return the {@link CssSelectorIndex} of the position dependent statements
+     */
+    static CssSelectorIndex createPositionDependentIndex(CssStyleSheet styleSheet,
+            MediaDeviceDescription deviceDescription) {
+        return new CssSelectorIndex(styleSheet, deviceDescription, StatementFilter.POSITION_DEPENDENT);
+    }
+
+    /**
+     * Creates an index of the rule sets which declare the properties used to process counters: {@code content},
+     * {@code counter-reset}, {@code counter-increment} and {@code quotes}. The rule sets are indexed as a whole,
+     * so the values of these properties extracted from the matching rule sets are the same as if all the rule sets
+     * were matched. Statements other than rule sets are also indexed, so that the index errs on the side of caution.
+     *
+     * @param styleSheet        the style sheet to index
+     * @param deviceDescription the media device description used to match media rules
+     * @return the {@link CssSelectorIndex} of the counter related statements
+     */
+    static CssSelectorIndex createCounterRelatedIndex(CssStyleSheet styleSheet,
+            MediaDeviceDescription deviceDescription) {
+        return new CssSelectorIndex(styleSheet, deviceDescription, StatementFilter.COUNTER_RELATED);
+    }
+
+    /**
+     * Gets the rule sets matching the node. The result is identical to the result of
+     * {@link CssStyleSheet#getCssRuleSets(INode, MediaDeviceDescription)} called for the indexed style sheet.
+     *
+     * @param node the node
+     * @return the list of matching {@link CssRuleSet} instances in the stylesheet order
+     */
+    List<CssRuleSet> getCssRuleSets(INode node) {
+        List<CssRuleSet> ruleSets = new ArrayList<>();
+        for (IndexedStatement statement : getCandidateStatements(node)) {
+            ruleSets.addAll(statement.statement.getCssRuleSets(node, deviceDescription));
+        }
+        return ruleSets;
+    }
+
+    /**
+     * Checks if there are indexed statements which may match the node.
+     *
+     * @param node the node
+     * @return true if there is at least one candidate statement, false otherwise
+     */
+    boolean hasCandidates(INode node) {
+        return !allStatements.isEmpty() && !getCandidateStatements(node).isEmpty();
+    }
+
+    /**
+     * Gets the statements which may match the node, in the stylesheet order.
+     *
+     * @param node the node
+     * @return the list of candidate statements
+     */
+    private List<IndexedStatement> getCandidateStatements(INode node) {
+        if (!(node instanceof IElementNode) || node instanceof ICustomElementNode || node instanceof CssContextNode) {
+            // Pseudo elements, page and margin box nodes have their own matching rules
+            return allStatements;
+        }
+        IElementNode element = (IElementNode) node;
+        List<IndexedStatement> candidates = new ArrayList<>(universalBucket);
+        String id = element.getAttribute(AttributeConstants.ID);
+        if (id != null) {
+            addBucket(candidates, idBuckets, id.trim());
+        }
+        String classAttribute = element.getAttribute(AttributeConstants.CLASS);
+        if (classAttribute != null) {
+            Set<String> classNames = new LinkedHashSet<>();
+            for (String className : classAttribute.trim().split("\\s+")) {
+                classNames.add(className);
+            }
+            for (String className : classNames) {
+                addBucket(candidates, classBuckets, className);
+            }
+        }
+        if (element.name() != null) {
+            addBucket(candidates, tagBuckets, element.name());
+        }
+        Collections.sort(candidates, STATEMENT_ORDER_COMPARATOR);
+        return candidates;
+    }
+
+    private void addStatements(List<CssStatement> statements) {
+        for (CssStatement statement : statements) {
+            if (statement instanceof CssMediaRule) {
+                if (((CssMediaRule) statement).matchMediaDevice(deviceDescription)) {
+                    addStatements(((CssMediaRule) statement).getStatements());
+                }
+            } else {
+                addStatement(statement);
+            }
+        }
+    }
+
+    private void addStatement(CssStatement statement) {
+        if ((statementFilter == StatementFilter.POSITION_DEPENDENT && !isPositionDependent(statement))
+                || (statementFilter == StatementFilter.COUNTER_RELATED && !isCounterRelated(statement))) {
+            return;
+        }
+        IndexedStatement indexedStatement = new IndexedStatement(statement, allStatements.size());
+        allStatements.add(indexedStatement);
+        SelectorKey key = null;
+        if (statement instanceof CssRuleSet && ((CssRuleSet) statement).getSelector() != null) {
+            key = SelectorKey.create(((CssRuleSet) statement).getSelector().toString());
+        }
+        if (key == null) {
+            universalBucket.add(indexedStatement);
+        } else if (key.id != null) {
+            putIntoBucket(idBuckets, key.id, indexedStatement);
+        } else if (key.className != null) {
+            putIntoBucket(classBuckets, key.className, indexedStatement);
+        } else if (key.tagName != null) {
+            putIntoBucket(tagBuckets, key.tagName, indexedStatement);
+        } else {
+            universalBucket.add(indexedStatement);
+        }
+    }
+
+    private static boolean isPositionDependent(CssStatement statement) {
+        if (statement instanceof CssFontFaceRule || statement instanceof CssPageRule) {
+            // These statements never match element nodes
+            return false;
+        }
+        if (statement instanceof CssRuleSet && ((CssRuleSet) statement).getSelector() != null) {
+            return SelectorKey.isPositionDependent(((CssRuleSet) statement).getSelector().toString());
+        }
+        return true;
+    }
+
+    private static boolean isCounterRelated(CssStatement statement) {
+        if (statement instanceof CssFontFaceRule || statement instanceof CssPageRule) {
+            // These statements never match element nodes
+            return false;
+        }
+        if (statement instanceof CssRuleSet) {
+            CssRuleSet ruleSet = (CssRuleSet) statement;
+            return hasCounterRelatedDeclaration(ruleSet.getNormalDeclarations())
+                    || hasCounterRelatedDeclaration(ruleSet.getImportantDeclarations());
+        }
+        return true;
+    }
+
+    private static boolean hasCounterRelatedDeclaration(List<CssDeclaration> declarations) {
+        for (CssDeclaration declaration : declarations) {
+            if (COUNTER_RELATED_PROPERTIES.contains(declaration.getProperty())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void putIntoBucket(Map<String, List<IndexedStatement>> buckets, String key,
+            IndexedStatement statement) {
+        String normalizedKey = normalizeKey(key);
+        List<IndexedStatement> bucket = buckets.get(normalizedKey);
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            buckets.put(normalizedKey, bucket);
+        }
+        bucket.add(statement);
+    }
+
+    private static void addBucket(List<IndexedStatement> candidates, Map<String, List<IndexedStatement>> buckets,
+            String key) {
+        List<IndexedStatement> bucket = buckets.get(normalizeKey(key));
+        if (bucket != null) {
+            candidates.addAll(bucket);
+        }
+    }
+
+    /**
+     * Normalizes a bucket key. Keys are compared case-insensitively, which can only make the set of
+     * candidates larger, so the result doesn't depend on case sensitivity of the selector matching.
+     *
+     * @param key the key
+     * @return the normalized key
+     */
+    private static String normalizeKey(String key) {
+        return key.toLowerCase();
+    }
+
+    private enum StatementFilter {
+        ALL,
+        POSITION_DEPENDENT,
+        COUNTER_RELATED
+    }
+
+    private static class IndexedStatement {
+        final CssStatement statement;
+        final int order;
+
+        IndexedStatement(CssStatement statement, int order) {
+            this.statement = statement;
+            this.order = order;
+        }
+    }
+
+    private static class IndexedStatementComparator implements Comparator<IndexedStatement> {
+        @Override
+        public int compare(IndexedStatement o1, IndexedStatement o2) {
+            return Integer.compare(o1.order, o2.order);
+        }
+    }
+
+    /**
+     * The key parts of the rightmost compound selector.
+     */
+    static class SelectorKey {
+        final String id;
+        final String className;
+        final String tagName;
+
+        private SelectorKey(String id, String className, String tagName) {
+            this.id = id;
+            this.className = className;
+            this.tagName = tagName;
+        }
+
+        /**
+         * Creates a key of a selector. Returns null if the selector can't be safely indexed.
+         *
+         * @param selector the selector text
+         * @return the {@link SelectorKey} instance or null
+         */
+        static SelectorKey create(String selector) {
+            if (selector == null || selector.indexOf('\\') >= 0 || selector.indexOf('|') >= 0) {
+                return null;
+            }
+            String compound = extractRightmostCompound(selector);
+            if (compound == null || compound.isEmpty()) {
+                return null;
+            }
+            String id = null;
+            String className = null;
+            String tagName = null;
+            int i = 0;
+            int length = compound.length();
+            int tagEnd = readIdentifier(compound, 0);
+            if (tagEnd > 0) {
+                tagName = compound.substring(0, tagEnd);
+                i = tagEnd;
+            } else if (compound.charAt(0) == '*') {
+                i = 1;
+            }
+            while (i < length) {
+                char ch = compound.charAt(i);
+                if (ch == '#' || ch == '.') {
+                    int end = readIdentifier(compound, i + 1);
+                    if (end == i + 1) {
+                        return null;
+                    }
+                    if (ch == '#' && id == null) {
+                        id = compound.substring(i + 1, end);
+                    } else if (ch == '.' && className == null) {
+                        className = compound.substring(i + 1, end);
+                    }
+                    i = end;
+                } else if (ch == '[' || ch == ':') {
+                    i = skipSimpleSelector(compound, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                } else {
+                    return null;
+                }
+            }
+            return new SelectorKey(id, className, tagName);
+        }
+
+        /**
+         * Checks if the selector might depend on the position of an element among its siblings or on the element
+         * children. The check is conservative: sibling combinators and structural pseudo-classes are considered
+         * wherever they occur in the selector.
+         *
+         * @param selector the selector text
+         * @return true if the selector matching might depend on the element position or children
+         */
+        static boolean isPositionDependent(String selector) {
+            if (selector == null) {
+                return true;
+            }
+            String lowerCaseSelector = selector.toLowerCase();
+            for (String pseudoClass : POSITION_DEPENDENT_PSEUDO_CLASSES) {
+                if (lowerCaseSelector.contains(pseudoClass)) {
+                    return true;
+                }
+            }
+            int depth = 0;
+            char quote = 0;
+            for (int i = 0; i < selector.length(); i++) {
+                char ch = selector.charAt(i);
+                if (quote != 0) {
+                    if (ch == quote) {
+                        quote = 0;
+                    }
+                } else if (ch == '"' || ch == '\'') {
+                    quote = ch;
+                } else if (ch == '(' || ch == '[') {
+                    depth++;
+                } else if (ch == ')' || ch == ']') {
+                    depth--;
+                } else if (depth == 0 && (ch == '+' || ch == '~')) {
+                    return true;
+                }
+            }
+            return depth != 0 || quote != 0;
+        }
+
+        /**
+         * Extracts the rightmost compound selector, i.e. the part after the last combinator
+         * which is not enclosed into brackets, parentheses or quotes.
+         *
+         * @param selector the selector text
+         * @return the rightmost compound selector or null if the selector can't be parsed
+         */
+        private static String extractRightmostCompound(String selector) {
+            String trimmed = selector.trim();
+            int depth = 0;
+            char quote = 0;
+            int compoundStart = 0;
+            for (int i = 0; i < trimmed.length(); i++) {
+                char ch = trimmed.charAt(i);
+                if (quote != 0) {
+                    if (ch == quote) {
+                        quote = 0;
+                    }
+                } else if (ch == '"' || ch == '\'') {
+                    quote = ch;
+                } else if (ch == '(' || ch == '[') {
+                    depth++;
+                } else if (ch == ')' || ch == ']') {
+                    depth--;
+                } else if (depth == 0) {
+                    if (ch == ',') {
+                        return null;
+                    }
+                    if (ch == ' ' || ch == '>' || ch == '+' || ch == '~' || Character.isWhitespace(ch)) {
+                        compoundStart = i + 1;
+                    }
+                }
+            }
+            if (depth != 0 || quote != 0) {
+                return null;
+            }
+            return trimmed.substring(compoundStart);
+        }
+
+        private static int readIdentifier(String text, int start) {
+            int i = start;
+            while (i < text.length()) {
+                char ch = text.charAt(i);
+                if (Character.isLetterOrDigit(ch) || ch == '-' || ch == '_' || ch > 127) {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            return i;
+        }
+
+        /**
+         * Skips an attribute selector or a pseudo-class / pseudo-element selector.
+         *
+         * @param text  the compound selector text
+         * @param start the index of the opening '[' or ':' character
+         * @return the index right after the skipped selector or -1 if it can't be parsed
+         */
+        private static int skipSimpleSelector(String text, int start) {
+            int depth = 0;
+            char quote = 0;
+            int i = start;
+            if (text.charAt(i) == ':') {
+                i++;
+                if (i < text.length() && text.charAt(i) == ':') {
+                    i++;
+                }
+                i = readIdentifier(text, i);
+                if (i >= text.length() || text.charAt(i) != '(') {
+                    return i;
+                }
+            }
+            for (; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                if (quote != 0) {
+                    if (ch == quote) {
+                        quote = 0;
+                    }
+                } else if (ch == '"' || ch == '\'') {
+                    quote = ch;
+                } else if (ch == '(' || ch == '[') {
+                    depth++;
+                } else if (ch == ')' || ch == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return i + 1;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
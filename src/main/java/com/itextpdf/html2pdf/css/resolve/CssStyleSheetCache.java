@@ -0,0 +1,135 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.resolve;
+
+import com.itextpdf.html2pdf.util.BoundedLruCache;
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+
+/**
+ * Default size-bounded implementation of the {@link ICssStyleSheetCache} interface.
+ * <p>
+ * When the maximum number of stylesheets is reached, the least recently used one is evicted.
+ * Linked stylesheets are keyed by their resolved URL, so a changed remote stylesheet will not be
+ * refetched until it is evicted or the cache is cleared. Inline stylesheets are keyed by their content
+ * and base URI. The class is thread-safe.
+ */
+public class CssStyleSheetCache implements ICssStyleSheetCache {
+
+    /**
+     * Default maximum number of cached stylesheets.
+     */
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private static final String LINKED_KEY_PREFIX = "link:";
+
+    private static final String INLINE_KEY_PREFIX = "style:";
+
+    private final BoundedLruCache<CssStyleSheet> styleSheets;
+
+    /**
+     * Creates a new {@link CssStyleSheetCache} instance with {@link #DEFAULT_MAX_SIZE} maximum size.
+     */
+    public CssStyleSheetCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new {@link CssStyleSheetCache} instance.
+     *
+     * @param maxSize the maximum number of cached stylesheets
+     */
+    public CssStyleSheetCache(int maxSize) {
+        this.styleSheets = new BoundedLruCache<CssStyleSheet>(maxSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CssStyleSheet getLinkedStyleSheet(String resolvedUrl) {
+        return styleSheets.get(LINKED_KEY_PREFIX + resolvedUrl);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putLinkedStyleSheet(String resolvedUrl, CssStyleSheet styleSheet) {
+        styleSheets.put(LINKED_KEY_PREFIX + resolvedUrl, styleSheet);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CssStyleSheet getInlineStyleSheet(String baseUri, String styleData) {
+        return styleSheets.get(createInlineKey(baseUri, styleData));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putInlineStyleSheet(String baseUri, String styleData, CssStyleSheet styleSheet) {
+        styleSheets.put(createInlineKey(baseUri, styleData), styleSheet);
+    }
+
+    /**
+     * Gets the number of successful cache lookups.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return styleSheets.getHitCount();
+    }
+
+    /**
+     * Gets the number of unsuccessful cache lookups.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return styleSheets.getMissCount();
+    }
+
+    /**
+     * Gets the number of currently cached stylesheets.
+     *
+     * @return the number of cached stylesheets
+     */
+    public int size() {
+        return styleSheets.size();
+    }
+
+    /**
+     * Removes all the stylesheets from the cache and resets hit and miss counters.
+     */
+    public void clear() {
+        styleSheets.clear();
+    }
+
+    private static String createInlineKey(String baseUri, String styleData) {
+        // Base URI can't contain line feeds, so it is safe to use it as a separator
+        return INLINE_KEY_PREFIX + baseUri + "\n" + styleData;
+    }
+}
@@ -28,8 +28,11 @@ import com.itextpdf.html2pdf.css.apply.util.CounterProcessorUtil;
 import com.itextpdf.html2pdf.css.util.CssStyleSheetAnalyzer;
 import com.itextpdf.html2pdf.exceptions.Html2PdfException;
 import com.itextpdf.html2pdf.html.AttributeConstants;
+import com.itextpdf.html2pdf.html.HtmlDocumentScan;
 import com.itextpdf.html2pdf.html.TagConstants;
 import com.itextpdf.html2pdf.logs.Html2PdfLogMessageConstant;
+import com.itextpdf.html2pdf.metrics.ConversionCounter;
+import com.itextpdf.html2pdf.metrics.IConversionMetricsListener;
 import com.itextpdf.io.util.DecimalFormatUtil;
 import com.itextpdf.styledxmlparser.css.CommonCssConstants;
 import com.itextpdf.styledxmlparser.css.CssFontFaceRule;
@@ -59,11 +62,12 @@ import com.itextpdf.styledxmlparser.resolver.resource.ResourceResolver;
 import com.itextpdf.styledxmlparser.util.CssVariableUtil;
 import com.itextpdf.styledxmlparser.util.StyleUtil;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -83,6 +87,11 @@ public class DefaultCssResolver implements ICssResolver {
     private static final Set<IStyleInheritance> INHERITANCE_RULES = Collections.unmodifiableSet(new HashSet<>(
             Collections.singletonList((IStyleInheritance) new CssInheritance())));
 
+    /**
+     * Maximum number of distinct property names and values interned per resolver.
+     */
+    private static final int MAX_INTERNED_STRINGS_COUNT = 4096;
+
 
     /**
      * The CSS style sheet.
@@ -99,6 +108,36 @@ public class DefaultCssResolver implements ICssResolver {
      */
     private List<CssFontFaceRule> fonts = new ArrayList<>();
 
+    /**
+     * The cache of parsed stylesheets, may be null.
+     */
+    private ICssStyleSheetCache styleSheetCache;
+
+    /**
+     * The index of the CSS style sheet rule sets, null if the indexed matching is disabled.
+     */
+    private CssSelectorIndex selectorIndex;
+
+    /**
+     * The cache of styles shared between siblings, null if the style sharing is disabled.
+     */
+    private StyleSharingCache styleSharingCache;
+
+    /**
+     * The index of the rule sets which declare counter related properties, created on demand.
+     */
+    private CssSelectorIndex counterRelatedIndex;
+
+    /**
+     * The listener of the conversion metrics, null if the metrics are not collected.
+     */
+    private IConversionMetricsListener metricsListener;
+
+    /**
+     * The pool of property names and values shared between the computed styles of different elements.
+     */
+    private final Map<String, String> internedStrings = new HashMap<>();
+
     /**
      * Creates a new {@link DefaultCssResolver} instance.
      *
@@ -108,7 +147,7 @@ public class DefaultCssResolver implements ICssResolver {
      */
     public DefaultCssResolver(INode treeRoot, MediaDeviceDescription mediaDeviceDescription, ResourceResolver resourceResolver) {
         this.deviceDescription = mediaDeviceDescription;
-        collectCssDeclarations(treeRoot, resourceResolver, null);
+        collectCssDeclarations(HtmlDocumentScan.scan(treeRoot).getStyleSheetElements(), resourceResolver, null);
         collectFonts();
     }
 
@@ -119,9 +158,28 @@ public class DefaultCssResolver implements ICssResolver {
      * @param context  the processor context
      */
     public DefaultCssResolver(INode treeRoot, ProcessorContext context) {
+        this(HtmlDocumentScan.scan(treeRoot), context);
+    }
+
+    /**
+     * Creates a new {@link DefaultCssResolver} instance from the style sheet elements found by a document scan.
+     *
+     * @param documentScan the scan of the document
+     * @param context      the processor context
+     */
+    public DefaultCssResolver(HtmlDocumentScan documentScan, ProcessorContext context) {
         this.deviceDescription = context.getDeviceDescription();
-        collectCssDeclarations(treeRoot, context.getResourceResolver(), context.getCssContext());
+        this.styleSheetCache = context.getCssStyleSheetCache();
+        this.metricsListener = context.getConversionMetricsListener();
+        collectCssDeclarations(documentScan.getStyleSheetElements(), context.getResourceResolver(),
+                context.getCssContext());
         collectFonts();
+        if (context.isCssSelectorIndexEnabled()) {
+            selectorIndex = new CssSelectorIndex(cssStyleSheet, deviceDescription);
+        }
+        if (context.isCssStyleSharingEnabled()) {
+            styleSharingCache = new StyleSharingCache(cssStyleSheet, deviceDescription);
+        }
     }
 
     /**
@@ -140,7 +198,7 @@ public class DefaultCssResolver implements ICssResolver {
      * @param context the CSS context (RootFontSize, etc.)
      */
     public void resolveContentAndCountersStyles(INode node, CssContext context) {
-        final Map<String, String> elementStyles = resolveElementsStyles(node);
+        final Map<String, String> elementStyles = resolveCounterRelatedStyles(node);
         CounterProcessorUtil.processCounters(elementStyles, context);
         resolveContentProperty(elementStyles, node, context);
     }
@@ -169,6 +227,34 @@ public class DefaultCssResolver implements ICssResolver {
      * @see com.itextpdf.html2pdf.css.resolve.ICssResolver#resolveStyles(com.itextpdf.html2pdf.html.node.INode, com.itextpdf.html2pdf.css.resolve.CssContext)
      */
     private Map<String, String> resolveStyles(INode element, CssContext context) {
+        Map<String, String> elementStyles = null;
+        final boolean shareable = styleSharingCache != null && styleSharingCache.isShareable(element);
+        if (shareable) {
+            elementStyles = styleSharingCache.get((IElementNode) element, context.getRootFontSize());
+        }
+        if (elementStyles == null) {
+            elementStyles = resolveComputedStyles(element, context);
+            if (shareable) {
+                styleSharingCache.put((IElementNode) element, context.getRootFontSize(), elementStyles);
+            }
+        }
+        context.setCurrentFontSize(CssDimensionParsingUtils.parseAbsoluteFontSize(elementStyles.get(CssConstants.FONT_SIZE)));
+
+        // This is needed for correct resolving of content property, so doing it right here
+        CounterProcessorUtil.processCounters(elementStyles, context);
+        resolveContentProperty(elementStyles, element, context);
+
+        return elementStyles;
+    }
+
+    /**
+     * Resolves cascaded and inherited styles of a node given the passed context.
+     *
+     * @param element the node
+     * @param context the CSS context
+     * @return the map of computed styles
+     */
+    private Map<String, String> resolveComputedStyles(INode element, CssContext context) {
         Map<String, String> elementStyles = resolveElementsStyles(element);
 
         if (CssConstants.CURRENTCOLOR.equals(elementStyles.get(CssConstants.COLOR))) {
@@ -232,7 +318,6 @@ public class DefaultCssResolver implements ICssResolver {
         if (element instanceof IElementNode && TagConstants.HTML.equals(((IElementNode) element).name())) {
             context.setRootFontSize(elementStyles.get(CssConstants.FONT_SIZE));
         }
-        context.setCurrentFontSize(CssDimensionParsingUtils.parseAbsoluteFontSize(elementStyles.get(CssConstants.FONT_SIZE)));
 
         Set<String> keys = new HashSet<>();
         for (Map.Entry<String, String> entry : elementStyles.entrySet()) {
@@ -245,20 +330,77 @@ public class DefaultCssResolver implements ICssResolver {
             elementStyles.put(key, CssDefaults.getDefaultValue(key));
         }
 
-        // This is needed for correct resolving of content property, so doing it right here
-        CounterProcessorUtil.processCounters(elementStyles, context);
-        resolveContentProperty(elementStyles, element, context);
+        return createComputedStyles(elementStyles);
+    }
 
-        return elementStyles;
+    /**
+     * Converts resolved styles into a compact {@link ComputedStylesMap} with interned property names and values.
+     *
+     * @param styles the resolved styles
+     * @return the {@link ComputedStylesMap} instance
+     */
+    private Map<String, String> createComputedStyles(Map<String, String> styles) {
+        ComputedStylesMap computedStyles = new ComputedStylesMap(styles.size());
+        for (Map.Entry<String, String> entry : styles.entrySet()) {
+            computedStyles.put(intern(entry.getKey()), intern(entry.getValue()));
+        }
+        return computedStyles;
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String interned = internedStrings.get(value);
+        if (interned == null) {
+            if (internedStrings.size() < MAX_INTERNED_STRINGS_COUNT) {
+                internedStrings.put(value, value);
+            }
+            return value;
+        }
+        return interned;
     }
 
     private Map<String, String> resolveElementsStyles(INode element) {
+        List<CssRuleSet> matchedRuleSets = selectorIndex == null
+                ? cssStyleSheet.getCssRuleSets(element, deviceDescription)
+                : selectorIndex.getCssRuleSets(element);
+        if (metricsListener != null) {
+            metricsListener.onCounterIncremented(ConversionCounter.RULE_SETS_MATCHED, matchedRuleSets.size());
+        }
+        return extractStyles(element, matchedRuleSets);
+    }
+
+    /**
+     * Resolves the styles of a node which are needed to process counters. Only the rule sets which declare
+     * counter related properties are matched, so the values of these properties are the same as in the styles
+     * resolved by {@link #resolveElementsStyles(INode)}, while the rest of the styles may be incomplete.
+     *
+     * @param node the node
+     * @return the styles map which can be used to process counters and content
+     */
+    private Map<String, String> resolveCounterRelatedStyles(INode node) {
+        if (counterRelatedIndex == null) {
+            counterRelatedIndex = CssSelectorIndex.createCounterRelatedIndex(cssStyleSheet, deviceDescription);
+        }
+        return extractStyles(node, counterRelatedIndex.getCssRuleSets(node));
+    }
+
+    /**
+     * Extracts the styles of a node from the user agent styles, the styles defined by the HTML attributes,
+     * the matched style sheet rule sets and the style attribute.
+     *
+     * @param element         the node
+     * @param matchedRuleSets the style sheet rule sets matching the node
+     * @return the styles map
+     */
+    private Map<String, String> extractStyles(INode element, List<CssRuleSet> matchedRuleSets) {
         List<CssRuleSet> ruleSets = new ArrayList<>();
         ruleSets.add(new CssRuleSet(null, UserAgentCss.getStyles(element)));
         if (element instanceof IElementNode) {
             ruleSets.add(new CssRuleSet(null, HtmlStylesToCssConverter.convert((IElementNode) element)));
         }
-        ruleSets.addAll(cssStyleSheet.getCssRuleSets(element, deviceDescription));
+        ruleSets.addAll(matchedRuleSets);
         if (element instanceof IElementNode) {
             String styleAttribute = ((IElementNode) element).getAttribute(AttributeConstants.STYLE);
             if (styleAttribute != null) {
@@ -293,44 +435,32 @@ public class DefaultCssResolver implements ICssResolver {
     /**
      * Collects CSS declarationss.
      *
-     * @param rootNode         the root node
-     * @param resourceResolver the resource resolver
-     * @param cssContext       the CSS context
+     * @param styleSheetElements the style and style sheet link elements in the order of their application
+     * @param resourceResolver   the resource resolver
+     * @param cssContext         the CSS context
      */
-    private void collectCssDeclarations(INode rootNode, ResourceResolver resourceResolver, CssContext cssContext) {
+    private void collectCssDeclarations(List<IElementNode> styleSheetElements, ResourceResolver resourceResolver,
+            CssContext cssContext) {
         cssStyleSheet = new CssStyleSheet();
-        LinkedList<INode> q = new LinkedList<>();
-        q.add(rootNode);
-        while (!q.isEmpty()) {
-            INode currentNode = q.pop();
-            if (currentNode instanceof IElementNode) {
-                IElementNode element = (IElementNode) currentNode;
-                if (TagConstants.STYLE.equals(element.name())) {
-                    if (!element.childNodes().isEmpty() && element.childNodes().get(0) instanceof IDataNode) {
-                        String styleData = ((IDataNode) element.childNodes().get(0)).getWholeData();
-                        CssStyleSheet styleSheet  = CssStyleSheetParser.parse(styleData, resourceResolver.getBaseUri());
+        for (IElementNode element : styleSheetElements) {
+            if (TagConstants.STYLE.equals(element.name())) {
+                if (!element.childNodes().isEmpty() && element.childNodes().get(0) instanceof IDataNode) {
+                    String styleData = ((IDataNode) element.childNodes().get(0)).getWholeData();
+                    CssStyleSheet styleSheet = parseInlineStyleSheet(styleData, resourceResolver.getBaseUri());
+                    styleSheet = wrapStyleSheetInMediaQueryIfNecessary(element, styleSheet);
+                    cssStyleSheet.appendCssStyleSheet(styleSheet);
+                }
+            } else if (CssUtils.isStyleSheetLink(element)) {
+                String styleSheetUri = element.getAttribute(AttributeConstants.HREF);
+                try {
+                    CssStyleSheet styleSheet = parseLinkedStyleSheet(styleSheetUri, resourceResolver);
+                    if (styleSheet != null) {
                         styleSheet = wrapStyleSheetInMediaQueryIfNecessary(element, styleSheet);
                         cssStyleSheet.appendCssStyleSheet(styleSheet);
                     }
-                } else if (CssUtils.isStyleSheetLink(element)) {
-                    String styleSheetUri = element.getAttribute(AttributeConstants.HREF);
-                    try (InputStream stream = resourceResolver.retrieveResourceAsInputStream(styleSheetUri)) {
-                        if (stream != null) {
-                            String baseUri = resourceResolver.resolveAgainstBaseUri(styleSheetUri).toExternalForm();
-                            CssStyleSheet styleSheet = CssStyleSheetParser.parse(stream, baseUri);
-                            styleSheet = wrapStyleSheetInMediaQueryIfNecessary(element, styleSheet);
-                            cssStyleSheet.appendCssStyleSheet(styleSheet);
-                        }
-                    } catch (Exception exc) {
-                        Logger logger = LoggerFactory.getLogger(DefaultCssResolver.class);
-                        logger.error(Html2PdfLogMessageConstant.UNABLE_TO_PROCESS_EXTERNAL_CSS_FILE, exc);
-                    }
-                }
-            }
-
-            for (INode child : currentNode.childNodes()) {
-                if (child instanceof IElementNode) {
-                    q.add(child);
+                } catch (Exception exc) {
+                    Logger logger = LoggerFactory.getLogger(DefaultCssResolver.class);
+                    logger.error(Html2PdfLogMessageConstant.UNABLE_TO_PROCESS_EXTERNAL_CSS_FILE, exc);
                 }
             }
         }
@@ -338,6 +468,59 @@ public class DefaultCssResolver implements ICssResolver {
         enableNonPageTargetCounterIfMentioned(cssStyleSheet, cssContext);
     }
 
+    /**
+     * Parses the content of a {@code <style>} element, using the stylesheet cache if it is set.
+     *
+     * @param styleData the content of the {@code <style>} element
+     * @param baseUri   the base URI
+     * @return the parsed {@link CssStyleSheet}, which must not be modified since it might be shared
+     */
+    private CssStyleSheet parseInlineStyleSheet(String styleData, String baseUri) {
+        if (styleSheetCache == null) {
+            return CssStyleSheetParser.parse(styleData, baseUri);
+        }
+        CssStyleSheet styleSheet = styleSheetCache.getInlineStyleSheet(baseUri, styleData);
+        if (styleSheet == null) {
+            styleSheet = CssStyleSheetParser.parse(styleData, baseUri);
+            styleSheetCache.putInlineStyleSheet(baseUri, styleData, styleSheet);
+        }
+        return styleSheet;
+    }
+
+    /**
+     * Retrieves and parses a linked stylesheet, using the stylesheet cache if it is set.
+     *
+     * @param styleSheetUri    the stylesheet URI as specified in the {@code href} attribute
+     * @param resourceResolver the resource resolver
+     * @return the parsed {@link CssStyleSheet}, which must not be modified since it might be shared,
+     * or null if the stylesheet can't be retrieved
+     * @throws IOException if the stylesheet can't be read
+     */
+    private CssStyleSheet parseLinkedStyleSheet(String styleSheetUri, ResourceResolver resourceResolver)
+            throws IOException {
+        String resolvedUri = null;
+        if (styleSheetCache != null) {
+            resolvedUri = resourceResolver.resolveAgainstBaseUri(styleSheetUri).toExternalForm();
+            CssStyleSheet styleSheet = styleSheetCache.getLinkedStyleSheet(resolvedUri);
+            if (styleSheet != null) {
+                return styleSheet;
+            }
+        }
+        try (InputStream stream = resourceResolver.retrieveResourceAsInputStream(styleSheetUri)) {
+            if (stream == null) {
+                return null;
+            }
+            if (resolvedUri == null) {
+                resolvedUri = resourceResolver.resolveAgainstBaseUri(styleSheetUri).toExternalForm();
+            }
+            CssStyleSheet styleSheet = CssStyleSheetParser.parse(stream, resolvedUri);
+            if (styleSheetCache != null) {
+                styleSheetCache.putLinkedStyleSheet(resolvedUri, styleSheet);
+            }
+            return styleSheet;
+        }
+    }
+
     private static boolean isFlexItem(Entry<String, String> parentEntry, String currentElementDisplay) {
         return CssConstants.DISPLAY.equals(parentEntry.getKey())
                 && CssConstants.FLEX.equals(parentEntry.getValue())
@@ -368,6 +551,9 @@ public class DefaultCssResolver implements ICssResolver {
         // when we know it for sure, it's too late because the Document is created right in the start.
         if (CssStyleSheetAnalyzer.checkPagesCounterPresence(styleSheet)) {
             cssContext.setPagesCounterPresent(true);
+            if (CssStyleSheetAnalyzer.checkPagesCounterPresenceOutsideOfMarginBoxes(styleSheet)) {
+                cssContext.setPagesCounterOutsideOfMarginBoxesPresent(true);
+            }
         }
     }
 
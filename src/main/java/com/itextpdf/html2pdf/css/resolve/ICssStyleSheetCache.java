@@ -0,0 +1,70 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.resolve;
+
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+
+/**
+ * {@link ICssStyleSheetCache} interface is used for sharing parsed {@link CssStyleSheet} instances
+ * between conversions, so that the same stylesheet is fetched and parsed only once.
+ * <p>
+ * Cached {@link CssStyleSheet} instances are shared and thus must never be modified.
+ * Implementations are supposed to be thread-safe since a single cache instance may be used
+ * by several simultaneous conversions.
+ */
+public interface ICssStyleSheetCache {
+
+    /**
+     * Gets the stylesheet parsed from the linked resource with the specified resolved URL.
+     *
+     * @param resolvedUrl the URL of the stylesheet, resolved against the base URI
+     * @return the cached {@link CssStyleSheet} instance or null if there is no such stylesheet in the cache
+     */
+    CssStyleSheet getLinkedStyleSheet(String resolvedUrl);
+
+    /**
+     * Puts the stylesheet parsed from the linked resource with the specified resolved URL into the cache.
+     *
+     * @param resolvedUrl the URL of the stylesheet, resolved against the base URI
+     * @param styleSheet the parsed {@link CssStyleSheet} instance
+     */
+    void putLinkedStyleSheet(String resolvedUrl, CssStyleSheet styleSheet);
+
+    /**
+     * Gets the stylesheet parsed from the content of a {@code <style>} element.
+     *
+     * @param baseUri the base URI the stylesheet has been parsed against
+     * @param styleData the content of the {@code <style>} element
+     * @return the cached {@link CssStyleSheet} instance or null if there is no such stylesheet in the cache
+     */
+    CssStyleSheet getInlineStyleSheet(String baseUri, String styleData);
+
+    /**
+     * Puts the stylesheet parsed from the content of a {@code <style>} element into the cache.
+     *
+     * @param baseUri the base URI the stylesheet has been parsed against
+     * @param styleData the content of the {@code <style>} element
+     * @param styleSheet the parsed {@link CssStyleSheet} instance
+     */
+    void putInlineStyleSheet(String baseUri, String styleData, CssStyleSheet styleSheet);
+}
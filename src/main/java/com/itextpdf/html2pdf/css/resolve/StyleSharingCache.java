@@ -0,0 +1,195 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.resolve;
+
+import com.itextpdf.html2pdf.html.TagConstants;
+import com.itextpdf.styledxmlparser.css.CssContextNode;
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
+import com.itextpdf.styledxmlparser.node.IAttribute;
+import com.itextpdf.styledxmlparser.node.ICustomElementNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.IStylesContainer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of recently resolved element styles which allows sibling elements with identical matching inputs
+ * to skip the cascade, similarly to the style sharing of browser engines.
+ * <p>
+ * Two elements share styles if they have the same parent (and thus the same ancestors and parent styles),
+ * the same tag name, attributes and additional HTML styles, and no rule whose matching depends on the element
+ * position among its siblings or on its children (e.g. {@code :nth-child}, {@code :empty} or sibling combinators)
+ * may match them. Styles maps are mutated after resolution (e.g. by text decoration propagation), thus the cache
+ * keeps its own snapshot and hands out copies.
+ */
+class StyleSharingCache {
+
+    private static final int MAX_CANDIDATES = 32;
+
+    private final CssSelectorIndex positionDependentRules;
+
+    private final LinkedList<Candidate> candidates = new LinkedList<>();
+
+    /**
+     * Creates a new {@link StyleSharingCache} instance.
+     *
+     * @param styleSheet        the document style sheet
+     * @param deviceDescription the media device description
+     */
+    StyleSharingCache(CssStyleSheet styleSheet, MediaDeviceDescription deviceDescription) {
+        this.positionDependentRules = CssSelectorIndex.createPositionDependentIndex(styleSheet, deviceDescription);
+    }
+
+    /**
+     * Checks if the styles of the node can be shared with its siblings.
+     *
+     * @param node the node
+     * @return true if the node styles can be shared
+     */
+    boolean isShareable(INode node) {
+        if (!(node instanceof IElementNode) || node instanceof ICustomElementNode || node instanceof CssContextNode
+                || !(node.parentNode() instanceof IStylesContainer)) {
+            return false;
+        }
+        String name = ((IElementNode) node).name();
+        // <table> attributes conversion modifies the table cells and <html> updates the root font size
+        return name != null && !TagConstants.TABLE.equals(name) && !TagConstants.HTML.equals(name)
+                && !positionDependentRules.hasCandidates(node);
+    }
+
+    /**
+     * Gets a copy of the styles resolved for a sibling with the same matching inputs.
+     *
+     * @param element      the shareable element
+     * @param rootFontSize the current root font size
+     * @return the copy of the shared styles or null if there is no such sibling
+     */
+    Map<String, String> get(IElementNode element, float rootFontSize) {
+        INode parent = element.parentNode();
+        Map<String, String> parentStyles = ((IStylesContainer) parent).getStyles();
+        Iterator<Candidate> iterator = candidates.iterator();
+        while (iterator.hasNext()) {
+            Candidate candidate = iterator.next();
+            if (candidate.matches(element, parent, parentStyles, rootFontSize)) {
+                iterator.remove();
+                candidates.addFirst(candidate);
+                return new ComputedStylesMap(candidate.styles);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores a snapshot of the resolved styles of the shareable element.
+     *
+     * @param element      the shareable element
+     * @param rootFontSize the current root font size
+     * @param styles       the resolved styles
+     */
+    void put(IElementNode element, float rootFontSize, Map<String, String> styles) {
+        INode parent = element.parentNode();
+        candidates.addFirst(new Candidate(element, parent, ((IStylesContainer) parent).getStyles(), rootFontSize,
+                new ComputedStylesMap(styles)));
+        if (candidates.size() > MAX_CANDIDATES) {
+            candidates.removeLast();
+        }
+    }
+
+    private static List<String> collectAttributes(IElementNode element) {
+        List<String> attributes = new ArrayList<>(element.getAttributes().size() * 2);
+        for (IAttribute attribute : element.getAttributes()) {
+            attributes.add(attribute.getKey());
+            attributes.add(attribute.getValue());
+        }
+        return attributes;
+    }
+
+    private static List<Map<String, String>> copyAdditionalHtmlStyles(IElementNode element) {
+        List<Map<String, String>> additionalHtmlStyles = element.getAdditionalHtmlStyles();
+        if (additionalHtmlStyles == null) {
+            return null;
+        }
+        List<Map<String, String>> copy = new ArrayList<>(additionalHtmlStyles.size());
+        for (Map<String, String> styles : additionalHtmlStyles) {
+            copy.add(new HashMap<>(styles));
+        }
+        return copy;
+    }
+
+    private static class Candidate {
+        final INode parent;
+        final Map<String, String> parentStyles;
+        final String name;
+        final List<String> attributes;
+        final List<Map<String, String>> additionalHtmlStyles;
+        final float rootFontSize;
+        final Map<String, String> styles;
+
+        Candidate(IElementNode element, INode parent, Map<String, String> parentStyles, float rootFontSize,
+                Map<String, String> styles) {
+            this.parent = parent;
+            this.parentStyles = parentStyles;
+            this.name = element.name();
+            this.attributes = collectAttributes(element);
+            this.additionalHtmlStyles = copyAdditionalHtmlStyles(element);
+            this.rootFontSize = rootFontSize;
+            this.styles = styles;
+        }
+
+        boolean matches(IElementNode element, INode parent, Map<String, String> parentStyles, float rootFontSize) {
+            if (this.parent != parent || this.parentStyles != parentStyles || this.rootFontSize != rootFontSize
+                    || !this.name.equals(element.name()) || attributes.size() != element.getAttributes().size() * 2) {
+                return false;
+            }
+            int i = 0;
+            for (IAttribute attribute : element.getAttributes()) {
+                if (!attributes.get(i).equals(attribute.getKey())
+                        || !equalsNullable(attributes.get(i + 1), attribute.getValue())) {
+                    return false;
+                }
+                i += 2;
+            }
+            List<Map<String, String>> elementAdditionalHtmlStyles = element.getAdditionalHtmlStyles();
+            if (additionalHtmlStyles == null || elementAdditionalHtmlStyles == null) {
+                return additionalHtmlStyles == elementAdditionalHtmlStyles
+                        || isEmpty(additionalHtmlStyles) && isEmpty(elementAdditionalHtmlStyles);
+            }
+            return additionalHtmlStyles.equals(elementAdditionalHtmlStyles);
+        }
+
+        private static boolean equalsNullable(String first, String second) {
+            return first == null ? second == null : first.equals(second);
+        }
+
+        private static boolean isEmpty(List<Map<String, String>> list) {
+            return list == null || list.isEmpty();
+        }
+    }
+}
@@ -131,37 +131,57 @@ public class CssStyleSheetAnalyzer {
      * or <code>false</code> otherwise
      */
     public static boolean checkPagesCounterPresence(CssStyleSheet styleSheet) {
-        return checkPagesCounterPresence(styleSheet.getStatements());
+        return checkPagesCounterPresence(styleSheet.getStatements(), true, true);
     }
 
-    private static boolean checkPagesCounterPresence(Collection<CssStatement> statements) {
+    /**
+     * Helper method to check if counter(pages) or counters(pages) is present in the CSS outside of page margin boxes,
+     * or page(s) target-counter(s) is present anywhere in the CSS.
+     * <p>
+     * Page margin boxes are drawn after the whole content is laid out, so "pages" counters used only there
+     * don't affect the layout of the content and don't require its relayout.
+     *
+     * @param styleSheet CSS stylesheet to analyze
+     * @return <code>true</code> in case the detected "pages" counters may affect the layout of the content,
+     * or <code>false</code> otherwise
+     */
+    public static boolean checkPagesCounterPresenceOutsideOfMarginBoxes(CssStyleSheet styleSheet) {
+        return checkPagesCounterPresence(styleSheet.getStatements(), true, false);
+    }
+
+    private static boolean checkPagesCounterPresence(Collection<CssStatement> statements,
+            boolean pagesCountersIncluded, boolean marginBoxPagesCountersIncluded) {
         boolean pagesCounterPresent = false;
         for (CssStatement statement : statements) {
             if (statement instanceof CssMarginRule) {
-                pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence(((CssMarginRule) statement).getStatements());
+                pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence(((CssMarginRule) statement)
+                        .getStatements(), marginBoxPagesCountersIncluded, marginBoxPagesCountersIncluded);
             } else if (statement instanceof CssMediaRule) {
-                pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence(((CssMediaRule) statement).getStatements());
+                pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence(((CssMediaRule) statement)
+                        .getStatements(), pagesCountersIncluded, marginBoxPagesCountersIncluded);
             } else if (statement instanceof CssPageRule) {
-                pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence(((CssPageRule) statement).getStatements());
+                pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence(((CssPageRule) statement)
+                        .getStatements(), pagesCountersIncluded, marginBoxPagesCountersIncluded);
             } else if (statement instanceof CssRuleSet) {
-                pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence((CssRuleSet) statement);
+                pagesCounterPresent = pagesCounterPresent
+                        || checkPagesCounterPresence((CssRuleSet) statement, pagesCountersIncluded);
             }
         }
         return pagesCounterPresent;
     }
 
-    private static boolean checkPagesCounterPresence(CssRuleSet ruleSet) {
+    private static boolean checkPagesCounterPresence(CssRuleSet ruleSet, boolean pagesCountersIncluded) {
         boolean pagesCounterPresent = false;
         for (CssDeclaration declaration : ruleSet.getImportantDeclarations()) {
-            pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence(declaration);
+            pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence(declaration, pagesCountersIncluded);
         }
         for (CssDeclaration declaration : ruleSet.getNormalDeclarations()) {
-            pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence(declaration);
+            pagesCounterPresent = pagesCounterPresent || checkPagesCounterPresence(declaration, pagesCountersIncluded);
         }
         return pagesCounterPresent;
     }
 
-    private static boolean checkPagesCounterPresence(CssDeclaration declaration) {
+    private static boolean checkPagesCounterPresence(CssDeclaration declaration, boolean pagesCountersIncluded) {
         boolean pagesCounterPresent = false;
 
         // MDN: The counters() function can be used with any CSS property, but support for properties other
@@ -175,6 +195,10 @@ public class CssStyleSheetAnalyzer {
                 if (token.isString()) {
                     continue;
                 }
+                if (!pagesCountersIncluded && (token.getValue().startsWith(CssConstants.COUNTERS + "(")
+                        || token.getValue().startsWith(CssConstants.COUNTER + "("))) {
+                    continue;
+                }
                 if (token.getValue().startsWith(CssConstants.COUNTERS + "(")) {
                     String paramsStr = token.getValue().substring(CssConstants.COUNTERS.length() + 1, token.getValue().length() - 1);
                     String[] params = paramsStr.split(",");
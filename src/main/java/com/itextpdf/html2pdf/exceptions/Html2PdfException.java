@@ -40,6 +40,13 @@ public class Html2PdfException extends ITextException {
     /** The Constant UnsupportedEncodingException. */
     public static final String UNSUPPORTED_ENCODING_EXCEPTION = "Unsupported encoding exception.";
 
+    /** Message in case a custom font provider is passed to the converter engine without a font provider factory. */
+    public static final String CUSTOM_FONT_PROVIDER_REQUIRES_FACTORY = "A custom FontProvider subclass can't be "
+            + "shared between conversions. Pass an IFontProviderFactory to the HtmlConverterEngine";
+
+    /** Message in case the HTML stream can't be read during the streamed conversion. */
+    public static final String HTML_STREAM_READING_FAILED = "The HTML stream can't be read.";
+
     /**
      * Creates a new {@link Html2PdfException} instance.
      *
@@ -48,4 +55,14 @@ public class Html2PdfException extends ITextException {
     public Html2PdfException(String message) {
         super(message);
     }
+
+    /**
+     * Creates a new {@link Html2PdfException} instance.
+     *
+     * @param message the message
+     * @param cause the cause of the exception
+     */
+    public Html2PdfException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -0,0 +1,151 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.html;
+
+import com.itextpdf.styledxmlparser.jsoup.nodes.Attributes;
+import com.itextpdf.styledxmlparser.jsoup.nodes.Element;
+import com.itextpdf.styledxmlparser.jsoup.nodes.TextNode;
+import com.itextpdf.styledxmlparser.jsoup.parser.Tag;
+import com.itextpdf.styledxmlparser.node.IAttribute;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupElementNode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupTextNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link JsoupElementNode} implementation for a {@code body} element whose children can be released
+ * once they are processed, see {@link ConsumableHtmlParser}.
+ * <p>
+ * A released child is replaced with a placeholder which has the same name and attributes but no content,
+ * so that the selectors which depend on the siblings still match the following children the same way.
+ */
+public class ConsumableBodyElementNode extends JsoupElementNode {
+
+    /** The children of the body. */
+    private final List<INode> children = new ArrayList<>();
+
+    /**
+     * Creates a new {@link ConsumableBodyElementNode} instance.
+     *
+     * @param element the body element
+     */
+    public ConsumableBodyElementNode(Element element) {
+        super(element);
+    }
+
+    /* (non-Javadoc)
+     * @see com.itextpdf.styledxmlparser.node.INode#childNodes()
+     */
+    @Override
+    public List<INode> childNodes() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /* (non-Javadoc)
+     * @see com.itextpdf.styledxmlparser.node.INode#addChild(com.itextpdf.styledxmlparser.node.INode)
+     */
+    @Override
+    public void addChild(INode node) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Replaces the child with the specified index with a placeholder without content, so that
+     * the subtree of the child can be garbage collected.
+     *
+     * @param index the index of the child
+     */
+    public void releaseChild(int index) {
+        INode child = children.get(index);
+        if (child instanceof BodyChildElementNode) {
+            Attributes attributes = new Attributes();
+            for (IAttribute attribute : ((BodyChildElementNode) child).getAttributes()) {
+                attributes.put(attribute.getKey(), attribute.getValue());
+            }
+            children.set(index, new BodyChildElementNode(
+                    new Element(Tag.valueOf(((BodyChildElementNode) child).name()), "", attributes), this));
+        } else if (child instanceof BodyChildTextNode) {
+            children.set(index, new BodyChildTextNode(new TextNode(""), this));
+        }
+    }
+
+    /**
+     * Adds an element as a child of the body.
+     *
+     * @param element the child element
+     * @return the node of the child element
+     */
+    JsoupElementNode addChildElement(Element element) {
+        BodyChildElementNode node = new BodyChildElementNode(element, this);
+        children.add(node);
+        return node;
+    }
+
+    /**
+     * Adds a text node as a child of the body.
+     *
+     * @param textNode the child text node
+     */
+    void addChildText(TextNode textNode) {
+        children.add(new BodyChildTextNode(textNode, this));
+    }
+
+    /**
+     * The element node of a body child. The parent is kept by the node itself, since the body doesn't
+     * register its children in the underlying {@link JsoupElementNode}.
+     */
+    private static class BodyChildElementNode extends JsoupElementNode {
+        private final INode parent;
+
+        BodyChildElementNode(Element element, INode parent) {
+            super(element);
+            this.parent = parent;
+        }
+
+        @Override
+        public INode parentNode() {
+            return parent;
+        }
+    }
+
+    /**
+     * The text node of a body child. The parent is kept by the node itself, since the body doesn't
+     * register its children in the underlying {@link JsoupElementNode}.
+     */
+    private static class BodyChildTextNode extends JsoupTextNode {
+        private final INode parent;
+
+        BodyChildTextNode(TextNode textNode, INode parent) {
+            super(textNode);
+            this.parent = parent;
+        }
+
+        @Override
+        public INode parentNode() {
+            return parent;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.html;
+
+import com.itextpdf.styledxmlparser.IXmlParser;
+import com.itextpdf.styledxmlparser.jsoup.Jsoup;
+import com.itextpdf.styledxmlparser.jsoup.nodes.DataNode;
+import com.itextpdf.styledxmlparser.jsoup.nodes.Document;
+import com.itextpdf.styledxmlparser.jsoup.nodes.DocumentType;
+import com.itextpdf.styledxmlparser.jsoup.nodes.Element;
+import com.itextpdf.styledxmlparser.jsoup.nodes.Node;
+import com.itextpdf.styledxmlparser.jsoup.nodes.TextNode;
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupDataNode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupDocumentNode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupDocumentTypeNode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupElementNode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupTextNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * HTML parser which builds the same node tree as
+ * {@link com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser}, except that the {@code body} element
+ * is represented by a {@link ConsumableBodyElementNode}. The children of such a body can be released by
+ * the HTML processor as soon as they are converted, so that the memory occupied by the subtrees of
+ * the converted top-level elements can be reclaimed during the conversion.
+ * <p>
+ * The underlying body element doesn't keep its children, so its text content is empty.
+ */
+public class ConsumableHtmlParser implements IXmlParser {
+
+    /* (non-Javadoc)
+     * @see com.itextpdf.styledxmlparser.IXmlParser#parse(java.io.InputStream, java.lang.String)
+     */
+    @Override
+    public IDocumentNode parse(InputStream htmlStream, String charset) throws IOException {
+        // The base URI is not needed, the relative URIs are resolved by the resource resolver
+        return wrapDocument(Jsoup.parse(htmlStream, charset, ""));
+    }
+
+    /* (non-Javadoc)
+     * @see com.itextpdf.styledxmlparser.IXmlParser#parse(java.lang.String)
+     */
+    @Override
+    public IDocumentNode parse(String html) {
+        return wrapDocument(Jsoup.parse(html));
+    }
+
+    private static IDocumentNode wrapDocument(Document document) {
+        JsoupDocumentNode documentNode = new JsoupDocumentNode(document);
+        wrapChildren(document, documentNode, document.body());
+        return documentNode;
+    }
+
+    private static void wrapChildren(Node jsoupNode, INode node, Element body) {
+        for (Node jsoupChild : jsoupNode.childNodes()) {
+            if (jsoupChild == body) {
+                node.addChild(wrapBody(body));
+            } else {
+                INode child = wrapNode(jsoupChild);
+                if (child != null) {
+                    wrapChildren(jsoupChild, child, body);
+                    node.addChild(child);
+                }
+            }
+        }
+    }
+
+    private static INode wrapBody(Element body) {
+        ConsumableBodyElementNode bodyNode = new ConsumableBodyElementNode(body);
+        for (Node jsoupChild : body.childNodes()) {
+            if (jsoupChild instanceof Element) {
+                JsoupElementNode child = bodyNode.addChildElement((Element) jsoupChild);
+                wrapChildren(jsoupChild, child, null);
+            } else if (jsoupChild instanceof TextNode) {
+                bodyNode.addChildText((TextNode) jsoupChild);
+            }
+        }
+        // The body children are only kept by the body node, so that they can be released one by one
+        body.empty();
+        return bodyNode;
+    }
+
+    private static INode wrapNode(Node jsoupNode) {
+        if (jsoupNode instanceof Element) {
+            return new JsoupElementNode((Element) jsoupNode);
+        } else if (jsoupNode instanceof TextNode) {
+            return new JsoupTextNode((TextNode) jsoupNode);
+        } else if (jsoupNode instanceof DataNode) {
+            return new JsoupDataNode((DataNode) jsoupNode);
+        } else if (jsoupNode instanceof DocumentType) {
+            return new JsoupDocumentTypeNode((DocumentType) jsoupNode);
+        }
+        // Comments and other nodes are not a part of the content
+        return null;
+    }
+}
@@ -0,0 +1,431 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.html;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Set;
+
+/**
+ * Reads an HTML document from a character stream in parts: first the start of the document up to the
+ * {@code body} element, then the content of the body as a sequence of chunks, each of which consists
+ * of complete top-level body children.
+ * <p>
+ * The reader only tokenizes the markup and tracks the open elements, it doesn't build any tree. A chunk
+ * is ended only at the boundaries of the top-level block elements, so the body content is never split inside
+ * an element or a run of inline content. Elements
+ * whose end tags are omitted and which are not closed implicitly by the reader prevent splitting, in the
+ * worst case the whole body is returned as a single chunk.
+ */
+public class HtmlBodyChunkReader {
+
+    /**
+     * The default minimal length of a chunk in characters.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private static final Set<String> VOID_ELEMENTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "area", "base", "basefont", "bgsound", "br", "col", "embed", "frame", "hr", "img", "input", "keygen",
+            "link", "meta", "param", "source", "track", "wbr")));
+
+    private static final Set<String> RAW_TEXT_ELEMENTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "iframe", "noembed", "noframes", "script", "style", "textarea", "title", "xmp")));
+
+    private static final Set<String> HEAD_ELEMENTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "base", "basefont", "bgsound", "head", "link", "meta", "noscript", "script", "style", "template",
+            "title")));
+
+    private static final Set<String> BLOCK_ELEMENTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "address", "article", "aside", "blockquote", "details", "div", "dl", "fieldset", "figcaption", "figure",
+            "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hgroup", "hr", "main", "menu", "nav",
+            "ol", "p", "pre", "section", "table", "ul")));
+
+    private static final int TEXT = 0;
+    private static final int START_TAG = 1;
+    private static final int END_TAG = 2;
+    private static final int OTHER = 3;
+
+    private static final int PUSHBACK_SIZE = 64;
+
+    private final PushbackReader reader;
+
+    private final int chunkSize;
+
+    private final LinkedList<String> openElements = new LinkedList<>();
+
+    private Token pushedBackToken;
+
+    private String htmlStartTag = "<html>";
+
+    private String bodyStartTag = "<body>";
+
+    /**
+     * Creates a new {@link HtmlBodyChunkReader} instance with the default chunk size.
+     *
+     * @param reader the reader of the HTML document
+     */
+    public HtmlBodyChunkReader(Reader reader) {
+        this(reader, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new {@link HtmlBodyChunkReader} instance.
+     *
+     * @param reader the reader of the HTML document
+     * @param chunkSize the minimal length of a chunk in characters, chunks are ended at the first
+     *                  top-level element boundary after this length is reached
+     */
+    public HtmlBodyChunkReader(Reader reader, int chunkSize) {
+        this.reader = new PushbackReader(reader, PUSHBACK_SIZE);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads the start of the document: everything before the start tag of the {@code body} element,
+     * either explicit or implied by the first content which doesn't belong to the head. If the document
+     * has no body, the whole document is read.
+     *
+     * @return the start of the document
+     * @throws IOException if the document can't be read
+     */
+    public String readDocumentStart() throws IOException {
+        StringBuilder documentStart = new StringBuilder();
+        Token token;
+        while ((token = readToken()) != null) {
+            if (token.type == START_TAG) {
+                if (TagConstants.HTML.equals(token.name)) {
+                    htmlStartTag = token.text;
+                } else if (TagConstants.BODY.equals(token.name)) {
+                    bodyStartTag = token.text;
+                    break;
+                } else if (!HEAD_ELEMENTS.contains(token.name)) {
+                    pushedBackToken = token;
+                    break;
+                }
+            } else if (token.type == TEXT && !isWhitespace(token.text)) {
+                pushedBackToken = token;
+                break;
+            }
+            documentStart.append(token.text);
+        }
+        return documentStart.toString();
+    }
+
+    /**
+     * Reads the next chunk of the body content. A chunk is ended only before the start tag or after the end tag
+     * of a top-level block element, so the inline content which is laid out in the same line is never split
+     * between chunks. The end tags of the {@code body} and {@code html} elements
+     * are skipped, so the content which follows them is returned as a part of the body, the same way as
+     * HTML parsers treat it.
+     *
+     * @return the next chunk, or null if the whole document has been read
+     * @throws IOException if the document can't be read
+     */
+    public String readNextChunk() throws IOException {
+        StringBuilder chunk = new StringBuilder();
+        Token token;
+        while ((token = readToken()) != null) {
+            boolean blockBoundary = false;
+            if (token.type == START_TAG) {
+                if (TagConstants.HTML.equals(token.name) || TagConstants.BODY.equals(token.name)) {
+                    continue;
+                }
+                closeImpliedElements(token.name);
+                if (openElements.isEmpty() && BLOCK_ELEMENTS.contains(token.name) && chunk.length() >= chunkSize) {
+                    pushedBackToken = token;
+                    break;
+                }
+                if (!VOID_ELEMENTS.contains(token.name) && !(token.selfClosing && isInForeignContent())) {
+                    openElements.push(token.name);
+                } else {
+                    blockBoundary = BLOCK_ELEMENTS.contains(token.name);
+                }
+            } else if (token.type == END_TAG) {
+                if (TagConstants.HTML.equals(token.name) || TagConstants.BODY.equals(token.name)) {
+                    continue;
+                }
+                if (openElements.contains(token.name)) {
+                    while (!token.name.equals(openElements.pop())) {
+                        // Elements with omitted end tags are closed by the end tag of their ancestor
+                    }
+                    blockBoundary = BLOCK_ELEMENTS.contains(token.name);
+                }
+            }
+            chunk.append(token.text);
+            if (blockBoundary && openElements.isEmpty() && chunk.length() >= chunkSize) {
+                break;
+            }
+        }
+        return chunk.length() == 0 ? null : chunk.toString();
+    }
+
+    /**
+     * Gets the start tag of the {@code html} element, the default one is returned if the document has
+     * no explicit start tag. The value is available after {@link #readDocumentStart()} is called.
+     *
+     * @return the start tag of the {@code html} element
+     */
+    public String getHtmlStartTag() {
+        return htmlStartTag;
+    }
+
+    /**
+     * Gets the start tag of the {@code body} element, the default one is returned if the document has
+     * no explicit start tag. The value is available after {@link #readDocumentStart()} is called.
+     *
+     * @return the start tag of the {@code body} element
+     */
+    public String getBodyStartTag() {
+        return bodyStartTag;
+    }
+
+    private void closeImpliedElements(String name) {
+        String top = openElements.peek();
+        if (top == null) {
+            return;
+        }
+        if (TagConstants.P.equals(top) && BLOCK_ELEMENTS.contains(name)) {
+            openElements.pop();
+        } else if (TagConstants.LI.equals(name) && TagConstants.LI.equals(top)) {
+            openElements.pop();
+        } else if (isOneOf(name, "dt", "dd") && isOneOf(top, "dt", "dd")) {
+            openElements.pop();
+        } else if (isOneOf(name, "td", "th") && isOneOf(top, "td", "th")) {
+            openElements.pop();
+        } else if ("tr".equals(name) && isOneOf(top, "tr", "td", "th")) {
+            while (isOneOf(openElements.peek(), "td", "th")) {
+                openElements.pop();
+            }
+            if ("tr".equals(openElements.peek())) {
+                openElements.pop();
+            }
+        } else if ("option".equals(name) && "option".equals(top)) {
+            openElements.pop();
+        }
+    }
+
+    private boolean isInForeignContent() {
+        return openElements.contains(TagConstants.SVG) || openElements.contains("math");
+    }
+
+    private Token readToken() throws IOException {
+        if (pushedBackToken != null) {
+            Token token = pushedBackToken;
+            pushedBackToken = null;
+            return token;
+        }
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        text.append((char) c);
+        if (c != '<') {
+            return readText(text);
+        }
+        c = reader.read();
+        if (c == '/') {
+            text.append('/');
+            String name = readTagName(text);
+            readUntilTagEnd(text);
+            return new Token(END_TAG, name, text.toString(), false);
+        } else if (isAsciiLetter(c)) {
+            reader.unread(c);
+            String name = readTagName(text);
+            boolean selfClosing = readUntilTagEnd(text);
+            if (RAW_TEXT_ELEMENTS.contains(name) && !selfClosing) {
+                readRawText(text, name);
+            }
+            return new Token(START_TAG, name, text.toString(), selfClosing);
+        } else if (c == '!' || c == '?') {
+            text.append((char) c);
+            readMarkupDeclaration(text);
+            return new Token(OTHER, null, text.toString(), false);
+        }
+        if (c != -1) {
+            reader.unread(c);
+        }
+        // A lone '<' is a part of the text
+        return readText(text);
+    }
+
+    private Token readText(StringBuilder text) throws IOException {
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            text.append((char) c);
+        }
+        if (c != -1) {
+            reader.unread(c);
+        }
+        return new Token(TEXT, null, text.toString(), false);
+    }
+
+    private String readTagName(StringBuilder text) throws IOException {
+        StringBuilder name = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && !Character.isWhitespace((char) c) && c != '>' && c != '/') {
+            name.append((char) c);
+        }
+        if (c != -1) {
+            reader.unread(c);
+        }
+        text.append(name);
+        return name.toString().toLowerCase();
+    }
+
+    /**
+     * Reads the rest of the tag, skipping the quoted attribute values.
+     *
+     * @return true, if the tag is self-closing
+     */
+    private boolean readUntilTagEnd(StringBuilder text) throws IOException {
+        int quote = -1;
+        int lastSignificant = -1;
+        int c;
+        while ((c = reader.read()) != -1) {
+            text.append((char) c);
+            if (quote != -1) {
+                if (c == quote) {
+                    quote = -1;
+                }
+            } else if (c == '>') {
+                return lastSignificant == '/';
+            } else if ((c == '"' || c == '\'') && lastSignificant == '=') {
+                quote = c;
+            }
+            if (!Character.isWhitespace((char) c)) {
+                lastSignificant = c;
+            }
+        }
+        return false;
+    }
+
+    private void readRawText(StringBuilder text, String name) throws IOException {
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '<' && isRawTextEnd(name)) {
+                reader.unread(c);
+                return;
+            }
+            text.append((char) c);
+        }
+    }
+
+    private boolean isRawTextEnd(String name) throws IOException {
+        char[] buffer = new char[name.length() + 2];
+        int length = 0;
+        boolean matches = true;
+        while (length < buffer.length) {
+            int c = reader.read();
+            if (c == -1) {
+                break;
+            }
+            buffer[length++] = (char) c;
+            char expected = length == 1 ? '/' : (length <= name.length() + 1 ? name.charAt(length - 2) : ' ');
+            if (length <= name.length() + 1 && Character.toLowerCase((char) c) != expected) {
+                matches = false;
+                break;
+            }
+        }
+        if (matches && length == buffer.length) {
+            char last = buffer[length - 1];
+            matches = Character.isWhitespace(last) || last == '>' || last == '/';
+        } else {
+            matches = false;
+        }
+        reader.unread(buffer, 0, length);
+        return matches;
+    }
+
+    private void readMarkupDeclaration(StringBuilder text) throws IOException {
+        int c = reader.read();
+        if (c == '-') {
+            text.append('-');
+            c = reader.read();
+            if (c == '-') {
+                text.append('-');
+                readComment(text);
+                return;
+            }
+        }
+        while (c != -1) {
+            text.append((char) c);
+            if (c == '>') {
+                return;
+            }
+            c = reader.read();
+        }
+    }
+
+    private void readComment(StringBuilder text) throws IOException {
+        int dashes = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            text.append((char) c);
+            if (c == '>' && dashes >= 2) {
+                return;
+            }
+            dashes = c == '-' ? dashes + 1 : 0;
+        }
+    }
+
+    private static boolean isAsciiLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isOneOf(String value, String first, String second) {
+        return first.equals(value) || second.equals(value);
+    }
+
+    private static boolean isOneOf(String value, String first, String second, String third) {
+        return first.equals(value) || second.equals(value) || third.equals(value);
+    }
+
+    private static boolean isWhitespace(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Token {
+        private final int type;
+        private final String name;
+        private final String text;
+        private final boolean selfClosing;
+
+        Token(int type, String name, String text, boolean selfClosing) {
+            this.type = type;
+            this.name = name;
+            this.text = text;
+            this.selfClosing = selfClosing;
+        }
+    }
+}
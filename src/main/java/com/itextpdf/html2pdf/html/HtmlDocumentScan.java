@@ -0,0 +1,151 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.html;
+
+import com.itextpdf.html2pdf.resolver.resource.ResourcePrefetcher;
+import com.itextpdf.styledxmlparser.css.util.CssUtils;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * The information about a document which is needed before the conversion starts, collected in a single
+ * traversal of the document tree: the {@code html} and {@code body} elements, the elements which define
+ * style sheets and the targets of the internal links. The resources referenced by the elements are
+ * scheduled for prefetching during the same traversal.
+ * <p>
+ * The elements are traversed in breadth-first order, so the style sheet elements are listed in the order
+ * in which the style sheets are combined.
+ */
+public class HtmlDocumentScan {
+
+    private IElementNode htmlNode;
+
+    private IElementNode bodyNode;
+
+    private final List<IElementNode> styleSheetElements = new ArrayList<>();
+
+    private final Set<String> linkDestinations = new HashSet<>();
+
+    private HtmlDocumentScan() {
+    }
+
+    /**
+     * Scans the document tree.
+     *
+     * @param root the root node of the tree
+     * @return the {@link HtmlDocumentScan} instance with the collected information
+     */
+    public static HtmlDocumentScan scan(INode root) {
+        return scan(root, null);
+    }
+
+    /**
+     * Scans the document tree, scheduling the prefetching of the referenced resources.
+     *
+     * @param root the root node of the tree
+     * @param resourcePrefetcher the prefetcher of the resources, null if the resources are not prefetched
+     * @return the {@link HtmlDocumentScan} instance with the collected information
+     */
+    public static HtmlDocumentScan scan(INode root, ResourcePrefetcher resourcePrefetcher) {
+        HtmlDocumentScan scan = new HtmlDocumentScan();
+        Queue<INode> q = new ArrayDeque<>();
+        q.add(root);
+        while (!q.isEmpty()) {
+            INode currentNode = q.poll();
+            if (currentNode instanceof IElementNode) {
+                IElementNode element = (IElementNode) currentNode;
+                scan.collect(element);
+                if (resourcePrefetcher != null) {
+                    resourcePrefetcher.prefetchElementResources(element);
+                }
+            }
+            for (INode child : currentNode.childNodes()) {
+                if (child instanceof IElementNode) {
+                    q.add(child);
+                }
+            }
+        }
+        return scan;
+    }
+
+    /**
+     * Gets the first {@code html} element of the document.
+     *
+     * @return the {@code html} element, or null if there is none
+     */
+    public IElementNode getHtmlNode() {
+        return htmlNode;
+    }
+
+    /**
+     * Gets the first {@code body} element of the document.
+     *
+     * @return the {@code body} element, or null if there is none
+     */
+    public IElementNode getBodyNode() {
+        return bodyNode;
+    }
+
+    /**
+     * Gets the {@code style} elements and the style sheet {@code link} elements of the document.
+     *
+     * @return the style sheet elements
+     */
+    public List<IElementNode> getStyleSheetElements() {
+        return Collections.unmodifiableList(styleSheetElements);
+    }
+
+    /**
+     * Gets the targets of the internal links, i.e. the {@code href} attribute values of the
+     * {@code a} elements which start with {@code #}, without the {@code #}.
+     *
+     * @return the link destinations
+     */
+    public Set<String> getLinkDestinations() {
+        return Collections.unmodifiableSet(linkDestinations);
+    }
+
+    private void collect(IElementNode element) {
+        String name = element.name();
+        if (TagConstants.A.equals(name)) {
+            String href = element.getAttribute(AttributeConstants.HREF);
+            if (href != null && href.startsWith("#")) {
+                linkDestinations.add(href.substring(1));
+            }
+        } else if (TagConstants.STYLE.equals(name) || CssUtils.isStyleSheetLink(element)) {
+            styleSheetElements.add(element);
+        } else if (htmlNode == null && TagConstants.HTML.equals(name)) {
+            htmlNode = element;
+        } else if (bodyNode == null && TagConstants.BODY.equals(name)) {
+            bodyNode = element;
+        }
+    }
+}
@@ -0,0 +1,557 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.html;
+
+import com.itextpdf.styledxmlparser.IXmlParser;
+import com.itextpdf.styledxmlparser.jsoup.nodes.Attributes;
+import com.itextpdf.styledxmlparser.jsoup.nodes.DataNode;
+import com.itextpdf.styledxmlparser.jsoup.nodes.Document;
+import com.itextpdf.styledxmlparser.jsoup.nodes.Element;
+import com.itextpdf.styledxmlparser.jsoup.nodes.TextNode;
+import com.itextpdf.styledxmlparser.jsoup.parser.Parser;
+import com.itextpdf.styledxmlparser.jsoup.parser.Tag;
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupDataNode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupDocumentNode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupElementNode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupTextNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fast parser for well-formed XHTML, e.g. generated by templates or other tools.
+ * <p>
+ * The parser builds the same kind of node tree as {@link com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser}
+ * in a single pass over the input, without the HTML5 error recovery: the elements are nested exactly as
+ * they are written. Like in HTML parsers, the document always gets the {@code html}, {@code head} and
+ * {@code body} elements, which are implied if they are missing. Like in HTML, the tag and attribute names are converted
+ * to lower case, void elements don't require to be closed, and the content of {@code script} and {@code style}
+ * elements is not parsed. End tags which don't match any open element are ignored. Comments, processing
+ * instructions and the document type declaration are skipped.
+ * <p>
+ * The input which is not well-formed is not rejected, but it may be converted differently than by
+ * an HTML parser, so this parser shall only be used for the documents known to be well-formed.
+ */
+public class XhtmlParser implements IXmlParser {
+
+    private static final Set<String> VOID_ELEMENTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "area", "base", "basefont", "bgsound", "br", "col", "embed", "frame", "hr", "img", "input", "keygen",
+            "link", "meta", "param", "source", "track", "wbr")));
+
+    private static final Set<String> DATA_ELEMENTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            TagConstants.SCRIPT, TagConstants.STYLE)));
+
+    private static final Set<String> HEAD_ELEMENTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "base", "basefont", "bgsound", TagConstants.LINK, TagConstants.META, "noframes", TagConstants.SCRIPT,
+            TagConstants.STYLE, "template", TagConstants.TITLE)));
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /**
+     * The number of bytes at the start of the document searched for the charset declaration.
+     */
+    private static final int CHARSET_DECLARATION_SEARCH_LENGTH = 1024;
+
+    private static final Pattern XML_DECLARATION_ENCODING = Pattern.compile(
+            "^<\\?xml[^>]*?\\sencoding\\s*=\\s*[\"']([^\"']+)[\"']");
+
+    private static final Pattern META_CHARSET = Pattern.compile(
+            "<meta\\s[^>]*?charset\\s*=\\s*[\"']?([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the charset is not specified, it is detected like in HTML parsers: from the byte order mark,
+     * the XML declaration or the {@code meta} element declaring the charset. UTF-8 is used if none of them
+     * is present.
+     */
+    @Override
+    public IDocumentNode parse(InputStream htmlStream, String charset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int length;
+        while ((length = htmlStream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, length);
+        }
+        byte[] html = bytes.toByteArray();
+        int bomLength = 0;
+        Charset detectedCharset;
+        if (startsWith(html, (byte) 0xEF, (byte) 0xBB, (byte) 0xBF)) {
+            bomLength = 3;
+            detectedCharset = StandardCharsets.UTF_8;
+        } else if (startsWith(html, (byte) 0xFE, (byte) 0xFF)) {
+            bomLength = 2;
+            detectedCharset = StandardCharsets.UTF_16BE;
+        } else if (startsWith(html, (byte) 0xFF, (byte) 0xFE)) {
+            bomLength = 2;
+            detectedCharset = StandardCharsets.UTF_16LE;
+        } else if (charset != null) {
+            detectedCharset = Charset.forName(charset);
+        } else {
+            detectedCharset = detectDeclaredCharset(html);
+        }
+        return parse(new String(html, bomLength, html.length - bomLength, detectedCharset));
+    }
+
+    /* (non-Javadoc)
+     * @see com.itextpdf.styledxmlparser.IXmlParser#parse(java.lang.String)
+     */
+    @Override
+    public IDocumentNode parse(String html) {
+        return new TreeBuilder(html).build();
+    }
+
+    private static boolean startsWith(byte[] bytes, byte... prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Charset detectDeclaredCharset(byte[] html) {
+        // The declarations consist of ASCII characters, so the bytes can be decoded with any ASCII based charset
+        String start = new String(html, 0, Math.min(html.length, CHARSET_DECLARATION_SEARCH_LENGTH),
+                StandardCharsets.ISO_8859_1);
+        Matcher matcher = XML_DECLARATION_ENCODING.matcher(start);
+        if (!matcher.find()) {
+            matcher = META_CHARSET.matcher(start);
+            if (!matcher.find()) {
+                return StandardCharsets.UTF_8;
+            }
+        }
+        String charsetName = matcher.group(1).trim();
+        try {
+            if (Charset.isSupported(charsetName)) {
+                return Charset.forName(charsetName);
+            }
+        } catch (IllegalCharsetNameException ignored) {
+            // UTF-8 is used for unknown charsets
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Builds the node tree of a single document.
+     */
+    private static final class TreeBuilder {
+        private final String html;
+        private final Document document = new Document("");
+        private final JsoupDocumentNode documentNode = new JsoupDocumentNode(document);
+        private final List<Element> openElements = new ArrayList<>();
+        private final List<INode> openNodes = new ArrayList<>();
+        private final Map<String, String> names = new HashMap<>();
+        private final Map<String, Tag> tags = new HashMap<>();
+        private final StringBuilder pendingText = new StringBuilder();
+        private Element htmlElement;
+        private INode htmlNode;
+        private Element headElement;
+        private INode headNode;
+        private Element bodyElement;
+        private INode bodyNode;
+        private int pos;
+
+        TreeBuilder(String html) {
+            this.html = html;
+        }
+
+        IDocumentNode build() {
+            int length = html.length();
+            while (pos < length) {
+                int tagStart = html.indexOf('<', pos);
+                if (tagStart == -1) {
+                    pendingText.append(html, pos, length);
+                    break;
+                }
+                pendingText.append(html, pos, tagStart);
+                pos = tagStart;
+                if (html.startsWith("<!--", pos)) {
+                    pos = skipPast("-->", pos + 4);
+                } else if (html.startsWith("<![CDATA[", pos)) {
+                    int end = html.indexOf("]]>", pos + 9);
+                    int contentEnd = end == -1 ? length : end;
+                    // CDATA content is not escaped, so it is escaped back to be unescaped with the rest of the text
+                    pendingText.append(html.substring(pos + 9, contentEnd).replace("&", "&amp;"));
+                    pos = end == -1 ? length : end + 3;
+                } else if (html.startsWith("<!", pos) || html.startsWith("<?", pos)) {
+                    pos = skipPast(">", pos + 2);
+                } else if (html.startsWith("</", pos)) {
+                    readEndTag();
+                } else if (pos + 1 < length && isAsciiLetter(html.charAt(pos + 1))) {
+                    readStartTag();
+                } else {
+                    pendingText.append('<');
+                    ++pos;
+                }
+            }
+            flushText();
+            if (htmlNode != null && bodyNode == null) {
+                // Like HTML parsers, the document always gets the head and the body
+                openElements.clear();
+                openNodes.clear();
+                openHtml(new Attributes());
+                openImpliedBody();
+            }
+            return documentNode;
+        }
+
+        private void readStartTag() {
+            flushText();
+            int nameStart = ++pos;
+            while (pos < html.length() && !isTagNameEnd(html.charAt(pos))) {
+                ++pos;
+            }
+            String name = name(html.substring(nameStart, pos));
+            Attributes attributes = new Attributes();
+            boolean selfClosing = readAttributes(attributes);
+
+            if (TagConstants.HTML.equals(name)) {
+                if (htmlNode == null) {
+                    openHtml(attributes);
+                }
+                // Like in HTML parsers, the document has a single html element
+                return;
+            }
+            if (openElements.isEmpty()) {
+                // The content outside of the html element belongs to the body
+                openHtml(new Attributes());
+            }
+            if (!prepareDocumentStructure(name)) {
+                return;
+            }
+            openElement(name, attributes);
+            if (TagConstants.HEAD.equals(name)) {
+                headElement = currentElement();
+                headNode = currentNode();
+            } else if (TagConstants.BODY.equals(name)) {
+                bodyElement = currentElement();
+                bodyNode = currentNode();
+            }
+            if (selfClosing || VOID_ELEMENTS.contains(name)) {
+                closeElement();
+            } else if (DATA_ELEMENTS.contains(name)) {
+                readData(name);
+                closeElement();
+            }
+        }
+
+        private boolean readAttributes(Attributes attributes) {
+            int length = html.length();
+            while (pos < length) {
+                char c = html.charAt(pos);
+                if (c == '>') {
+                    ++pos;
+                    return false;
+                } else if (c == '/' && pos + 1 < length && html.charAt(pos + 1) == '>') {
+                    pos += 2;
+                    return true;
+                } else if (Character.isWhitespace(c) || c == '/') {
+                    ++pos;
+                    continue;
+                }
+                int nameStart = pos;
+                while (pos < length && !isTagNameEnd(html.charAt(pos)) && html.charAt(pos) != '=') {
+                    ++pos;
+                }
+                String name = name(html.substring(nameStart, pos));
+                skipWhitespace();
+                String value = "";
+                if (pos < length && html.charAt(pos) == '=') {
+                    ++pos;
+                    skipWhitespace();
+                    value = readAttributeValue();
+                }
+                if (!attributes.hasKey(name)) {
+                    attributes.put(name, value);
+                }
+            }
+            return false;
+        }
+
+        private String readAttributeValue() {
+            int length = html.length();
+            if (pos >= length) {
+                return "";
+            }
+            char quote = html.charAt(pos);
+            int valueStart;
+            int valueEnd;
+            if (quote == '"' || quote == '\'') {
+                valueStart = pos + 1;
+                valueEnd = html.indexOf(quote, valueStart);
+                if (valueEnd == -1) {
+                    valueEnd = length;
+                }
+                pos = Math.min(valueEnd + 1, length);
+            } else {
+                valueStart = pos;
+                while (pos < length && !Character.isWhitespace(html.charAt(pos)) && html.charAt(pos) != '>') {
+                    ++pos;
+                }
+                valueEnd = pos;
+            }
+            return unescape(html.substring(valueStart, valueEnd), true);
+        }
+
+        private void readData(String name) {
+            int length = html.length();
+            int end = html.indexOf("</", pos);
+            while (end != -1 && !html.regionMatches(true, end + 2, name, 0, name.length())) {
+                end = html.indexOf("</", end + 2);
+            }
+            int dataEnd = end == -1 ? length : end;
+            if (dataEnd > pos) {
+                DataNode dataNode = new DataNode(html.substring(pos, dataEnd));
+                currentElement().appendChild(dataNode);
+                currentNode().addChild(new JsoupDataNode(dataNode));
+            }
+            pos = end == -1 ? length : skipPast(">", end + 2);
+        }
+
+        private void readEndTag() {
+            flushText();
+            int nameStart = pos + 2;
+            pos = skipPast(">", nameStart);
+            int nameEnd = nameStart;
+            while (nameEnd < pos && !isTagNameEnd(html.charAt(nameEnd))) {
+                ++nameEnd;
+            }
+            String name = name(html.substring(nameStart, nameEnd));
+            for (int i = openElements.size() - 1; i >= 0; i--) {
+                if (openElements.get(i).tagName().equals(name)) {
+                    while (openElements.size() > i) {
+                        closeElement();
+                    }
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Implies the {@code head} and {@code body} elements the way HTML parsers do before an element
+         * is opened: the elements of the document head are put into the head, other elements into the body.
+         *
+         * @param name the name of the element to be opened
+         * @return false if the element shall not be opened since it would be a second or a nested head or body
+         */
+        private boolean prepareDocumentStructure(String name) {
+            if (openElements.size() == 2 && currentNode() == headNode && !HEAD_ELEMENTS.contains(name)) {
+                closeElement();
+            }
+            if (openElements.size() != 1) {
+                // Like in HTML parsers, the head and the body can't be nested into other elements
+                return !TagConstants.HEAD.equals(name) && !TagConstants.BODY.equals(name);
+            }
+            if (TagConstants.HEAD.equals(name)) {
+                return headNode == null && bodyNode == null;
+            }
+            if (TagConstants.BODY.equals(name)) {
+                if (bodyNode != null) {
+                    return false;
+                }
+                appendImpliedHead();
+                return true;
+            }
+            if (bodyNode == null && HEAD_ELEMENTS.contains(name)) {
+                if (headNode == null) {
+                    openImpliedHead();
+                } else {
+                    reopen(headElement, headNode);
+                }
+                return true;
+            }
+            openImpliedBody();
+            return true;
+        }
+
+        private void openHtml(Attributes attributes) {
+            if (htmlNode == null) {
+                openElement(name(TagConstants.HTML), attributes);
+                htmlElement = currentElement();
+                htmlNode = currentNode();
+            } else {
+                reopen(htmlElement, htmlNode);
+            }
+        }
+
+        private void openImpliedHead() {
+            openElement(name(TagConstants.HEAD), new Attributes());
+            headElement = currentElement();
+            headNode = currentNode();
+        }
+
+        private void appendImpliedHead() {
+            if (headNode == null) {
+                openImpliedHead();
+                closeElement();
+            }
+        }
+
+        private void openImpliedBody() {
+            if (bodyNode == null) {
+                appendImpliedHead();
+                openElement(name(TagConstants.BODY), new Attributes());
+                bodyElement = currentElement();
+                bodyNode = currentNode();
+            } else {
+                reopen(bodyElement, bodyNode);
+            }
+        }
+
+        private void reopen(Element element, INode node) {
+            openElements.add(element);
+            openNodes.add(node);
+        }
+
+        private void openElement(String name, Attributes attributes) {
+            Tag tag = tags.get(name);
+            if (tag == null) {
+                tag = Tag.valueOf(name);
+                tags.put(name, tag);
+            }
+            Element element = new Element(tag, "", attributes);
+            JsoupElementNode node = new JsoupElementNode(element);
+            if (openElements.isEmpty()) {
+                document.appendChild(element);
+                documentNode.addChild(node);
+            } else {
+                currentElement().appendChild(element);
+                currentNode().addChild(node);
+            }
+            openElements.add(element);
+            openNodes.add(node);
+        }
+
+        private void closeElement() {
+            openElements.remove(openElements.size() - 1);
+            openNodes.remove(openNodes.size() - 1);
+        }
+
+        private void flushText() {
+            if (pendingText.length() == 0) {
+                return;
+            }
+            String text = pendingText.toString();
+            pendingText.setLength(0);
+            boolean isWhitespace = isWhitespace(text);
+            if (openElements.isEmpty()) {
+                if (isWhitespace) {
+                    // Whitespace around the html element is not a part of the content
+                    return;
+                }
+                // The text outside of the html element belongs to the body
+                openHtml(new Attributes());
+            }
+            if (isWhitespace && (isCurrentElement(TagConstants.HTML) || isCurrentElement(TagConstants.HEAD))) {
+                // Whitespace between the document structure elements is not a part of the content
+                return;
+            }
+            if (openElements.size() <= 2 && (isCurrentElement(TagConstants.HTML) || currentNode() == headNode)) {
+                // Text directly in the html or head element belongs to the body
+                while (openElements.size() > 1) {
+                    closeElement();
+                }
+                openImpliedBody();
+            }
+            TextNode textNode = new TextNode(unescape(text, false));
+            currentElement().appendChild(textNode);
+            currentNode().addChild(new JsoupTextNode(textNode));
+        }
+
+        private boolean isCurrentElement(String name) {
+            return currentElement().tagName().equals(name);
+        }
+
+        private Element currentElement() {
+            return openElements.get(openElements.size() - 1);
+        }
+
+        private INode currentNode() {
+            return openNodes.get(openNodes.size() - 1);
+        }
+
+        /**
+         * Converts a tag or attribute name to lower case, returning the same string instance for equal names.
+         */
+        private String name(String name) {
+            String cached = names.get(name);
+            if (cached == null) {
+                cached = name.toLowerCase();
+                names.put(name, cached);
+            }
+            return cached;
+        }
+
+        private void skipWhitespace() {
+            while (pos < html.length() && Character.isWhitespace(html.charAt(pos))) {
+                ++pos;
+            }
+        }
+
+        private int skipPast(String terminator, int from) {
+            int end = html.indexOf(terminator, from);
+            return end == -1 ? html.length() : end + terminator.length();
+        }
+
+        private static String unescape(String text, boolean inAttribute) {
+            return text.indexOf('&') == -1 ? text : Parser.unescapeEntities(text, inAttribute);
+        }
+
+        private static boolean isTagNameEnd(char c) {
+            return Character.isWhitespace(c) || c == '>' || c == '/';
+        }
+
+        private static boolean isAsciiLetter(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+
+        private static boolean isWhitespace(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                if (!Character.isWhitespace(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.metrics;
+
+/**
+ * The counters of HTML to PDF conversion reported to {@link IConversionMetricsListener}.
+ */
+public enum ConversionCounter {
+    /**
+     * The number of element nodes visited by tag workers.
+     */
+    ELEMENTS_VISITED,
+    /**
+     * The number of CSS rule sets which matched the elements.
+     */
+    RULE_SETS_MATCHED,
+    /**
+     * The number of fonts loaded from {@code @font-face} rules.
+     */
+    FONTS_LOADED,
+    /**
+     * The number of relayout passes of the whole document.
+     */
+    RELAYOUTS,
+    /**
+     * The number of pages laid out.
+     */
+    PAGES
+}
@@ -0,0 +1,146 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link IConversionMetricsListener} implementation which aggregates the received metrics.
+ * <p>
+ * This class is thread-safe, so a single instance can be used to collect the metrics of several conversions.
+ */
+public class ConversionMetricsCollector implements IConversionMetricsListener {
+
+    private final AtomicLongArray stageDurations = new AtomicLongArray(ConversionStage.values().length);
+
+    private final AtomicLongArray stageRuns = new AtomicLongArray(ConversionStage.values().length);
+
+    private final AtomicLongArray counters = new AtomicLongArray(ConversionCounter.values().length);
+
+    private final AtomicLong resourcesFetched = new AtomicLong();
+
+    private final AtomicLong resourceBytes = new AtomicLong();
+
+    private final AtomicLong resourceFetchDuration = new AtomicLong();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onStageCompleted(ConversionStage stage, long durationNanos) {
+        stageDurations.addAndGet(stage.ordinal(), durationNanos);
+        stageRuns.incrementAndGet(stage.ordinal());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onCounterIncremented(ConversionCounter counter, long delta) {
+        counters.addAndGet(counter.ordinal(), delta);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onResourceFetched(String url, long bytes, long durationNanos) {
+        resourcesFetched.incrementAndGet();
+        resourceBytes.addAndGet(bytes);
+        resourceFetchDuration.addAndGet(durationNanos);
+    }
+
+    /**
+     * Gets the total duration of the stage.
+     *
+     * @param stage the stage
+     * @return the total duration of all the runs of the stage in nanoseconds
+     */
+    public long getStageDuration(ConversionStage stage) {
+        return stageDurations.get(stage.ordinal());
+    }
+
+    /**
+     * Gets the number of runs of the stage.
+     *
+     * @param stage the stage
+     * @return the number of runs of the stage
+     */
+    public long getStageRuns(ConversionStage stage) {
+        return stageRuns.get(stage.ordinal());
+    }
+
+    /**
+     * Gets the value of the counter.
+     *
+     * @param counter the counter
+     * @return the value of the counter
+     */
+    public long getCounter(ConversionCounter counter) {
+        return counters.get(counter.ordinal());
+    }
+
+    /**
+     * Gets the number of fetched resources.
+     *
+     * @return the number of fetched resources
+     */
+    public long getResourcesFetched() {
+        return resourcesFetched.get();
+    }
+
+    /**
+     * Gets the total number of bytes of the fetched resources.
+     *
+     * @return the number of bytes
+     */
+    public long getResourceBytes() {
+        return resourceBytes.get();
+    }
+
+    /**
+     * Gets the total duration of resource fetching.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getResourceFetchDuration() {
+        return resourceFetchDuration.get();
+    }
+
+    /**
+     * Resets all the collected metrics.
+     */
+    public void reset() {
+        for (int i = 0; i < stageDurations.length(); i++) {
+            stageDurations.set(i, 0);
+            stageRuns.set(i, 0);
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+        resourcesFetched.set(0);
+        resourceBytes.set(0);
+        resourceFetchDuration.set(0);
+    }
+}
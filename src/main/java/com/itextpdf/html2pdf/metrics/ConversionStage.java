@@ -0,0 +1,55 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.metrics;
+
+/**
+ * The stages of HTML to PDF conversion reported to {@link IConversionMetricsListener}.
+ */
+public enum ConversionStage {
+    /**
+     * Parsing of the source HTML into the DOM tree.
+     */
+    PARSING,
+    /**
+     * Collecting and parsing of the stylesheets of the document.
+     */
+    CSS_COLLECTION,
+    /**
+     * Resolution of the styles of all the elements. This time is a part of {@link #VISIT}.
+     */
+    STYLE_RESOLUTION,
+    /**
+     * Visiting the DOM tree by tag workers, including the style resolution and applying of CSS.
+     * If the conversion is done into a PDF document, this also includes the first layout pass,
+     * since the elements are laid out as soon as they are added to the document.
+     */
+    VISIT,
+    /**
+     * A single relayout pass of the whole document, e.g. required to resolve the {@code counter(pages)}.
+     */
+    RELAYOUT,
+    /**
+     * Closing of the document: drawing of the page margin boxes and writing of the PDF.
+     */
+    FLUSH
+}
@@ -0,0 +1,61 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.metrics;
+
+/**
+ * Listener which receives the metrics of HTML to PDF conversions.
+ * <p>
+ * The listener is registered via {@link com.itextpdf.html2pdf.ConverterProperties#setConversionMetricsListener}.
+ * Its methods are called synchronously from the converting thread, so implementations should be cheap, and
+ * if the same listener is used for several simultaneous conversions, implementations must be thread-safe.
+ * See {@link ConversionMetricsCollector} for the default implementation which aggregates all the metrics.
+ */
+public interface IConversionMetricsListener {
+
+    /**
+     * Called when a stage of the conversion is completed. Stages which are run several times
+     * (e.g. {@link ConversionStage#RELAYOUT}) are reported once per run.
+     *
+     * @param stage the completed stage
+     * @param durationNanos the duration of the stage in nanoseconds
+     */
+    void onStageCompleted(ConversionStage stage, long durationNanos);
+
+    /**
+     * Called when a counter of the conversion is incremented.
+     *
+     * @param counter the incremented counter
+     * @param delta the value the counter is incremented by
+     */
+    void onCounterIncremented(ConversionCounter counter, long delta);
+
+    /**
+     * Called when a resource (image, stylesheet, font, etc.) is fetched by the resource retriever.
+     * If the resource has been prefetched, the duration is the time the converting thread waited for it.
+     *
+     * @param url the URL of the resource
+     * @param bytes the number of fetched bytes
+     * @param durationNanos the duration of fetching in nanoseconds
+     */
+    void onResourceFetched(String url, long bytes, long durationNanos);
+}
@@ -0,0 +1,125 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.metrics;
+
+import com.itextpdf.styledxmlparser.resolver.resource.DefaultResourceRetriever;
+import com.itextpdf.styledxmlparser.resolver.resource.IResourceRetriever;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * {@link IResourceRetriever} which reports the fetched resources to {@link IConversionMetricsListener}
+ * and delegates the actual retrieving to another resource retriever.
+ */
+public class MetricsResourceRetriever implements IResourceRetriever {
+
+    private final IResourceRetriever retriever;
+
+    private final IConversionMetricsListener listener;
+
+    /**
+     * Creates a new {@link MetricsResourceRetriever} instance.
+     *
+     * @param retriever the resource retriever to delegate to, if null, {@link DefaultResourceRetriever} is used
+     * @param listener the listener to report the fetched resources to
+     */
+    public MetricsResourceRetriever(IResourceRetriever retriever, IConversionMetricsListener listener) {
+        this.retriever = retriever == null ? new DefaultResourceRetriever() : retriever;
+        this.listener = listener;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The resource is reported when the returned stream is closed.
+     */
+    @Override
+    public InputStream getInputStreamByUrl(URL url) throws IOException {
+        long start = System.nanoTime();
+        InputStream stream = retriever.getInputStreamByUrl(url);
+        return stream == null ? null : new ReportingInputStream(stream, url, start);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getByteArrayByUrl(URL url) throws IOException {
+        long start = System.nanoTime();
+        byte[] bytes = retriever.getByteArrayByUrl(url);
+        if (bytes != null) {
+            listener.onResourceFetched(url.toExternalForm(), bytes.length, System.nanoTime() - start);
+        }
+        return bytes;
+    }
+
+    private final class ReportingInputStream extends FilterInputStream {
+        private final URL url;
+        private final long start;
+        private long bytesRead;
+        private boolean reported;
+
+        ReportingInputStream(InputStream in, URL url, long start) {
+            super(in);
+            this.url = url;
+            this.start = start;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                ++bytesRead;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                bytesRead += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            bytesRead += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            if (!reported) {
+                reported = true;
+                listener.onResourceFetched(url.toExternalForm(), bytesRead, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.font;
+
+import com.itextpdf.html2pdf.util.BoundedLruCache;
+import com.itextpdf.io.font.FontProgram;
+
+/**
+ * Default size-bounded implementation of the {@link IFontProgramCache} interface.
+ * <p>
+ * When the maximum number of keys is reached, the least recently used one is evicted. Fonts are cached both by
+ * their resolved URL and by the hash of their content, so a changed remote font will not be refetched until it is
+ * evicted or the cache is cleared, while the same font loaded from different URLs is parsed only once.
+ * The class is thread-safe.
+ */
+public class FontProgramCache implements IFontProgramCache {
+
+    /**
+     * Default maximum number of cached keys.
+     */
+    public static final int DEFAULT_MAX_SIZE = 128;
+
+    private final BoundedLruCache<FontProgram> fontPrograms;
+
+    /**
+     * Creates a new {@link FontProgramCache} instance with {@link #DEFAULT_MAX_SIZE} maximum size.
+     */
+    public FontProgramCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new {@link FontProgramCache} instance.
+     *
+     * @param maxSize the maximum number of cached keys
+     */
+    public FontProgramCache(int maxSize) {
+        this.fontPrograms = new BoundedLruCache<FontProgram>(maxSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FontProgram getFontProgram(String key) {
+        return fontPrograms.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putFontProgram(String key, FontProgram fontProgram) {
+        fontPrograms.put(key, fontProgram);
+    }
+
+    /**
+     * Gets the number of successful cache lookups.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return fontPrograms.getHitCount();
+    }
+
+    /**
+     * Gets the number of unsuccessful cache lookups.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return fontPrograms.getMissCount();
+    }
+
+    /**
+     * Gets the number of currently cached keys.
+     *
+     * @return the number of cached keys
+     */
+    public int size() {
+        return fontPrograms.size();
+    }
+
+    /**
+     * Removes all the fonts from the cache and resets hit and miss counters.
+     */
+    public void clear() {
+        fontPrograms.clear();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.font;
+
+import com.itextpdf.commons.datastructures.Tuple2;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.layout.font.FontCharacteristics;
+import com.itextpdf.layout.font.FontInfo;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSelector;
+import com.itextpdf.layout.font.FontSet;
+import com.itextpdf.layout.font.selectorstrategy.IFontSelectorStrategy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link FontProvider} which delegates to another font provider and caches the glyph lines selected
+ * for every text, so that the fonts are not selected and the text is not converted to glyphs again
+ * when the same text is laid out once more, e.g. during the relayout caused by {@code counter(pages)}.
+ * <p>
+ * The cached glyph lines are copied every time they are returned, since text renderers modify them.
+ * This class is not reusable and a new instance shall be created for every new conversion process,
+ * the cache is cleared when the font provider is {@link #reset()}.
+ */
+public class GlyphSelectionCachingFontProvider extends FontProvider {
+
+    private final FontProvider fontProvider;
+
+    private final Map<GlyphSelectionKey, List<Tuple2<GlyphLine, PdfFont>>> glyphLines = new HashMap<>();
+
+    private long hitCount = 0;
+
+    /**
+     * Creates a new {@link GlyphSelectionCachingFontProvider} instance.
+     *
+     * @param fontProvider the font provider to delegate to
+     */
+    public GlyphSelectionCachingFontProvider(FontProvider fontProvider) {
+        super(fontProvider.getFontSet(), fontProvider.getDefaultFontFamily());
+        this.fontProvider = fontProvider;
+    }
+
+    /**
+     * Gets the font provider this instance delegates to.
+     *
+     * @return the wrapped {@link FontProvider} instance
+     */
+    public FontProvider getFontProvider() {
+        return fontProvider;
+    }
+
+    @Override
+    public FontSelector getFontSelector(List<String> fontFamilies, FontCharacteristics fc, FontSet additionalFonts) {
+        return fontProvider.getFontSelector(fontFamilies, fc, additionalFonts);
+    }
+
+    @Override
+    public IFontSelectorStrategy createFontSelectorStrategy(List<String> fontFamilies, FontCharacteristics fc,
+            FontSet additionalFonts) {
+        return new CachingFontSelectorStrategy(fontFamilies, fc, additionalFonts);
+    }
+
+    @Override
+    public PdfFont getPdfFont(FontInfo fontInfo) {
+        return fontProvider.getPdfFont(fontInfo);
+    }
+
+    @Override
+    public PdfFont getPdfFont(FontInfo fontInfo, FontSet additionalFonts) {
+        return fontProvider.getPdfFont(fontInfo, additionalFonts);
+    }
+
+    @Override
+    public void reset() {
+        fontProvider.reset();
+        glyphLines.clear();
+        hitCount = 0;
+    }
+
+    /**
+     * Gets the number of texts whose glyph lines have been taken from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of cached texts.
+     *
+     * @return the number of cached texts
+     */
+    public int size() {
+        return glyphLines.size();
+    }
+
+    private static List<Tuple2<GlyphLine, PdfFont>> copyGlyphLines(List<Tuple2<GlyphLine, PdfFont>> glyphLines) {
+        List<Tuple2<GlyphLine, PdfFont>> copy = new ArrayList<>(glyphLines.size());
+        for (Tuple2<GlyphLine, PdfFont> glyphLine : glyphLines) {
+            GlyphLine line = glyphLine.getFirst();
+            GlyphLine lineCopy = line.copy(line.getStart(), line.getEnd());
+            for (int i = 0; i < lineCopy.size(); i++) {
+                lineCopy.set(i, new Glyph(lineCopy.get(i)));
+            }
+            copy.add(new Tuple2<>(lineCopy, glyphLine.getSecond()));
+        }
+        return copy;
+    }
+
+    private final class CachingFontSelectorStrategy implements IFontSelectorStrategy {
+        private final List<String> fontFamilies;
+        private final FontCharacteristics fc;
+        private final FontSet additionalFonts;
+        private IFontSelectorStrategy strategy;
+
+        CachingFontSelectorStrategy(List<String> fontFamilies, FontCharacteristics fc, FontSet additionalFonts) {
+            this.fontFamilies = fontFamilies;
+            this.fc = fc;
+            this.additionalFonts = additionalFonts;
+        }
+
+        @Override
+        public List<Tuple2<GlyphLine, PdfFont>> getGlyphLines(String text) {
+            GlyphSelectionKey key = new GlyphSelectionKey(text, fontFamilies, fc, getFontSet(), additionalFonts);
+            List<Tuple2<GlyphLine, PdfFont>> cached = glyphLines.get(key);
+            if (cached != null) {
+                ++hitCount;
+            } else {
+                if (strategy == null) {
+                    strategy = fontProvider.createFontSelectorStrategy(fontFamilies, fc, additionalFonts);
+                }
+                cached = copyGlyphLines(strategy.getGlyphLines(text));
+                glyphLines.put(key, cached);
+            }
+            return copyGlyphLines(cached);
+        }
+    }
+
+    private static final class GlyphSelectionKey {
+        private final String text;
+        private final List<String> fontFamilies;
+        private final FontCharacteristics fc;
+        private final FontSet additionalFonts;
+        // Fonts may be added to the font sets during the conversion, e.g. lazily loaded @font-face fonts
+        private final int fontSetSize;
+        private final int additionalFontsSize;
+        private final int hashCode;
+
+        GlyphSelectionKey(String text, List<String> fontFamilies, FontCharacteristics fc, FontSet fontSet,
+                FontSet additionalFonts) {
+            this.text = text;
+            this.fontFamilies = new ArrayList<>(fontFamilies);
+            this.fc = fc;
+            this.additionalFonts = additionalFonts;
+            this.fontSetSize = fontSet.size();
+            this.additionalFontsSize = additionalFonts == null ? 0 : additionalFonts.size();
+            this.hashCode = Objects.hash(text, this.fontFamilies, fc, fontSetSize, additionalFontsSize)
+                    + 31 * System.identityHashCode(additionalFonts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            GlyphSelectionKey that = (GlyphSelectionKey) o;
+            return additionalFonts == that.additionalFonts && fontSetSize == that.fontSetSize
+                    && additionalFontsSize == that.additionalFontsSize && text.equals(that.text)
+                    && fontFamilies.equals(that.fontFamilies) && Objects.equals(fc, that.fc);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.font;
+
+import com.itextpdf.io.font.FontProgram;
+
+/**
+ * {@link IFontProgramCache} interface is used for sharing parsed {@link FontProgram} instances of
+ * {@code @font-face} fonts between conversions, so that the same web font is parsed only once.
+ * <p>
+ * Cached {@link FontProgram} instances are shared and thus must never be modified.
+ * Implementations are supposed to be thread-safe since a single cache instance may be used
+ * by several simultaneous conversions.
+ */
+public interface IFontProgramCache {
+
+    /**
+     * Gets the font program by its key.
+     *
+     * @param key the resolved URL of the font, or a key based on the content hash of the font
+     * @return the cached {@link FontProgram} instance or null if there is no such font in the cache
+     */
+    FontProgram getFontProgram(String key);
+
+    /**
+     * Puts the font program into the cache.
+     *
+     * @param key the resolved URL of the font, or a key based on the content hash of the font
+     * @param fontProgram the parsed {@link FontProgram} instance
+     */
+    void putFontProgram(String key, FontProgram fontProgram);
+}
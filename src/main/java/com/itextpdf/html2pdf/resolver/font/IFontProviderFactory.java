@@ -0,0 +1,42 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.font;
+
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSet;
+
+/**
+ * A factory creating per-conversion {@link FontProvider} instances over a {@link FontSet}
+ * shared between conversions, see {@link com.itextpdf.html2pdf.HtmlConverterEngine}.
+ */
+public interface IFontProviderFactory {
+
+    /**
+     * Creates a new {@link FontProvider} instance to be used for a single conversion.
+     *
+     * @param fontSet           the shared {@link FontSet}, fonts must not be added to it
+     * @param defaultFontFamily the default font family
+     * @return the {@link FontProvider} instance
+     */
+    FontProvider createFontProvider(FontSet fontSet, String defaultFontFamily);
+}
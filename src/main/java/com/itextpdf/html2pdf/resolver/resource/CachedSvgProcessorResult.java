@@ -0,0 +1,72 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.svg.processors.ISvgProcessorResult;
+import com.itextpdf.svg.renderers.ISvgNodeRenderer;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The part of an {@link ISvgProcessorResult} which is shared between conversions by {@link ISvgProcessorResultCache}:
+ * the root renderer and the named objects.
+ * <p>
+ * The processor context of the result is not kept, since it references the font provider, the resource retriever
+ * and the stylesheet of the conversion which has processed the image.
+ */
+public final class CachedSvgProcessorResult {
+
+    private final ISvgNodeRenderer rootRenderer;
+
+    private final Map<String, ISvgNodeRenderer> namedObjects;
+
+    /**
+     * Creates a new {@link CachedSvgProcessorResult} instance from the processing result.
+     *
+     * @param result the {@link ISvgProcessorResult} instance
+     */
+    CachedSvgProcessorResult(ISvgProcessorResult result) {
+        this.rootRenderer = result.getRootRenderer();
+        this.namedObjects = Collections.unmodifiableMap(new HashMap<>(result.getNamedObjects()));
+    }
+
+    /**
+     * Gets the root renderer of the processed SVG image.
+     *
+     * @return the root {@link ISvgNodeRenderer} instance
+     */
+    public ISvgNodeRenderer getRootRenderer() {
+        return rootRenderer;
+    }
+
+    /**
+     * Gets the renderers of the named objects of the processed SVG image.
+     *
+     * @return the unmodifiable map of the named objects
+     */
+    public Map<String, ISvgNodeRenderer> getNamedObjects() {
+        return namedObjects;
+    }
+}
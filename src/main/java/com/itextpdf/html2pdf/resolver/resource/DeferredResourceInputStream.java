@@ -0,0 +1,99 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.styledxmlparser.resolver.resource.IResourceRetriever;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * {@link InputStream} which retrieves the resource only when it is read for the first time and releases it
+ * as soon as the end of the resource is reached, so that streams created for many resources in advance
+ * don't hold the resources open.
+ */
+final class DeferredResourceInputStream extends InputStream {
+
+    private final IResourceRetriever retriever;
+
+    private final URL url;
+
+    private InputStream stream;
+
+    private boolean finished;
+
+    DeferredResourceInputStream(IResourceRetriever retriever, URL url) {
+        this.retriever = retriever;
+        this.url = url;
+    }
+
+    @Override
+    public int read() throws IOException {
+        InputStream current = getStream();
+        if (current == null) {
+            return -1;
+        }
+        int b = current.read();
+        if (b < 0) {
+            close();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        InputStream current = getStream();
+        if (current == null) {
+            return -1;
+        }
+        int read = current.read(b, off, len);
+        if (read < 0) {
+            close();
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        if (stream != null) {
+            InputStream toClose = stream;
+            stream = null;
+            toClose.close();
+        }
+    }
+
+    private InputStream getStream() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (stream == null) {
+            stream = retriever.getInputStreamByUrl(url);
+            if (stream == null) {
+                throw new IOException("Resource " + url + " can't be retrieved");
+            }
+        }
+        return stream;
+    }
+}
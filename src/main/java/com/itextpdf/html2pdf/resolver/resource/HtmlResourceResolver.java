@@ -26,19 +26,32 @@ import com.itextpdf.commons.utils.EncodingUtil;
 import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.html2pdf.attach.ProcessorContext;
 import com.itextpdf.html2pdf.attach.util.ContextMappingHelper;
+import com.itextpdf.html2pdf.util.ContentHashUtil;
 import com.itextpdf.html2pdf.util.SvgProcessingUtil;
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfStream;
 import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.kernel.pdf.xobject.PdfXObject;
 import com.itextpdf.styledxmlparser.resolver.resource.IResourceRetriever;
 import com.itextpdf.styledxmlparser.resolver.resource.ResourceResolver;
-import com.itextpdf.svg.converter.SvgConverter;
 import com.itextpdf.svg.processors.ISvgProcessorResult;
 import com.itextpdf.svg.processors.impl.SvgConverterProperties;
+import com.itextpdf.svg.xobject.SvgImageXObject;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
@@ -49,8 +62,14 @@ public class HtmlResourceResolver extends ResourceResolver {
     private static final String SVG_PREFIX = "data:image/svg+xml";
     private static final Pattern SVG_IDENTIFIER_PATTERN = Pattern.compile(",[\\s]*(<svg )");
 
+    private static final String FILE_PROTOCOL = "file";
+    private static final int HEADER_BUFFER_SIZE = 8192;
+    private static final String BASE64_IMAGE_KEY_PREFIX = "base64-sha256:";
+
     private final ProcessorContext context;
 
+    private final Map<String, PdfXObject> cachedBase64Images = new HashMap<>();
+
     /**
      * Creates a new {@link HtmlResourceResolver} instance.
      * If {@code baseUri} is a string that represents an absolute URI with any schema
@@ -96,6 +115,15 @@ public class HtmlResourceResolver extends ResourceResolver {
         return super.retrieveImage(src);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetCache() {
+        super.resetCache();
+        cachedBase64Images.clear();
+    }
+
     /**
      * Retrieve image as either {@link com.itextpdf.kernel.pdf.xobject.PdfImageXObject}, or {@link PdfFormXObject}.
      *
@@ -108,12 +136,18 @@ public class HtmlResourceResolver extends ResourceResolver {
         if (fixedSrc.startsWith(SVG_PREFIX)) {
             fixedSrc = fixedSrc.substring(fixedSrc.indexOf(BASE64_IDENTIFIER) + BASE64_IDENTIFIER.length() + 1);
             try (ByteArrayInputStream stream = new ByteArrayInputStream(EncodingUtil.fromBase64(fixedSrc))) {
-                PdfFormXObject xObject = HtmlResourceResolver.processAsSvg(stream, context, null);
+                PdfFormXObject xObject = HtmlResourceResolver.processAsSvg(SvgImageCache.createContentKey(fixedSrc),
+                        stream, context, null);
                 if (xObject != null) {
                     return xObject;
                 }
             } catch (Exception ignored) {
             }
+        } else if (context.getImageDataCache() != null) {
+            PdfXObject xObject = tryResolveCachedBase64ImageSource(fixedSrc);
+            if (xObject != null) {
+                return xObject;
+            }
         }
         return super.tryResolveBase64ImageSource(src);
     }
@@ -121,17 +155,115 @@ public class HtmlResourceResolver extends ResourceResolver {
     @Override
     protected PdfXObject createImageByUrl(URL url) throws Exception {
         try {
-            return super.createImageByUrl(url);
+            PdfXObject streamedImage = tryCreateStreamedImage(url);
+            if (streamedImage != null) {
+                return streamedImage;
+            }
+            IImageDataCache imageDataCache = context.getImageDataCache();
+            if (imageDataCache == null) {
+                return super.createImageByUrl(url);
+            }
+            String key = url.toExternalForm();
+            ImageData imageData = imageDataCache.getImageData(key);
+            if (imageData == null) {
+                byte[] bytes = getRetriever().getByteArrayByUrl(url);
+                if (bytes == null) {
+                    return null;
+                }
+                imageData = ImageDataFactory.create(bytes);
+                imageDataCache.putImageData(key, imageData);
+            }
+            return new PdfImageXObject(imageData);
         } catch (Exception ignored) {
             try (InputStream is = getRetriever().getInputStreamByUrl(url)) {
-                return is == null ? null : HtmlResourceResolver.processAsSvg(is, context, FileUtil.parentDirectory(url));
+                return is == null ? null : HtmlResourceResolver.processAsSvg(url.toExternalForm(), is, context,
+                        FileUtil.parentDirectory(url));
             }
         }
     }
 
+    /**
+     * Creates the image XObject whose content is streamed from the resource straight into the PDF when the
+     * XObject is flushed, so that only the image header is read during the conversion. This is done only for
+     * local JPEG and JPEG 2000 files which are not smaller than the image streaming threshold and which can be
+     * embedded without decoding.
+     *
+     * @param url the URL of the image
+     * @return the image XObject, or null if the image shall be processed the usual way
+     */
+    private PdfXObject tryCreateStreamedImage(URL url) {
+        long threshold = context.getImageStreamingThreshold();
+        PdfDocument pdfDocument = context.getPdfDocument();
+        if (threshold < 0 || pdfDocument == null || !FILE_PROTOCOL.equals(url.getProtocol())
+                || pdfDocument.getConformance().isPdfA()) {
+            // PDF/A checks need the content of the images, which isn't available until the stream is flushed
+            return null;
+        }
+        PassThroughImageHeader header;
+        try {
+            File file = new File(url.toURI());
+            if (!file.isFile() || file.length() < threshold) {
+                return null;
+            }
+            // The header is read through the retriever so that its access restrictions are respected
+            try (InputStream is = getRetriever().getInputStreamByUrl(url)) {
+                header = is == null ? null
+                        : PassThroughImageHeader.read(new BufferedInputStream(is, HEADER_BUFFER_SIZE));
+            }
+        } catch (Exception ignored) {
+            return null;
+        }
+        if (header == null) {
+            return null;
+        }
+        PdfStream stream = new PdfStream(pdfDocument, new DeferredResourceInputStream(getRetriever(), url),
+                CompressionConstants.NO_COMPRESSION);
+        stream.put(PdfName.Type, PdfName.XObject);
+        stream.put(PdfName.Subtype, PdfName.Image);
+        stream.put(PdfName.Width, new PdfNumber(header.getWidth()));
+        stream.put(PdfName.Height, new PdfNumber(header.getHeight()));
+        stream.put(PdfName.Filter, header.getFilter());
+        if (PdfName.DCTDecode.equals(header.getFilter())) {
+            // JPEG 2000 images define the color space and the bits per component themselves
+            stream.put(PdfName.BitsPerComponent, new PdfNumber(header.getBitsPerComponent()));
+            stream.put(PdfName.ColorSpace, header.getComponents() == 1 ? PdfName.DeviceGray : PdfName.DeviceRGB);
+        }
+        return new PdfImageXObject(stream);
+    }
+
+    /**
+     * Resolves the base64 encoded raster image using the shared {@link IImageDataCache}. Since the same
+     * image may be embedded with different URIs, the images are keyed by the hash of their content.
+     *
+     * @param fixedSrc the base64 encoded image without whitespaces
+     * @return the image XObject, or null if the image can't be decoded
+     */
+    private PdfXObject tryResolveCachedBase64ImageSource(String fixedSrc) {
+        String base64Data = fixedSrc.substring(fixedSrc.indexOf(BASE64_IDENTIFIER) + BASE64_IDENTIFIER.length() + 1);
+        try {
+            String key = BASE64_IMAGE_KEY_PREFIX + ContentHashUtil.computeSha256(base64Data);
+            PdfXObject xObject = cachedBase64Images.get(key);
+            if (xObject == null) {
+                ImageData imageData = context.getImageDataCache().getImageData(key);
+                if (imageData == null) {
+                    imageData = ImageDataFactory.create(EncodingUtil.fromBase64(base64Data));
+                    context.getImageDataCache().putImageData(key, imageData);
+                }
+                xObject = new PdfImageXObject(imageData);
+                cachedBase64Images.put(key, xObject);
+            }
+            return xObject;
+        } catch (Exception ignored) {
+            //Falls back to the resolving without the shared cache
+        }
+        return null;
+    }
+
+
     private PdfXObject tryResolveSvgImageSource(String src) {
         try (ByteArrayInputStream stream = new ByteArrayInputStream(src.getBytes(StandardCharsets.UTF_8))) {
-            PdfFormXObject xObject = HtmlResourceResolver.processAsSvg(stream, context, null);
+            PdfFormXObject xObject = HtmlResourceResolver.processAsSvg(SvgImageCache.createContentKey(src), stream,
+                    context, null);
             if (xObject != null) {
                 return xObject;
             }
@@ -141,13 +273,21 @@ public class HtmlResourceResolver extends ResourceResolver {
         return null;
     }
 
-    private static PdfFormXObject processAsSvg(InputStream stream, ProcessorContext context, String parentDir) {
+    private static PdfFormXObject processAsSvg(String sourceKey, InputStream stream, ProcessorContext context,
+            String parentDir) {
+        SvgImageCache svgImageCache = context.getSvgImageCache();
+        SvgImageXObject cachedXObject = svgImageCache.getImageXObject(sourceKey, false, context);
+        if (cachedXObject != null) {
+            return cachedXObject;
+        }
         SvgConverterProperties svgConverterProperties = ContextMappingHelper.mapToSvgConverterProperties(context);
         if (parentDir != null) {
             svgConverterProperties.setBaseUri(parentDir);
         }
-        ISvgProcessorResult res = SvgConverter.parseAndProcess(stream, svgConverterProperties);
+        ISvgProcessorResult res = svgImageCache.process(sourceKey, stream, svgConverterProperties);
         SvgProcessingUtil processingUtil = new SvgProcessingUtil(context.getResourceResolver());
-        return processingUtil.createXObjectFromProcessingResult(res, context, true);
+        SvgImageXObject xObject = processingUtil.createXObjectFromProcessingResult(res, context, true);
+        svgImageCache.putImageXObject(sourceKey, false, context, res, xObject);
+        return xObject;
     }
 }
@@ -0,0 +1,55 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.io.image.ImageData;
+
+/**
+ * {@link IImageDataCache} interface is used for sharing decoded {@link ImageData} instances
+ * between conversions, so that the same image is retrieved and decoded only once, while every
+ * new PDF document gets its own image XObject created from the cached data.
+ * <p>
+ * Cached {@link ImageData} instances are shared and thus must never be modified.
+ * Implementations are supposed to be thread-safe since a single cache instance may be used
+ * by several simultaneous conversions.
+ */
+public interface IImageDataCache {
+
+    /**
+     * Gets the decoded image by its key.
+     *
+     * @param key the resolved URL of the image, or a key based on the content hash for images
+     *            embedded as base64 data
+     * @return the cached {@link ImageData} instance or null if there is no such image in the cache
+     */
+    ImageData getImageData(String key);
+
+    /**
+     * Puts the decoded image into the cache.
+     *
+     * @param key the resolved URL of the image, or a key based on the content hash for images
+     *            embedded as base64 data
+     * @param imageData the decoded {@link ImageData} instance
+     */
+    void putImageData(String key, ImageData imageData);
+}
@@ -0,0 +1,55 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.svg.processors.ISvgProcessorResult;
+
+/**
+ * {@link ISvgProcessorResultCache} interface is used for sharing the processing results of SVG images
+ * between conversions, so that the same SVG image is parsed and processed only once. Only the renderer trees
+ * are shared, see {@link CachedSvgProcessorResult}, so the cache doesn't keep any {@link ISvgProcessorResult}
+ * context alive.
+ * <p>
+ * Cached renderer trees are never drawn directly: every conversion gets a deep copy
+ * of the cached renderer tree, thus the cached instances must never be modified.
+ * Implementations are supposed to be thread-safe since a single cache instance may be used
+ * by several simultaneous conversions.
+ */
+public interface ISvgProcessorResultCache {
+
+    /**
+     * Gets the processing result of the SVG image.
+     *
+     * @param key the key which identifies the SVG source and the context it has been processed in
+     * @return the cached {@link CachedSvgProcessorResult} instance or null if there is no such result in the cache
+     */
+    CachedSvgProcessorResult getProcessorResult(String key);
+
+    /**
+     * Puts the processing result of the SVG image into the cache.
+     *
+     * @param key the key which identifies the SVG source and the context it has been processed in
+     * @param result the {@link CachedSvgProcessorResult} instance
+     */
+    void putProcessorResult(String key, CachedSvgProcessorResult result);
+}
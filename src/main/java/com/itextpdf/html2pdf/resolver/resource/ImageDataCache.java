@@ -0,0 +1,145 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.html2pdf.util.BoundedLruCache;
+import com.itextpdf.io.image.ImageData;
+
+/**
+ * Default implementation of the {@link IImageDataCache} interface, bounded by the total size of the cached images.
+ * <p>
+ * When the maximum total size is reached, the least recently used images are evicted. Optionally, the images
+ * expire after the specified time to live, so that changed remote images are eventually retrieved again.
+ * The size of an image is estimated by the size of its data and the data of its mask. The class is thread-safe.
+ */
+public class ImageDataCache implements IImageDataCache {
+
+    /**
+     * Default maximum total size of the cached images in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE_IN_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * The time to live value meaning that the cached images never expire.
+     */
+    public static final long NO_EXPIRATION = BoundedLruCache.NO_EXPIRATION;
+
+    private final BoundedLruCache<ImageData> images;
+
+    /**
+     * Creates a new {@link ImageDataCache} instance with {@link #DEFAULT_MAX_SIZE_IN_BYTES} maximum size
+     * and without expiration.
+     */
+    public ImageDataCache() {
+        this(DEFAULT_MAX_SIZE_IN_BYTES);
+    }
+
+    /**
+     * Creates a new {@link ImageDataCache} instance without expiration.
+     *
+     * @param maxSizeInBytes the maximum total size of the cached images in bytes
+     */
+    public ImageDataCache(long maxSizeInBytes) {
+        this(maxSizeInBytes, NO_EXPIRATION);
+    }
+
+    /**
+     * Creates a new {@link ImageDataCache} instance.
+     *
+     * @param maxSizeInBytes the maximum total size of the cached images in bytes
+     * @param timeToLiveMillis the time in milliseconds after which a cached image expires,
+     *                         or {@link #NO_EXPIRATION} if the cached images never expire
+     */
+    public ImageDataCache(long maxSizeInBytes, long timeToLiveMillis) {
+        this.images = new BoundedLruCache<ImageData>(maxSizeInBytes, timeToLiveMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImageData getImageData(String key) {
+        return images.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putImageData(String key, ImageData imageData) {
+        if (imageData != null) {
+            images.put(key, imageData, estimateSize(imageData));
+        }
+    }
+
+    /**
+     * Gets the number of successful cache lookups.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return images.getHitCount();
+    }
+
+    /**
+     * Gets the number of unsuccessful cache lookups.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return images.getMissCount();
+    }
+
+    /**
+     * Gets the number of currently cached images.
+     *
+     * @return the number of cached images
+     */
+    public int size() {
+        return images.size();
+    }
+
+    /**
+     * Gets the estimated total size of the currently cached images.
+     *
+     * @return the size of the cached images in bytes
+     */
+    public long getSizeInBytes() {
+        return images.getWeight();
+    }
+
+    /**
+     * Removes all the images from the cache and resets hit and miss counters.
+     */
+    public void clear() {
+        images.clear();
+    }
+
+    private static long estimateSize(ImageData imageData) {
+        long size = imageData.getData() == null ? 0 : imageData.getData().length;
+        if (imageData.getImageMask() != null && imageData.getImageMask() != imageData) {
+            size += estimateSize(imageData.getImageMask());
+        }
+        return size;
+    }
+}
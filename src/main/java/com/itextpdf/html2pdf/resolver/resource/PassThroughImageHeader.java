@@ -0,0 +1,265 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.kernel.pdf.PdfName;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The header of an image which can be embedded into a PDF as is, i.e. without decoding: a JPEG image
+ * (DCTDecode filter) or a JPEG 2000 image (JPXDecode filter).
+ * <p>
+ * Only the images which need no information except the header to be embedded are recognized:
+ * baseline or progressive 8-bit JPEG images with one or three components and without embedded ICC profile
+ * or Adobe color transform marker, and JPEG 2000 images with one or three components.
+ */
+final class PassThroughImageHeader {
+
+    private static final int JPEG_SOI = 0xD8;
+    private static final int JPEG_SOF0 = 0xC0;
+    private static final int JPEG_SOF1 = 0xC1;
+    private static final int JPEG_SOF2 = 0xC2;
+    private static final int JPEG_SOF15 = 0xCF;
+    private static final int JPEG_DHT = 0xC4;
+    private static final int JPEG_JPG = 0xC8;
+    private static final int JPEG_DAC = 0xCC;
+    private static final int JPEG_RST0 = 0xD0;
+    private static final int JPEG_RST7 = 0xD7;
+    private static final int JPEG_SOS = 0xDA;
+    private static final int JPEG_APP2 = 0xE2;
+    private static final int JPEG_APP14 = 0xEE;
+    private static final int JPEG_TEM = 0x01;
+
+    private static final byte[] ICC_PROFILE_ID = new byte[] {'I', 'C', 'C', '_', 'P', 'R', 'O', 'F', 'I', 'L', 'E'};
+    private static final byte[] ADOBE_ID = new byte[] {'A', 'd', 'o', 'b', 'e'};
+
+    private static final int JP2_SIGNATURE_BOX_TYPE = 0x6A502020;
+    private static final int JP2_HEADER_BOX_TYPE = 0x6A703268;
+    private static final int JP2_IMAGE_HEADER_BOX_TYPE = 0x69686472;
+    private static final int JP2_CONTIGUOUS_CODESTREAM_BOX_TYPE = 0x6A703263;
+    private static final int J2K_SOC = 0xFF4F;
+    private static final int J2K_SIZ = 0xFF51;
+
+    private final PdfName filter;
+    private final int width;
+    private final int height;
+    private final int components;
+    private final int bitsPerComponent;
+
+    private PassThroughImageHeader(PdfName filter, int width, int height, int components, int bitsPerComponent) {
+        this.filter = filter;
+        this.width = width;
+        this.height = height;
+        this.components = components;
+        this.bitsPerComponent = bitsPerComponent;
+    }
+
+    /**
+     * Reads the header of the image from the beginning of the stream. The stream is read only up to the
+     * information needed.
+     *
+     * @param stream the stream of the image
+     * @return the image header, or null if the image isn't a supported JPEG or JPEG 2000 image
+     * @throws IOException if the stream can't be read
+     */
+    static PassThroughImageHeader read(InputStream stream) throws IOException {
+        int first = stream.read();
+        int second = stream.read();
+        if (first == 0xFF && second == JPEG_SOI) {
+            return readJpeg(stream);
+        }
+        if (first == 0 && second == 0) {
+            return readJp2(stream);
+        }
+        if (((first << 8) | second) == J2K_SOC) {
+            return readCodestream(stream);
+        }
+        return null;
+    }
+
+    PdfName getFilter() {
+        return filter;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    int getComponents() {
+        return components;
+    }
+
+    int getBitsPerComponent() {
+        return bitsPerComponent;
+    }
+
+    private static PassThroughImageHeader readJpeg(InputStream stream) throws IOException {
+        while (true) {
+            int marker = readJpegMarker(stream);
+            if (marker == JPEG_TEM || marker == JPEG_SOI || (marker >= JPEG_RST0 && marker <= JPEG_RST7)) {
+                continue;
+            }
+            int length = readUnsignedShort(stream) - 2;
+            if (marker == JPEG_SOF0 || marker == JPEG_SOF1 || marker == JPEG_SOF2) {
+                int precision = readUnsignedByte(stream);
+                int height = readUnsignedShort(stream);
+                int width = readUnsignedShort(stream);
+                int components = readUnsignedByte(stream);
+                if (precision != 8 || height == 0 || width == 0 || (components != 1 && components != 3)) {
+                    return null;
+                }
+                return new PassThroughImageHeader(PdfName.DCTDecode, width, height, components, precision);
+            }
+            if ((marker > JPEG_SOF2 && marker <= JPEG_SOF15 && marker != JPEG_DHT && marker != JPEG_JPG
+                    && marker != JPEG_DAC) || marker == JPEG_SOS) {
+                // Arithmetic, lossless and hierarchical images, or no frame header before the scan
+                return null;
+            }
+            int consumed = 0;
+            if (marker == JPEG_APP2 || marker == JPEG_APP14) {
+                byte[] id = marker == JPEG_APP2 ? ICC_PROFILE_ID : ADOBE_ID;
+                if (startsWith(stream, id, length)) {
+                    // Color profile and color transform have to be taken into account when embedding
+                    return null;
+                }
+                consumed = Math.min(length, id.length);
+            }
+            skipFully(stream, length - consumed);
+        }
+    }
+
+    private static int readJpegMarker(InputStream stream) throws IOException {
+        int b = readUnsignedByte(stream);
+        if (b != 0xFF) {
+            throw new IOException("JPEG marker expected");
+        }
+        while (b == 0xFF) {
+            b = readUnsignedByte(stream);
+        }
+        return b;
+    }
+
+    private static boolean startsWith(InputStream stream, byte[] prefix, int length) throws IOException {
+        int toRead = Math.min(length, prefix.length);
+        boolean matches = toRead == prefix.length;
+        for (int i = 0; i < toRead; ++i) {
+            matches = (readUnsignedByte(stream) == prefix[i]) && matches;
+        }
+        return matches;
+    }
+
+    private static PassThroughImageHeader readJp2(InputStream stream) throws IOException {
+        // The first two bytes of the signature box length have already been read
+        if (readUnsignedShort(stream) != 12 || readInt(stream) != JP2_SIGNATURE_BOX_TYPE) {
+            return null;
+        }
+        skipFully(stream, 4);
+        boolean inHeaderBox = false;
+        while (true) {
+            long length = readInt(stream) & 0xFFFFFFFFL;
+            int type = readInt(stream);
+            long contentLength = length - 8;
+            if (length == 1) {
+                contentLength = readLong(stream) - 16;
+            }
+            if (type == JP2_HEADER_BOX_TYPE) {
+                inHeaderBox = true;
+                continue;
+            }
+            if (type == JP2_IMAGE_HEADER_BOX_TYPE && inHeaderBox) {
+                int height = readInt(stream);
+                int width = readInt(stream);
+                int components = readUnsignedShort(stream);
+                int bitsPerComponent = (readUnsignedByte(stream) & 0x7F) + 1;
+                return createJpxHeader(width, height, components, bitsPerComponent);
+            }
+            if (type == JP2_CONTIGUOUS_CODESTREAM_BOX_TYPE || length == 0) {
+                return null;
+            }
+            skipFully(stream, contentLength);
+        }
+    }
+
+    private static PassThroughImageHeader readCodestream(InputStream stream) throws IOException {
+        if (readUnsignedShort(stream) != J2K_SIZ) {
+            return null;
+        }
+        // Lsiz and Rsiz
+        skipFully(stream, 4);
+        long xSize = readInt(stream) & 0xFFFFFFFFL;
+        long ySize = readInt(stream) & 0xFFFFFFFFL;
+        long xOffset = readInt(stream) & 0xFFFFFFFFL;
+        long yOffset = readInt(stream) & 0xFFFFFFFFL;
+        // Tile sizes and offsets
+        skipFully(stream, 16);
+        int components = readUnsignedShort(stream);
+        int bitsPerComponent = (readUnsignedByte(stream) & 0x7F) + 1;
+        return createJpxHeader((int) (xSize - xOffset), (int) (ySize - yOffset), components, bitsPerComponent);
+    }
+
+    private static PassThroughImageHeader createJpxHeader(int width, int height, int components,
+            int bitsPerComponent) {
+        if (width <= 0 || height <= 0 || (components != 1 && components != 3)) {
+            return null;
+        }
+        return new PassThroughImageHeader(PdfName.JPXDecode, width, height, components, bitsPerComponent);
+    }
+
+    private static int readUnsignedByte(InputStream stream) throws IOException {
+        int b = stream.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return b;
+    }
+
+    private static int readUnsignedShort(InputStream stream) throws IOException {
+        return (readUnsignedByte(stream) << 8) | readUnsignedByte(stream);
+    }
+
+    private static int readInt(InputStream stream) throws IOException {
+        return (readUnsignedShort(stream) << 16) | readUnsignedShort(stream);
+    }
+
+    private static long readLong(InputStream stream) throws IOException {
+        return ((long) readInt(stream) << 32) | (readInt(stream) & 0xFFFFFFFFL);
+    }
+
+    private static void skipFully(InputStream stream, long count) throws IOException {
+        while (count > 0) {
+            long skipped = stream.skip(count);
+            if (skipped <= 0) {
+                readUnsignedByte(stream);
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.styledxmlparser.resolver.resource.DefaultResourceRetriever;
+import com.itextpdf.styledxmlparser.resolver.resource.IResourceRetriever;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link IResourceRetriever} which allows to fetch resources in advance on the passed {@link ExecutorService}
+ * and delegates the actual retrieving to another resource retriever.
+ * <p>
+ * The prefetched resources are kept in memory until {@link #clear()} is called. Resources which were not
+ * prefetched are retrieved by the delegate retriever on demand. If the executor hasn't started the fetching
+ * of a requested resource yet, the resource is retrieved on the requesting thread instead of waiting for
+ * the executor, so the same executor may be used for conversions and for prefetching. If the fetching has
+ * started, the requesting thread waits for it, so the resource is never fetched twice. If the prefetching
+ * of a resource failed, the failure is thrown to the requesting code as it would be thrown by the delegate
+ * retriever, and the resource is not fetched once again.
+ */
+public class PrefetchingResourceRetriever implements IResourceRetriever {
+
+    private final IResourceRetriever retriever;
+
+    private final ExecutorService executor;
+
+    private final Map<String, PrefetchTask> prefetchedResources = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link PrefetchingResourceRetriever} instance.
+     *
+     * @param retriever the resource retriever to delegate to, if null, {@link DefaultResourceRetriever} is used
+     * @param executor the executor to fetch the resources on, it is not shut down by this retriever
+     */
+    public PrefetchingResourceRetriever(IResourceRetriever retriever, ExecutorService executor) {
+        this.retriever = retriever == null ? new DefaultResourceRetriever() : retriever;
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules fetching of the resource by the specified URL, if it hasn't been scheduled yet.
+     *
+     * @param url the URL of the resource
+     */
+    public void prefetch(final URL url) {
+        String key = url.toExternalForm();
+        if (prefetchedResources.containsKey(key)) {
+            return;
+        }
+        PrefetchTask task = new PrefetchTask(url, retriever);
+        if (prefetchedResources.putIfAbsent(key, task) != null) {
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ignored) {
+            // The resource will be retrieved on demand
+            prefetchedResources.remove(key, task);
+        }
+    }
+
+    /**
+     * Cancels the scheduled fetching and releases all the prefetched resources.
+     */
+    public void clear() {
+        for (PrefetchTask task : prefetchedResources.values()) {
+            task.cancel(true);
+        }
+        prefetchedResources.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream getInputStreamByUrl(URL url) throws IOException {
+        PrefetchTask task = prefetchedResources.get(url.toExternalForm());
+        if (task != null) {
+            byte[] bytes = task.getBytes();
+            return bytes == null ? null : new ByteArrayInputStream(bytes);
+        }
+        return retriever.getInputStreamByUrl(url);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getByteArrayByUrl(URL url) throws IOException {
+        PrefetchTask task = prefetchedResources.get(url.toExternalForm());
+        if (task != null) {
+            return task.getBytes();
+        }
+        return retriever.getByteArrayByUrl(url);
+    }
+
+    /**
+     * The fetching of a single resource. The resource is fetched either by the executor or by the requesting
+     * thread, whichever claims it first, so that the requesting thread never waits for a task queued behind
+     * itself and the resource is never fetched twice.
+     */
+    private static final class PrefetchTask extends FutureTask<byte[]> {
+        private final URL url;
+        private final IResourceRetriever retriever;
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        PrefetchTask(final URL url, final IResourceRetriever retriever) {
+            super(new Callable<byte[]>() {
+                @Override
+                public byte[] call() throws IOException {
+                    return retriever.getByteArrayByUrl(url);
+                }
+            });
+            this.url = url;
+            this.retriever = retriever;
+        }
+
+        @Override
+        public void run() {
+            if (claimed.compareAndSet(false, true)) {
+                super.run();
+            }
+        }
+
+        /**
+         * Gets the resource. If the executor hasn't started fetching it yet, the resource is fetched
+         * by the calling thread, otherwise the calling thread waits for the executor.
+         *
+         * @return the bytes of the resource
+         * @throws IOException if the resource can't be retrieved
+         */
+        byte[] getBytes() throws IOException {
+            if (claimed.compareAndSet(false, true)) {
+                try {
+                    byte[] bytes = retriever.getByteArrayByUrl(url);
+                    set(bytes);
+                    return bytes;
+                } catch (IOException | RuntimeException e) {
+                    setException(e);
+                    throw e;
+                }
+            }
+            try {
+                return get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (CancellationException e) {
+                // The fetching has been interrupted by clear()
+                throw new IOException(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.html2pdf.html.AttributeConstants;
+import com.itextpdf.html2pdf.html.TagConstants;
+import com.itextpdf.styledxmlparser.css.CssDeclaration;
+import com.itextpdf.styledxmlparser.css.CssFontFaceRule;
+import com.itextpdf.styledxmlparser.css.CssRuleSet;
+import com.itextpdf.styledxmlparser.css.CssStatement;
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+import com.itextpdf.styledxmlparser.css.font.CssFontFace;
+import com.itextpdf.styledxmlparser.css.media.CssMediaRule;
+import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
+import com.itextpdf.styledxmlparser.css.parse.CssDeclarationValueTokenizer;
+import com.itextpdf.styledxmlparser.css.parse.CssRuleSetParser;
+import com.itextpdf.styledxmlparser.css.util.CssUtils;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.resolver.resource.ResourceResolver;
+
+import java.net.MalformedURLException;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Scans the document and the collected stylesheet for the referenced resources and schedules
+ * their fetching with {@link PrefetchingResourceRetriever}, so that the resources are already
+ * available when they are requested by tag workers and CSS appliers.
+ */
+public class ResourcePrefetcher {
+
+    private static final String URL_FUNCTION_PREFIX = "url(";
+    private static final String DATA_SCHEME_PREFIX = "data:";
+
+    private final ResourceResolver resourceResolver;
+
+    private final PrefetchingResourceRetriever retriever;
+
+    /**
+     * Creates a new {@link ResourcePrefetcher} instance.
+     *
+     * @param resourceResolver the resource resolver which is used to resolve the URIs against the base URI
+     * @param retriever the retriever which fetches and keeps the resources
+     */
+    public ResourcePrefetcher(ResourceResolver resourceResolver, PrefetchingResourceRetriever retriever) {
+        this.resourceResolver = resourceResolver;
+        this.retriever = retriever;
+    }
+
+    /**
+     * Schedules fetching of the resources referenced by the document elements: images, objects,
+     * linked stylesheets and {@code url(...)} values of {@code style} attributes.
+     *
+     * @param root the root node of the document
+     */
+    public void prefetchDocumentResources(INode root) {
+        LinkedList<INode> q = new LinkedList<>();
+        q.add(root);
+        while (!q.isEmpty()) {
+            INode currentNode = q.pop();
+            if (currentNode instanceof IElementNode) {
+                prefetchElementResources((IElementNode) currentNode);
+            }
+            for (INode child : currentNode.childNodes()) {
+                if (child instanceof IElementNode) {
+                    q.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Schedules fetching of the resources referenced by a single element, see
+     * {@link #prefetchDocumentResources(INode)}. The children of the element are not scanned.
+     *
+     * @param element the element
+     */
+    public void prefetchElementResources(IElementNode element) {
+        if (TagConstants.IMG.equals(element.name())) {
+            prefetch(element.getAttribute(AttributeConstants.SRC));
+        } else if (TagConstants.OBJECT.equals(element.name())) {
+            prefetch(element.getAttribute(AttributeConstants.DATA));
+        } else if (CssUtils.isStyleSheetLink(element)) {
+            prefetch(element.getAttribute(AttributeConstants.HREF));
+        }
+        String styleAttribute = element.getAttribute(AttributeConstants.STYLE);
+        if (styleAttribute != null && styleAttribute.contains(URL_FUNCTION_PREFIX)) {
+            prefetchUrls(CssRuleSetParser.parsePropertyDeclarations(styleAttribute));
+        }
+    }
+
+    /**
+     * Schedules fetching of the resources referenced by the stylesheet: {@code url(...)} values of the
+     * declarations and the first supported source of every {@code @font-face} rule. Media rules which
+     * don't match the device description are skipped.
+     *
+     * @param styleSheet the collected stylesheet
+     * @param deviceDescription the media device description
+     */
+    public void prefetchStyleSheetResources(CssStyleSheet styleSheet, MediaDeviceDescription deviceDescription) {
+        prefetchStyleSheetResources(styleSheet, deviceDescription, true);
+    }
+
+    /**
+     * Schedules fetching of the resources referenced by the stylesheet: {@code url(...)} values of the
+     * declarations and, optionally, the first supported source of every {@code @font-face} rule. Media rules
+     * which don't match the device description are skipped.
+     *
+     * @param styleSheet the collected stylesheet
+     * @param deviceDescription the media device description
+     * @param prefetchFontFaces whether the sources of {@code @font-face} rules shall be fetched
+     */
+    public void prefetchStyleSheetResources(CssStyleSheet styleSheet, MediaDeviceDescription deviceDescription,
+            boolean prefetchFontFaces) {
+        prefetchStyleSheetResources(styleSheet.getStatements(), deviceDescription, prefetchFontFaces);
+    }
+
+    /**
+     * Cancels the scheduled fetching and releases all the prefetched resources.
+     */
+    public void reset() {
+        retriever.clear();
+    }
+
+    private void prefetchStyleSheetResources(Collection<CssStatement> statements,
+            MediaDeviceDescription deviceDescription, boolean prefetchFontFaces) {
+        for (CssStatement statement : statements) {
+            if (statement instanceof CssRuleSet) {
+                prefetchUrls(((CssRuleSet) statement).getImportantDeclarations());
+                prefetchUrls(((CssRuleSet) statement).getNormalDeclarations());
+            } else if (statement instanceof CssFontFaceRule && prefetchFontFaces) {
+                prefetchFontFace((CssFontFaceRule) statement);
+            } else if (statement instanceof CssMediaRule
+                    && ((CssMediaRule) statement).matchMediaDevice(deviceDescription)) {
+                prefetchStyleSheetResources(((CssMediaRule) statement).getStatements(), deviceDescription,
+                        prefetchFontFaces);
+            }
+        }
+    }
+
+    private void prefetchFontFace(CssFontFaceRule fontFace) {
+        CssFontFace ff = CssFontFace.create(fontFace.getProperties());
+        if (ff == null) {
+            return;
+        }
+        for (CssFontFace.CssFontFaceSrc src : ff.getSources()) {
+            if (CssFontFace.isSupportedFontFormat(src.getFormat())) {
+                // Local fonts are taken from the font provider, other sources are tried only if this one fails
+                if (!src.isLocal()) {
+                    prefetch(src.getSrc());
+                }
+                return;
+            }
+        }
+    }
+
+    private void prefetchUrls(List<CssDeclaration> declarations) {
+        for (CssDeclaration declaration : declarations) {
+            String expression = declaration.getExpression();
+            if (expression == null || !expression.contains(URL_FUNCTION_PREFIX)) {
+                continue;
+            }
+            CssDeclarationValueTokenizer tokenizer = new CssDeclarationValueTokenizer(expression);
+            CssDeclarationValueTokenizer.Token token;
+            while ((token = tokenizer.getNextValidToken()) != null) {
+                if (!token.isString() && token.getValue().startsWith(URL_FUNCTION_PREFIX)) {
+                    prefetch(CssUtils.extractUrl(token.getValue()));
+                }
+            }
+        }
+    }
+
+    private void prefetch(String uri) {
+        if (uri == null) {
+            return;
+        }
+        uri = uri.trim();
+        if (uri.isEmpty() || uri.startsWith(DATA_SCHEME_PREFIX)) {
+            return;
+        }
+        try {
+            retriever.prefetch(resourceResolver.resolveAgainstBaseUri(uri));
+        } catch (MalformedURLException ignored) {
+            // The malformed URI is reported when the resource is actually requested
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.html2pdf.attach.ProcessorContext;
+import com.itextpdf.html2pdf.util.ContentHashUtil;
+import com.itextpdf.html2pdf.util.SvgProcessingUtil;
+import com.itextpdf.styledxmlparser.css.CssRuleSet;
+import com.itextpdf.styledxmlparser.css.CssStatement;
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+import com.itextpdf.styledxmlparser.css.media.CssMediaRule;
+import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
+import com.itextpdf.styledxmlparser.node.IAttribute;
+import com.itextpdf.styledxmlparser.node.IDataNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.ITextNode;
+import com.itextpdf.styledxmlparser.resolver.resource.ResourceResolver;
+import com.itextpdf.svg.converter.SvgConverter;
+import com.itextpdf.svg.processors.ISvgProcessorResult;
+import com.itextpdf.svg.processors.impl.SvgConverterProperties;
+import com.itextpdf.svg.processors.impl.SvgProcessorContext;
+import com.itextpdf.svg.processors.impl.SvgProcessorResult;
+import com.itextpdf.svg.renderers.ISvgNodeRenderer;
+import com.itextpdf.svg.xobject.SvgImageXObject;
+
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Cache of the processed SVG images of a single conversion.
+ * <p>
+ * Absolutely sized SVG images with the same source, as well as identical inline {@code svg} elements if their
+ * deduplication is enabled, are processed once per document and share a single {@link SvgImageXObject}.
+ * If {@link ISvgProcessorResultCache} is set, the processing results are also shared between conversions.
+ * <p>
+ * This class is not reusable and a new instance shall be created for every new conversion process.
+ */
+public class SvgImageCache {
+
+    private static final String CONTENT_KEY_PREFIX = "sha256:";
+
+    private static final String INLINE_KEY_PREFIX = "inline-sha256:";
+
+    private static final String IMG_KEY_PREFIX = "img:";
+
+    private static final String OBJECT_KEY_PREFIX = "object:";
+
+    private static final String KEY_SEPARATOR = "\n";
+
+    private final ISvgProcessorResultCache processorResultCache;
+
+    private final Map<String, SvgImageXObject> imageXObjects = new HashMap<>();
+
+    private String styleSheetKey;
+
+    private CssStyleSheet contextDependentRuleSetsSource;
+
+    private List<CssRuleSet> contextDependentRuleSets;
+
+    /**
+     * Creates a new {@link SvgImageCache} instance.
+     *
+     * @param processorResultCache the cache of the processing results shared between conversions,
+     *                             or null if the results are not shared
+     */
+    public SvgImageCache(ISvgProcessorResultCache processorResultCache) {
+        this.processorResultCache = processorResultCache;
+    }
+
+    /**
+     * Creates the key which identifies the SVG source by its URI: data URIs are identified by the hash of their
+     * content, other URIs by the URL they are resolved to.
+     *
+     * @param uri the URI of the SVG image
+     * @param resourceResolver the resource resolver
+     * @return the key of the SVG source, or null if the URI can't be resolved
+     */
+    public static String createSourceKey(String uri, ResourceResolver resourceResolver) {
+        if (ResourceResolver.isDataSrc(uri)) {
+            return createContentKey(uri);
+        }
+        try {
+            return resourceResolver.resolveAgainstBaseUri(uri).toExternalForm();
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the key which identifies the SVG source by its content.
+     *
+     * @param content the content of the SVG image, in any form, e.g. base64 encoded
+     * @return the key of the SVG source
+     */
+    public static String createContentKey(String content) {
+        return CONTENT_KEY_PREFIX + ContentHashUtil.computeSha256(content);
+    }
+
+    /**
+     * Creates the key which identifies the inline {@code svg} element by its structure: names and attributes
+     * of the elements and the content of the text and data nodes of the subtree, as well as the styles resolved
+     * for the {@code svg} element itself and the rule sets of the document stylesheet which contain combinators
+     * and are matched by its descendants. Such rule sets are a part of the key since they may style the SVG
+     * content differently depending on the ancestors or siblings of the {@code svg} element, while the rule sets
+     * without combinators match identical subtrees identically. The rule sets with combinators are collected
+     * once per stylesheet, and the descendants are not matched at all if there are none.
+     *
+     * @param svgElement the inline {@code svg} element
+     * @param styleSheet the document stylesheet, may be null
+     * @param deviceDescription the media device description used to match media rules
+     * @return the key of the SVG source
+     */
+    public String createInlineSvgKey(IElementNode svgElement, CssStyleSheet styleSheet,
+            MediaDeviceDescription deviceDescription) {
+        StringBuilder sb = new StringBuilder();
+        if (svgElement.getStyles() != null) {
+            sb.append(new TreeMap<>(svgElement.getStyles()));
+        }
+        appendStructure(svgElement, svgElement, getContextDependentRuleSets(styleSheet, deviceDescription), sb);
+        return INLINE_KEY_PREFIX + ContentHashUtil.computeSha256(sb.toString());
+    }
+
+    /**
+     * Gets the image XObject previously created for the SVG source in the current sizing context.
+     *
+     * @param sourceKey the key of the SVG source
+     * @param createdByObject true if the image is created for the {@code object} element, false otherwise
+     * @param context the processor context
+     * @return the {@link SvgImageXObject} instance, or null if there is no such XObject
+     */
+    public SvgImageXObject getImageXObject(String sourceKey, boolean createdByObject, ProcessorContext context) {
+        return sourceKey == null ? null : imageXObjects.get(createImageKey(sourceKey, createdByObject, context));
+    }
+
+    /**
+     * Puts the image XObject created for the SVG source in the current sizing context. Relatively sized images
+     * depend on the layout and thus are not cached.
+     *
+     * @param sourceKey the key of the SVG source
+     * @param createdByObject true if the image is created for the {@code object} element, false otherwise
+     * @param context the processor context
+     * @param result the processing result the XObject has been created from
+     * @param imageXObject the {@link SvgImageXObject} instance
+     */
+    public void putImageXObject(String sourceKey, boolean createdByObject, ProcessorContext context,
+            ISvgProcessorResult result, SvgImageXObject imageXObject) {
+        if (sourceKey != null && !SvgProcessingUtil.isSvgRelativeSized(result.getRootRenderer(), context)) {
+            imageXObjects.put(createImageKey(sourceKey, createdByObject, context), imageXObject);
+        }
+    }
+
+    /**
+     * Parses and processes the SVG image, or takes the processing result from {@link ISvgProcessorResultCache}
+     * if it is set.
+     *
+     * @param sourceKey the key of the SVG source, or null if the result shall not be cached
+     * @param stream the stream of the SVG image
+     * @param properties the properties of the SVG processing
+     * @return the {@link ISvgProcessorResult} instance which can be used for the current conversion
+     */
+    public ISvgProcessorResult process(String sourceKey, InputStream stream, SvgConverterProperties properties) {
+        if (processorResultCache == null || sourceKey == null) {
+            return SvgConverter.parseAndProcess(stream, properties);
+        }
+        String key = sourceKey + KEY_SEPARATOR + properties.getBaseUri() + KEY_SEPARATOR
+                + getStyleSheetKey(properties.getCssStyleSheet());
+        CachedSvgProcessorResult cachedResult = processorResultCache.getProcessorResult(key);
+        if (cachedResult == null) {
+            ISvgProcessorResult result = SvgConverter.parseAndProcess(stream, properties);
+            if (result.getTempFonts() != null && !result.getTempFonts().isEmpty()) {
+                // Fonts defined in the SVG image are bound to the processor context of the conversion
+                return result;
+            }
+            cachedResult = new CachedSvgProcessorResult(result);
+            processorResultCache.putProcessorResult(key, cachedResult);
+        }
+        return copyProcessorResult(cachedResult, properties);
+    }
+
+    /**
+     * Resets the cache so that it is ready to be used for a new document.
+     */
+    public void reset() {
+        imageXObjects.clear();
+        styleSheetKey = null;
+        contextDependentRuleSetsSource = null;
+        contextDependentRuleSets = null;
+    }
+
+    private String getStyleSheetKey(CssStyleSheet styleSheet) {
+        // The stylesheet of the document is applied to the SVG images, so it is a part of the processing context
+        if (styleSheetKey == null) {
+            styleSheetKey = styleSheet == null ? "" : createContentKey(styleSheet.toString());
+        }
+        return styleSheetKey;
+    }
+
+    private List<CssRuleSet> getContextDependentRuleSets(CssStyleSheet styleSheet,
+            MediaDeviceDescription deviceDescription) {
+        if (styleSheet == null) {
+            return Collections.<CssRuleSet>emptyList();
+        }
+        if (contextDependentRuleSets == null || contextDependentRuleSetsSource != styleSheet) {
+            contextDependentRuleSets = new ArrayList<>();
+            collectContextDependentRuleSets(styleSheet.getStatements(), deviceDescription, contextDependentRuleSets);
+            contextDependentRuleSetsSource = styleSheet;
+        }
+        return contextDependentRuleSets;
+    }
+
+    private static void collectContextDependentRuleSets(List<CssStatement> statements,
+            MediaDeviceDescription deviceDescription, List<CssRuleSet> ruleSets) {
+        for (CssStatement statement : statements) {
+            if (statement instanceof CssMediaRule) {
+                if (((CssMediaRule) statement).matchMediaDevice(deviceDescription)) {
+                    collectContextDependentRuleSets(((CssMediaRule) statement).getStatements(), deviceDescription,
+                            ruleSets);
+                }
+            } else if (statement instanceof CssRuleSet) {
+                CssRuleSet ruleSet = (CssRuleSet) statement;
+                if (ruleSet.getSelector() == null || hasCombinator(ruleSet.getSelector().toString())) {
+                    ruleSets.add(ruleSet);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the selector contains a combinator, i.e. its matching may depend on the ancestors or siblings of
+     * the element. The check is conservative: the combinators inside pseudo-class arguments are also considered.
+     *
+     * @param selector the selector text
+     * @return true if the selector might contain a combinator, false otherwise
+     */
+    private static boolean hasCombinator(String selector) {
+        String trimmed = selector.trim();
+        int bracketDepth = 0;
+        char quote = 0;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char ch = trimmed.charAt(i);
+            if (quote != 0) {
+                if (ch == quote) {
+                    quote = 0;
+                }
+            } else if (ch == '"' || ch == '\'') {
+                quote = ch;
+            } else if (ch == '[') {
+                bracketDepth++;
+            } else if (ch == ']') {
+                bracketDepth--;
+            } else if (bracketDepth == 0 && (ch == '>' || ch == '+' || ch == '~' || ch == ','
+                    || Character.isWhitespace(ch))) {
+                return true;
+            }
+        }
+        return bracketDepth != 0 || quote != 0;
+    }
+
+    private static ISvgProcessorResult copyProcessorResult(CachedSvgProcessorResult result,
+            SvgConverterProperties properties) {
+        // Renderers can be modified while drawing, so every conversion draws its own copy of the renderer tree
+        Map<String, ISvgNodeRenderer> namedObjects = new HashMap<>();
+        for (Map.Entry<String, ISvgNodeRenderer> namedObject : result.getNamedObjects().entrySet()) {
+            namedObjects.put(namedObject.getKey(), namedObject.getValue().createDeepCopy());
+        }
+        return new SvgProcessorResult(namedObjects, result.getRootRenderer().createDeepCopy(),
+                new SvgProcessorContext(properties));
+    }
+
+    private static void appendStructure(INode node, IElementNode svgElement, List<CssRuleSet> ruleSets,
+            StringBuilder sb) {
+        // Lengths are prepended to the values, so that different structures can't produce the same string
+        if (node instanceof IElementNode) {
+            IElementNode element = (IElementNode) node;
+            appendValue(sb.append('<'), element.name());
+            for (IAttribute attribute : element.getAttributes()) {
+                appendValue(appendValue(sb.append(' '), attribute.getKey()), attribute.getValue());
+            }
+            if (element != svgElement) {
+                // The styles of the svg element itself are already a part of the key
+                for (CssRuleSet ruleSet : ruleSets) {
+                    if (ruleSet.getSelector() == null || ruleSet.getSelector().matches(element)) {
+                        appendValue(sb.append(' '), ruleSet.toString());
+                    }
+                }
+            }
+            sb.append('>');
+            for (INode child : element.childNodes()) {
+                appendStructure(child, svgElement, ruleSets, sb);
+            }
+            sb.append("</>");
+        } else if (node instanceof ITextNode) {
+            appendValue(sb.append('T'), ((ITextNode) node).wholeText());
+        } else if (node instanceof IDataNode) {
+            appendValue(sb.append('D'), ((IDataNode) node).getWholeData());
+        }
+    }
+
+    private static StringBuilder appendValue(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb.append('-');
+        }
+        return sb.append(value.length()).append(':').append(value);
+    }
+
+    private static String createImageKey(String sourceKey, boolean createdByObject, ProcessorContext context) {
+        // Font sizes affect the size of absolutely sized images defined in em and rem
+        return (createdByObject ? OBJECT_KEY_PREFIX : IMG_KEY_PREFIX) + sourceKey + KEY_SEPARATOR
+                + context.getCssContext().getCurrentFontSize() + KEY_SEPARATOR
+                + context.getCssContext().getRootFontSize();
+    }
+}
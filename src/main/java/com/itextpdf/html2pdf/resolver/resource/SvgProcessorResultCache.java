@@ -0,0 +1,108 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.html2pdf.util.BoundedLruCache;
+
+/**
+ * Default size-bounded implementation of the {@link ISvgProcessorResultCache} interface.
+ * <p>
+ * When the maximum number of results is reached, the least recently used one is evicted.
+ * SVG images referenced by URL are keyed by their resolved URL, so a changed remote image will not be
+ * reprocessed until it is evicted or the cache is cleared. The class is thread-safe.
+ */
+public class SvgProcessorResultCache implements ISvgProcessorResultCache {
+
+    /**
+     * Default maximum number of cached results.
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final BoundedLruCache<CachedSvgProcessorResult> results;
+
+    /**
+     * Creates a new {@link SvgProcessorResultCache} instance with {@link #DEFAULT_MAX_SIZE} maximum size.
+     */
+    public SvgProcessorResultCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new {@link SvgProcessorResultCache} instance.
+     *
+     * @param maxSize the maximum number of cached results
+     */
+    public SvgProcessorResultCache(int maxSize) {
+        this.results = new BoundedLruCache<CachedSvgProcessorResult>(maxSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CachedSvgProcessorResult getProcessorResult(String key) {
+        return results.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putProcessorResult(String key, CachedSvgProcessorResult result) {
+        results.put(key, result);
+    }
+
+    /**
+     * Gets the number of successful cache lookups.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return results.getHitCount();
+    }
+
+    /**
+     * Gets the number of unsuccessful cache lookups.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return results.getMissCount();
+    }
+
+    /**
+     * Gets the number of currently cached results.
+     *
+     * @return the number of cached results
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Removes all the results from the cache and resets hit and miss counters.
+     */
+    public void clear() {
+        results.clear();
+    }
+}
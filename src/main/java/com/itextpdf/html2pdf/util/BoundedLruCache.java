@@ -0,0 +1,220 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe cache which evicts the least recently used values when its maximum total weight is reached.
+ * <p>
+ * The weight of a value is specified when it is put into the cache, so the cache may be bounded either by
+ * the number of values, when each value weighs 1, or by their estimated size. Optionally, the values expire
+ * after the specified time to live. The cache counts hits and misses of the lookups.
+ * This class is for internal usage.
+ *
+ * @param <V> the type of the cached values
+ */
+public final class BoundedLruCache<V> {
+
+    /**
+     * The time to live value meaning that the cached values never expire.
+     */
+    public static final long NO_EXPIRATION = 0;
+
+    private static final long NANOS_IN_MILLI = 1000000L;
+
+    private final long maxWeight;
+
+    private final long timeToLiveNanos;
+
+    private final LinkedHashMap<String, CachedValue<V>> values = new LinkedHashMap<String, CachedValue<V>>(16,
+            0.75f, true);
+
+    private long weight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    /**
+     * Creates a new {@link BoundedLruCache} instance without expiration.
+     *
+     * @param maxWeight the maximum total weight of the cached values
+     */
+    public BoundedLruCache(long maxWeight) {
+        this(maxWeight, NO_EXPIRATION);
+    }
+
+    /**
+     * Creates a new {@link BoundedLruCache} instance.
+     *
+     * @param maxWeight the maximum total weight of the cached values
+     * @param timeToLiveMillis the time in milliseconds after which a cached value expires,
+     *                         or {@link #NO_EXPIRATION} if the cached values never expire
+     */
+    public BoundedLruCache(long maxWeight, long timeToLiveMillis) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Maximum size of the cache shall be positive");
+        }
+        if (timeToLiveMillis < 0) {
+            throw new IllegalArgumentException("Time to live shall not be negative");
+        }
+        this.maxWeight = maxWeight;
+        this.timeToLiveNanos = timeToLiveMillis * NANOS_IN_MILLI;
+    }
+
+    /**
+     * Gets the cached value and marks it as the most recently used one.
+     *
+     * @param key the key of the value
+     * @return the cached value, or null if there is no such value or it has expired
+     */
+    public synchronized V get(String key) {
+        CachedValue<V> cached = values.get(key);
+        if (cached != null && isExpired(cached, System.nanoTime())) {
+            remove(key);
+            cached = null;
+        }
+        if (cached == null) {
+            ++missCount;
+            return null;
+        }
+        ++hitCount;
+        return cached.value;
+    }
+
+    /**
+     * Puts the value of weight 1 into the cache. Null values are ignored.
+     *
+     * @param key the key of the value
+     * @param value the value to cache
+     */
+    public void put(String key, V value) {
+        put(key, value, 1);
+    }
+
+    /**
+     * Puts the value into the cache, evicting the least recently used values if the maximum total weight
+     * is exceeded. Null values and values heavier than the maximum total weight are ignored.
+     *
+     * @param key the key of the value
+     * @param value the value to cache
+     * @param valueWeight the weight of the value
+     */
+    public synchronized void put(String key, V value, long valueWeight) {
+        if (value == null || valueWeight > maxWeight) {
+            // A value which doesn't fit in the cache would evict everything else
+            return;
+        }
+        remove(key);
+        values.put(key, new CachedValue<V>(value, valueWeight, System.nanoTime()));
+        weight += valueWeight;
+        evict();
+    }
+
+    /**
+     * Gets the number of successful cache lookups.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of unsuccessful cache lookups.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of currently cached values.
+     *
+     * @return the number of cached values
+     */
+    public synchronized int size() {
+        return values.size();
+    }
+
+    /**
+     * Gets the total weight of the currently cached values.
+     *
+     * @return the weight of the cached values
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Removes all the values from the cache and resets hit and miss counters.
+     */
+    public synchronized void clear() {
+        values.clear();
+        weight = 0;
+        hitCount = 0;
+        missCount = 0;
+    }
+
+    private void remove(String key) {
+        CachedValue<V> removed = values.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, CachedValue<V>>> iterator = values.entrySet().iterator();
+        while (iterator.hasNext()) {
+            CachedValue<V> cached = iterator.next().getValue();
+            if (weight > maxWeight || isExpired(cached, now)) {
+                iterator.remove();
+                weight -= cached.weight;
+            } else if (timeToLiveNanos == NO_EXPIRATION) {
+                // The rest of the values are more recently used and never expire
+                break;
+            }
+        }
+    }
+
+    private boolean isExpired(CachedValue<V> cached, long now) {
+        return timeToLiveNanos != NO_EXPIRATION && now - cached.creationTime >= timeToLiveNanos;
+    }
+
+    private static final class CachedValue<V> {
+        private final V value;
+        private final long weight;
+        private final long creationTime;
+
+        CachedValue(V value, long weight, long creationTime) {
+            this.value = value;
+            this.weight = weight;
+            this.creationTime = creationTime;
+        }
+    }
+}
@@ -133,7 +133,16 @@ public class SvgProcessingUtil {
         }
     }
 
-    private static boolean isSvgRelativeSized(ISvgNodeRenderer rootRenderer, ProcessorContext context) {
+    /**
+     * Checks whether the size of the SVG image depends on the layout, i.e. whether its width or height
+     * is not specified or is specified in percents.
+     *
+     * @param rootRenderer the root renderer of the SVG image
+     * @param context html2pdf processor context
+     *
+     * @return true if the SVG image is relatively sized, false otherwise
+     */
+    public static boolean isSvgRelativeSized(ISvgNodeRenderer rootRenderer, ProcessorContext context) {
         float em = context.getCssContext().getCurrentFontSize();
         float rem = context.getCssContext().getRootFontSize();
         String widthStr = rootRenderer.getAttribute(CommonCssConstants.WIDTH);
@@ -0,0 +1,73 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class HtmlConverterBodyStreamingTest extends ExtendedITextTest {
+
+    @Test
+    public void streamedBodyIsConvertedAsWholeBodyTest() throws IOException {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head><style>body { font-size: 10pt; }"
+                + " .odd { color: blue; } h2 { margin-top: 20pt; }</style></head><body style=\"margin: 30pt\">");
+        for (int i = 0; i < 1500; i++) {
+            if (i % 100 == 0) {
+                html.append("<h2>Section ").append(i / 100).append("</h2>");
+            }
+            html.append("<p class=\"").append(i % 2 == 0 ? "even" : "odd").append("\">Paragraph ").append(i)
+                    .append(" with <b>inline</b> content</p>");
+        }
+        html.append("</body></html>");
+
+        byte[] expected = convert(html.toString(), new ConverterProperties());
+        byte[] actual = convert(html.toString(), new ConverterProperties().setBodyStreamingEnabled(true));
+
+        try (PdfDocument expectedDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected)));
+                PdfDocument actualDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(actual)))) {
+            Assertions.assertEquals(expectedDocument.getNumberOfPages(), actualDocument.getNumberOfPages());
+            for (int i = 1; i <= expectedDocument.getNumberOfPages(); i++) {
+                Assertions.assertEquals(PdfTextExtractor.getTextFromPage(expectedDocument.getPage(i)),
+                        PdfTextExtractor.getTextFromPage(actualDocument.getPage(i)));
+            }
+        }
+    }
+
+    private static byte[] convert(String html, ConverterProperties properties) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)), baos,
+                properties);
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf;
+
+import com.itextpdf.html2pdf.attach.impl.OutlineHandler;
+import com.itextpdf.html2pdf.exceptions.Html2PdfException;
+import com.itextpdf.html2pdf.resolver.font.DefaultFontProvider;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSet;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class HtmlConverterEngineTest extends ExtendedITextTest {
+
+    private static final String HTML = "<html><body><h1>Invoice</h1><p>Hello World</p></body></html>";
+
+    @Test
+    public void perConversionPropertiesShareFontSetTest() {
+        HtmlConverterEngine engine = new HtmlConverterEngine(new ConverterProperties()
+                .setOutlineHandler(OutlineHandler.createStandardHandler()));
+
+        ConverterProperties first = engine.createConverterProperties();
+        ConverterProperties second = engine.createConverterProperties();
+
+        Assertions.assertNotSame(first.getFontProvider(), second.getFontProvider());
+        Assertions.assertSame(first.getFontProvider().getFontSet(), second.getFontProvider().getFontSet());
+        Assertions.assertNotSame(first.getOutlineHandler(), second.getOutlineHandler());
+        Assertions.assertEquals(1, (int) second.getOutlineHandler().getMarkPriorityMapping("h1"));
+        Assertions.assertSame(first.getTagWorkerFactory(), second.getTagWorkerFactory());
+        Assertions.assertSame(first.getCssApplierFactory(), second.getCssApplierFactory());
+    }
+
+    @Test
+    public void customFontProviderWithoutFactoryTest() {
+        ConverterProperties properties = new ConverterProperties().setFontProvider(new CustomFontProvider());
+        Exception e = Assertions.assertThrows(Html2PdfException.class, () -> new HtmlConverterEngine(properties));
+        Assertions.assertEquals(Html2PdfException.CUSTOM_FONT_PROVIDER_REQUIRES_FACTORY, e.getMessage());
+    }
+
+    @Test
+    public void customFontProviderWithFactoryTest() throws IOException {
+        CustomFontProvider fontProvider = new CustomFontProvider();
+        HtmlConverterEngine engine = new HtmlConverterEngine(new ConverterProperties().setFontProvider(fontProvider),
+                (fontSet, defaultFontFamily) -> new CustomFontProvider(fontSet, defaultFontFamily));
+
+        ConverterProperties properties = engine.createConverterProperties();
+        Assertions.assertTrue(properties.getFontProvider() instanceof CustomFontProvider);
+        Assertions.assertSame(fontProvider.getFontSet(), properties.getFontProvider().getFontSet());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        engine.convertToPdf(HTML, out);
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(out.toByteArray())))) {
+            Assertions.assertEquals(1, pdfDocument.getNumberOfPages());
+        }
+    }
+
+    @Test
+    public void sequentialConversionsTest() throws IOException {
+        HtmlConverterEngine engine = new HtmlConverterEngine(new ConverterProperties());
+        for (int i = 0; i < 3; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            engine.convertToPdf(HTML, out);
+            try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(out.toByteArray())))) {
+                Assertions.assertEquals(1, pdfDocument.getNumberOfPages());
+            }
+        }
+    }
+
+    @Test
+    public void multiThreadedConversionsTest() throws Exception {
+        final HtmlConverterEngine engine = new HtmlConverterEngine(null);
+        int runCount = 50;
+        List<Future<Integer>> futures = new ArrayList<>(runCount);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < runCount; i++) {
+            futures.add(executorService.submit(() -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                engine.convertToPdf(HTML, out);
+                return out.size();
+            }));
+        }
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(2, TimeUnit.MINUTES));
+        for (Future<Integer> future : futures) {
+            Assertions.assertTrue(future.get() > 0);
+        }
+    }
+
+    private static class CustomFontProvider extends FontProvider {
+        CustomFontProvider() {
+            super(new DefaultFontProvider().getFontSet(), "Times");
+        }
+
+        CustomFontProvider(FontSet fontSet, String defaultFontFamily) {
+            super(fontSet, defaultFontFamily);
+        }
+    }
+}
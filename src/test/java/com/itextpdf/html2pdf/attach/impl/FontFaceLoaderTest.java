@@ -0,0 +1,105 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.attach.impl;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.html2pdf.metrics.ConversionCounter;
+import com.itextpdf.html2pdf.metrics.ConversionMetricsCollector;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class FontFaceLoaderTest extends ExtendedITextTest {
+
+    private static final String FONTS_FOLDER = "./src/test/resources/com/itextpdf/html2pdf/fonts/";
+
+    private static final String FONT_FACES = "@font-face { font-family: 'Roboto'; src: url('Roboto-Regular.ttf'); }"
+            + " @font-face { font-family: 'Bokor'; src: url('Bokor-Regular.ttf'); }"
+            + " @font-face { font-family: 'Space Mono'; src: url('SpaceMono-Regular.ttf'); }";
+
+    @Test
+    public void allFontFacesAreLoadedByDefaultTest() {
+        String html = "<html><head><style>" + FONT_FACES + " p { font-family: 'Roboto'; }</style></head>"
+                + "<body><p>Hello World</p></body></html>";
+        ConversionMetricsCollector collector = new ConversionMetricsCollector();
+        convert(html, new ConverterProperties().setBaseUri(FONTS_FOLDER).setConversionMetricsListener(collector));
+
+        Assertions.assertEquals(3, collector.getCounter(ConversionCounter.FONTS_LOADED));
+        Assertions.assertEquals(3, collector.getResourcesFetched());
+    }
+
+    @Test
+    public void onlyUsedFontFacesAreLoadedLazilyTest() throws IOException {
+        String html = "<html><head><style>" + FONT_FACES + " p { font-family: 'Roboto'; }</style></head>"
+                + "<body><p>Hello <span style=\"font-family: 'space mono'\">World</span></p></body></html>";
+        ConversionMetricsCollector collector = new ConversionMetricsCollector();
+        byte[] pdf = convert(html, new ConverterProperties().setBaseUri(FONTS_FOLDER)
+                .setConversionMetricsListener(collector).setLazyFontFaceLoadingEnabled(true));
+
+        Assertions.assertEquals(2, collector.getCounter(ConversionCounter.FONTS_LOADED));
+        Assertions.assertEquals(2, collector.getResourcesFetched());
+        String fontNames = getFirstPageFontNames(pdf);
+        Assertions.assertTrue(fontNames.contains("Roboto"));
+        Assertions.assertTrue(fontNames.contains("SpaceMono"));
+    }
+
+    @Test
+    public void lazilyLoadedRootFontFamilyTest() throws IOException {
+        String html = "<html><head><style>" + FONT_FACES + " body { font-family: 'Bokor', sans-serif; }"
+                + "</style></head><body>Hello World</body></html>";
+        ConversionMetricsCollector collector = new ConversionMetricsCollector();
+        byte[] pdf = convert(html, new ConverterProperties().setBaseUri(FONTS_FOLDER)
+                .setConversionMetricsListener(collector).setLazyFontFaceLoadingEnabled(true));
+
+        Assertions.assertEquals(1, collector.getCounter(ConversionCounter.FONTS_LOADED));
+        Assertions.assertTrue(getFirstPageFontNames(pdf).contains("Bokor"));
+    }
+
+    private static byte[] convert(String html, ConverterProperties properties) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos, properties);
+        return baos.toByteArray();
+    }
+
+    private static String getFirstPageFontNames(byte[] pdf) throws IOException {
+        StringBuilder fontNames = new StringBuilder();
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            PdfDictionary fonts = pdfDocument.getPage(1).getResources().getResource(PdfName.Font);
+            for (PdfName fontName : fonts.keySet()) {
+                fontNames.append(fonts.getAsDictionary(fontName).getAsName(PdfName.BaseFont).getValue()).append(' ');
+            }
+        }
+        return fontNames.toString();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.attach.impl.layout;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.attach.ProcessorContext;
+import com.itextpdf.html2pdf.css.CssConstants;
+import com.itextpdf.html2pdf.css.resolve.DefaultCssResolver;
+import com.itextpdf.html2pdf.css.resolve.func.counter.CounterDigitsGlyphStyle;
+import com.itextpdf.html2pdf.css.resolve.func.counter.PageCountElementNode;
+import com.itextpdf.html2pdf.html.AttributeConstants;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.renderer.DocumentRenderer;
+import com.itextpdf.styledxmlparser.css.page.PageMarginBoxContextNode;
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class PageMarginBoxBuilderTest extends ExtendedITextTest {
+
+    @Test
+    public void childStylesAreReusedExceptCountersTest() {
+        IDocumentNode documentNode = new JsoupHtmlParser().parse("<html><head><style>@page { @top-center {"
+                + " content: 'Header'; font-size: 9px } }</style></head><body></body></html>");
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        ProcessorContext context = new ProcessorContext(new ConverterProperties());
+        context.reset(pdfDocument);
+        PageContextProperties properties = PageContextProperties.resolve(documentNode,
+                new DefaultCssResolver(documentNode, context), context.getCssContext());
+        Assertions.assertEquals(1, properties.getResolvedPageMarginBoxes().size());
+        PageMarginBoxContextNode marginBox = properties.getResolvedPageMarginBoxes().get(0);
+
+        // Margin box content never gets counter properties from stylesheets, so they are set via style attributes
+        PageCountElementNode countingChild = new PageCountElementNode(false, marginBox);
+        countingChild.getAttributes().setAttribute(AttributeConstants.STYLE, "counter-increment: margin-counter");
+        marginBox.addChild(countingChild);
+        PageCountElementNode plainChild = new PageCountElementNode(false, marginBox);
+        plainChild.getAttributes().setAttribute(AttributeConstants.STYLE, "color: red");
+        marginBox.addChild(plainChild);
+
+        PageMarginBoxBuilder builder = new PageMarginBoxBuilder(properties.getResolvedPageMarginBoxes(),
+                new float[] {36, 36, 36, 36}, PageSize.A4);
+        DocumentRenderer documentRenderer = new DocumentRenderer(new Document(pdfDocument));
+        builder.buildForSinglePage(1, pdfDocument, documentRenderer, context);
+        Map<String, String> firstPageStyles = plainChild.getStyles();
+        Assertions.assertEquals("red", firstPageStyles.get(CssConstants.COLOR));
+
+        // The styles of the children without counters are resolved once and reused for the following pages
+        plainChild.getAttributes().setAttribute(AttributeConstants.STYLE, "color: blue");
+        builder.buildForSinglePage(2, pdfDocument, documentRenderer, context);
+        builder.buildForSinglePage(3, pdfDocument, documentRenderer, context);
+
+        Assertions.assertEquals("red", plainChild.getStyles().get(CssConstants.COLOR));
+        Assertions.assertNotSame(firstPageStyles, plainChild.getStyles());
+        // The children with counters are resolved for every page, so the counter is incremented on every page
+        Assertions.assertEquals("3", context.getCssContext().getCounterManager()
+                .resolveCounter("margin-counter", CounterDigitsGlyphStyle.DEFAULT));
+    }
+}
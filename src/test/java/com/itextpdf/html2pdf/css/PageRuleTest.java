@@ -56,6 +56,8 @@ import com.itextpdf.test.LogLevelConstants;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -804,4 +806,38 @@ public class PageRuleTest extends ExtendedITextTest {
         String diffPrefix = "diff_" + name + "_";
         Assertions.assertNull(new CompareTool().compareByContent(pdfPath, cmpPdfPath, DESTINATION_FOLDER, diffPrefix));
     }
+
+    @Test
+    public void deferredPagesCounterInMarginBoxTest() throws IOException {
+        String html = "<html><head><style>@page { size: A6; @bottom-center { content: 'Page ' counter(page) ' of '"
+                + " counter(pages) } } p { page-break-after: always }</style></head>"
+                + "<body><p>first</p><p>second</p><p>third</p></body></html>";
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos, new ConverterProperties().setDeferredPagesCounterEnabled(true));
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Assertions.assertEquals(3, pdfDocument.getNumberOfPages());
+        Assertions.assertTrue(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(1)).contains("Page 1 of 3"));
+        Assertions.assertTrue(PdfTextExtractor.getTextFromPage(pdfDocument.getPage(3)).contains("Page 3 of 3"));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void marginBoxChildrenOnEveryPageTest() throws IOException {
+        String html = "<html><head><style>@page { size: A6; @top-center { content: 'Page ' counter(page);"
+                + " font-size: 9px; color: red } @bottom-center { content: 'Total ' counter(pages) } }"
+                + " p { page-break-after: always }</style></head>"
+                + "<body><p>first</p><p>second</p><p>third</p></body></html>";
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos);
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Assertions.assertEquals(3, pdfDocument.getNumberOfPages());
+        for (int i = 1; i <= 3; i++) {
+            String textFromPage = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i));
+            Assertions.assertTrue(textFromPage.contains("Page " + i), textFromPage);
+            Assertions.assertTrue(textFromPage.contains("Total 3"), textFromPage);
+        }
+        pdfDocument.close();
+    }
 }
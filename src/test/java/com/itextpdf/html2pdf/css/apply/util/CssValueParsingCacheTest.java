@@ -0,0 +1,114 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.apply.util;
+
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.layout.properties.TransparentColor;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.styledxmlparser.logs.StyledXmlParserLogMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class CssValueParsingCacheTest extends ExtendedITextTest {
+
+    @BeforeEach
+    public void clearCache() {
+        CssValueParsingCache.clear();
+    }
+
+    @Test
+    public void cachedLengthIsNotSharedTest() {
+        UnitValue first = CssValueParsingCache.parseLengthValueToPt("12px", 12f, 12f);
+        first.setValue(100f);
+        UnitValue second = CssValueParsingCache.parseLengthValueToPt("12px", 12f, 12f);
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(9f, second.getValue(), 1e-5f);
+        Assertions.assertTrue(second.isPointValue());
+    }
+
+    @Test
+    public void relativeLengthDependsOnFontSizeTest() {
+        Assertions.assertEquals(24f, CssValueParsingCache.parseLengthValueToPt("2em", 12f, 10f).getValue(), 1e-5f);
+        Assertions.assertEquals(32f, CssValueParsingCache.parseLengthValueToPt("2em", 16f, 10f).getValue(), 1e-5f);
+        Assertions.assertEquals(20f, CssValueParsingCache.parseLengthValueToPt("2rem", 16f, 10f).getValue(), 1e-5f);
+        Assertions.assertTrue(CssValueParsingCache.parseLengthValueToPt("50%", 16f, 10f).isPercentValue());
+    }
+
+    @Test
+    public void absoluteLengthTest() {
+        Assertions.assertEquals(12f, CssValueParsingCache.parseAbsoluteLength("16px"), 1e-5f);
+        Assertions.assertEquals(12f, CssValueParsingCache.parseAbsoluteLength("16px"), 1e-5f);
+    }
+
+    @Test
+    public void colorIsCachedTest() {
+        TransparentColor first = CssValueParsingCache.parseColor("#ff0000");
+        TransparentColor second = CssValueParsingCache.parseColor("#ff0000");
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(ColorConstants.RED, first.getColor());
+        Assertions.assertEquals(1f, first.getOpacity(), 1e-5f);
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = StyledXmlParserLogMessageConstant.COLOR_NOT_PARSED,
+            count = 2))
+    public void invalidColorIsNotCachedTest() {
+        CssValueParsingCache.parseColor("not-a-color");
+        CssValueParsingCache.parseColor("not-a-color");
+    }
+
+    @Test
+    public void invalidLengthTest() {
+        Assertions.assertNull(CssValueParsingCache.parseLengthValueToPt("auto", 12f, 12f));
+        Assertions.assertNull(CssValueParsingCache.parseLengthValueToPt(null, 12f, 12f));
+    }
+
+    @Test
+    public void equivalentFontFamiliesShareNamesTest() {
+        String[] first = CssValueParsingCache.parseFontFamilies("'Open Sans', serif");
+        String[] second = CssValueParsingCache.parseFontFamilies("\"Open Sans\",serif");
+
+        Assertions.assertArrayEquals(new String[] {"Open Sans", "serif"}, first);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(first[0], second[0]);
+        Assertions.assertNull(CssValueParsingCache.parseFontFamilies(null));
+    }
+
+    @Test
+    public void modifiedFontFamiliesDontAffectCacheTest() {
+        String[] first = CssValueParsingCache.parseFontFamilies("Arial, sans-serif");
+        first[0] = "Courier";
+
+        Assertions.assertArrayEquals(new String[] {"Arial", "sans-serif"},
+                CssValueParsingCache.parseFontFamilies("Arial, sans-serif"));
+    }
+}
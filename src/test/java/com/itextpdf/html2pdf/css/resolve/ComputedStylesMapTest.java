@@ -0,0 +1,121 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.resolve;
+
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class ComputedStylesMapTest extends ExtendedITextTest {
+
+    @Test
+    public void putGetAndRemoveTest() {
+        Map<String, String> styles = new ComputedStylesMap();
+        Assertions.assertNull(styles.put("color", "red"));
+        Assertions.assertNull(styles.put("display", "block"));
+        Assertions.assertEquals("red", styles.put("color", "blue"));
+
+        Assertions.assertEquals(2, styles.size());
+        Assertions.assertEquals("blue", styles.get("color"));
+        Assertions.assertEquals("block", styles.remove("display"));
+        Assertions.assertNull(styles.get("display"));
+        Assertions.assertFalse(styles.containsKey("display"));
+        Assertions.assertEquals(1, styles.size());
+    }
+
+    @Test
+    public void nullValueTest() {
+        Map<String, String> styles = new ComputedStylesMap();
+        styles.put("quotes", null);
+
+        Assertions.assertTrue(styles.containsKey("quotes"));
+        Assertions.assertNull(styles.get("quotes"));
+    }
+
+    @Test
+    public void nullKeyIsNotSupportedTest() {
+        Map<String, String> styles = new ComputedStylesMap();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> styles.put(null, "red"));
+        Assertions.assertNull(styles.get(null));
+    }
+
+    @Test
+    public void resizeKeepsAllPropertiesTest() {
+        Map<String, String> expected = new HashMap<>();
+        Map<String, String> styles = new ComputedStylesMap(1);
+        for (int i = 0; i < 200; i++) {
+            expected.put("property-" + i, "value-" + i);
+            styles.put("property-" + i, "value-" + i);
+        }
+        for (int i = 0; i < 200; i += 3) {
+            expected.remove("property-" + i);
+            styles.remove("property-" + i);
+        }
+
+        Assertions.assertEquals(expected, styles);
+        Assertions.assertEquals(styles, expected);
+        Assertions.assertEquals(expected.hashCode(), styles.hashCode());
+    }
+
+    @Test
+    public void copyIsIndependentTest() {
+        Map<String, String> styles = new ComputedStylesMap();
+        styles.put("color", "red");
+        Map<String, String> copy = new ComputedStylesMap(styles);
+        copy.put("color", "blue");
+        copy.put("display", "block");
+
+        Assertions.assertEquals("red", styles.get("color"));
+        Assertions.assertEquals(1, styles.size());
+        Assertions.assertEquals("blue", copy.get("color"));
+    }
+
+    @Test
+    public void iteratorRemoveAndSetValueTest() {
+        Map<String, String> styles = new ComputedStylesMap();
+        styles.put("color", "red");
+        styles.put("display", "block");
+        styles.put("font-size", "12pt");
+
+        Iterator<Map.Entry<String, String>> iterator = styles.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> entry = iterator.next();
+            if ("display".equals(entry.getKey())) {
+                iterator.remove();
+            } else {
+                entry.setValue(entry.getValue() + "!");
+            }
+        }
+
+        Assertions.assertEquals(2, styles.size());
+        Assertions.assertEquals("red!", styles.get("color"));
+        Assertions.assertEquals("12pt!", styles.get("font-size"));
+        Assertions.assertFalse(styles.containsKey("display"));
+    }
+}
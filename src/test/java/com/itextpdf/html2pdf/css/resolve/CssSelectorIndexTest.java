@@ -0,0 +1,153 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.resolve;
+
+import com.itextpdf.styledxmlparser.css.CssRuleSet;
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
+import com.itextpdf.styledxmlparser.css.media.MediaType;
+import com.itextpdf.styledxmlparser.css.parse.CssStyleSheetParser;
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class CssSelectorIndexTest extends ExtendedITextTest {
+
+    private static final String CSS = "* {margin: 0}\n"
+            + "p {color: red}\n"
+            + "P.note {color: blue}\n"
+            + "div > p:first-child {color: green}\n"
+            + "#main .cell {padding: 1pt}\n"
+            + "td.cell.odd {background: gray}\n"
+            + "td:nth-child(2n+1) {border: 1px solid}\n"
+            + "[data-kind='a b'] {font-weight: bold}\n"
+            + "span:not(.note) {font-style: italic}\n"
+            + "li + li {margin-top: 2pt}\n"
+            + "ul ~ p::before {content: 'x'}\n"
+            + ".a\\:b {color: black}\n"
+            + "@media print { .cell {color: navy} td#last {color: olive} }\n"
+            + "@media screen { .cell {color: lime} }\n"
+            + "#main {width: 100%}\n";
+
+    private static final String HTML = "<html><body><div id='main'><p class='note'>a</p><p>b</p>"
+            + "<table><tr><td class='cell odd'>1</td><td class='cell  even cell'>2</td><td id='last'>3</td></tr>"
+            + "</table><ul><li>x</li><li data-kind='a b'>y</li></ul><p>c</p><span class='note'>d</span>"
+            + "<span class='a:b'>e</span></div></body></html>";
+
+    @Test
+    public void indexedMatchingIsIdenticalToLinearTest() {
+        checkIndexedMatching(new MediaDeviceDescription(MediaType.PRINT));
+        checkIndexedMatching(new MediaDeviceDescription(MediaType.SCREEN));
+    }
+
+    @Test
+    public void counterRelatedIndexKeepsOnlyCounterRuleSetsTest() {
+        MediaDeviceDescription deviceDescription = new MediaDeviceDescription(MediaType.PRINT);
+        CssStyleSheet styleSheet = CssStyleSheetParser.parse("p {color: red}\n"
+                + "p.note {counter-increment: note; margin: 0}\n"
+                + "#main p {counter-reset: item !important}\n"
+                + "p::before {content: counter(note)}\n"
+                + "q {quotes: none}\n"
+                + "div p {font-size: 10pt}\n");
+        CssSelectorIndex fullIndex = new CssSelectorIndex(styleSheet, deviceDescription);
+        CssSelectorIndex counterIndex = CssSelectorIndex.createCounterRelatedIndex(styleSheet, deviceDescription);
+        IDocumentNode document = new JsoupHtmlParser().parse(
+                "<html><body><div id='main'><p class='note'>a</p><q>b</q></div></body></html>");
+
+        LinkedList<INode> queue = new LinkedList<>();
+        queue.add(document);
+        while (!queue.isEmpty()) {
+            INode node = queue.pop();
+            if (node instanceof IElementNode) {
+                List<CssRuleSet> expected = new ArrayList<>();
+                for (CssRuleSet ruleSet : fullIndex.getCssRuleSets(node)) {
+                    String ruleSetText = ruleSet.toString();
+                    if (ruleSetText.contains("counter-") || ruleSetText.contains("content")
+                            || ruleSetText.contains("quotes")) {
+                        expected.add(ruleSet);
+                    }
+                }
+                Assertions.assertEquals(expected, counterIndex.getCssRuleSets(node));
+                if ("p".equals(((IElementNode) node).name())) {
+                    Assertions.assertEquals(2, expected.size());
+                }
+            }
+            queue.addAll(node.childNodes());
+        }
+    }
+
+    @Test
+    public void selectorKeyTest() {
+        CssSelectorIndex.SelectorKey key = CssSelectorIndex.SelectorKey.create("div > td.cell.odd:hover");
+        Assertions.assertEquals("cell", key.className);
+        Assertions.assertEquals("td", key.tagName);
+        Assertions.assertNull(key.id);
+
+        key = CssSelectorIndex.SelectorKey.create("#main p#x[title='a #b']");
+        Assertions.assertEquals("x", key.id);
+        Assertions.assertEquals("p", key.tagName);
+
+        key = CssSelectorIndex.SelectorKey.create("ul li:not(.a .b)");
+        Assertions.assertEquals("li", key.tagName);
+        Assertions.assertNull(key.className);
+
+        key = CssSelectorIndex.SelectorKey.create("*:first-child");
+        Assertions.assertNull(key.tagName);
+        Assertions.assertNull(key.className);
+        Assertions.assertNull(key.id);
+
+        Assertions.assertNull(CssSelectorIndex.SelectorKey.create(".a\\:b"));
+        Assertions.assertNull(CssSelectorIndex.SelectorKey.create("svg|rect"));
+        Assertions.assertNull(CssSelectorIndex.SelectorKey.create("p[title"));
+    }
+
+    private static void checkIndexedMatching(MediaDeviceDescription deviceDescription) {
+        CssStyleSheet styleSheet = CssStyleSheetParser.parse(CSS);
+        CssSelectorIndex index = new CssSelectorIndex(styleSheet, deviceDescription);
+        IDocumentNode document = new JsoupHtmlParser().parse(HTML);
+
+        LinkedList<INode> queue = new LinkedList<>();
+        queue.add(document);
+        int elementsCount = 0;
+        while (!queue.isEmpty()) {
+            INode node = queue.pop();
+            if (node instanceof IElementNode) {
+                elementsCount++;
+                Assertions.assertEquals(styleSheet.getCssRuleSets(node, deviceDescription),
+                        index.getCssRuleSets(node));
+            }
+            queue.addAll(node.childNodes());
+        }
+        Assertions.assertTrue(elementsCount > 10);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.resolve;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class CssStyleSheetCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void leastRecentlyUsedStyleSheetIsEvictedTest() {
+        CssStyleSheetCache cache = new CssStyleSheetCache(2);
+        CssStyleSheet first = new CssStyleSheet();
+        CssStyleSheet second = new CssStyleSheet();
+        CssStyleSheet third = new CssStyleSheet();
+
+        cache.putLinkedStyleSheet("http://example.com/first.css", first);
+        cache.putInlineStyleSheet("", "p {color: red}", second);
+        Assertions.assertSame(first, cache.getLinkedStyleSheet("http://example.com/first.css"));
+        cache.putLinkedStyleSheet("http://example.com/third.css", third);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNull(cache.getInlineStyleSheet("", "p {color: red}"));
+        Assertions.assertSame(first, cache.getLinkedStyleSheet("http://example.com/first.css"));
+        Assertions.assertSame(third, cache.getLinkedStyleSheet("http://example.com/third.css"));
+        Assertions.assertEquals(3, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void inlineStyleSheetKeyIncludesBaseUriTest() {
+        CssStyleSheetCache cache = new CssStyleSheetCache();
+        CssStyleSheet styleSheet = new CssStyleSheet();
+
+        cache.putInlineStyleSheet("file:///a/", "p {color: red}", styleSheet);
+
+        Assertions.assertSame(styleSheet, cache.getInlineStyleSheet("file:///a/", "p {color: red}"));
+        Assertions.assertNull(cache.getInlineStyleSheet("file:///b/", "p {color: red}"));
+        Assertions.assertNull(cache.getLinkedStyleSheet("p {color: red}"));
+    }
+
+    @Test
+    public void clearResetsCountersTest() {
+        CssStyleSheetCache cache = new CssStyleSheetCache();
+        cache.putLinkedStyleSheet("http://example.com/styles.css", new CssStyleSheet());
+        cache.getLinkedStyleSheet("http://example.com/styles.css");
+        cache.getLinkedStyleSheet("http://example.com/other.css");
+
+        cache.clear();
+
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.getHitCount());
+        Assertions.assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void nonPositiveMaxSizeTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CssStyleSheetCache(0));
+    }
+
+    @Test
+    public void styleSheetIsParsedOnceForSeveralConversionsTest() {
+        String html = "<html><head><style>p {color: red}</style></head><body><p>Hello</p></body></html>";
+        CssStyleSheetCache cache = new CssStyleSheetCache();
+        ConverterProperties properties = new ConverterProperties().setCssStyleSheetCache(cache);
+
+        HtmlConverter.convertToPdf(html, new ByteArrayOutputStream(), properties);
+        HtmlConverter.convertToPdf(html, new ByteArrayOutputStream(), properties);
+
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(1, cache.getHitCount());
+    }
+}
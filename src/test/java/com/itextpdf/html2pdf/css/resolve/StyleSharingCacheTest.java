@@ -0,0 +1,91 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.css.resolve;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.attach.ProcessorContext;
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class StyleSharingCacheTest extends ExtendedITextTest {
+
+    private static final String HTML = "<html><head><style>"
+            + "li {color: red} li.odd {color: blue} td {padding: 2px} tr:nth-child(2n) td {color: green}"
+            + " p + p {margin-top: 0} span:first-child {font-weight: bold} .big {font-size: 1.5em}"
+            + "</style></head><body>"
+            + "<ul><li>1</li><li class='odd'>2</li><li>3</li><li class='odd big'>4</li><li>5</li></ul>"
+            + "<table border='1'><tr><td>a</td><td>b</td></tr><tr><td>c</td><td style='color: navy'>d</td></tr>"
+            + "</table><p>x</p><p>y</p><div><span>s</span><span>t</span></div></body></html>";
+
+    @Test
+    public void sharedStylesAreIdenticalToResolvedTest() {
+        List<Map<String, String>> expected = resolveAllStyles(new ConverterProperties());
+        List<Map<String, String>> actual = resolveAllStyles(new ConverterProperties().setCssStyleSharingEnabled(true));
+
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void positionDependentSelectorsAreDetectedTest() {
+        Assertions.assertTrue(CssSelectorIndex.SelectorKey.isPositionDependent("tr:nth-child(2n) td"));
+        Assertions.assertTrue(CssSelectorIndex.SelectorKey.isPositionDependent("p + p"));
+        Assertions.assertTrue(CssSelectorIndex.SelectorKey.isPositionDependent("h1 ~ p"));
+        Assertions.assertTrue(CssSelectorIndex.SelectorKey.isPositionDependent("div:EMPTY"));
+        Assertions.assertFalse(CssSelectorIndex.SelectorKey.isPositionDependent("ul > li.odd"));
+        Assertions.assertFalse(CssSelectorIndex.SelectorKey.isPositionDependent("a[title='x + y']"));
+    }
+
+    private static List<Map<String, String>> resolveAllStyles(ConverterProperties properties) {
+        IDocumentNode document = new JsoupHtmlParser().parse(HTML);
+        ProcessorContext context = new ProcessorContext(properties);
+        DefaultCssResolver resolver = new DefaultCssResolver(document, context);
+        List<Map<String, String>> styles = new ArrayList<>();
+        for (INode child : document.childNodes()) {
+            resolveStyles(child, resolver, context, styles);
+        }
+        return styles;
+    }
+
+    private static void resolveStyles(INode node, DefaultCssResolver resolver, ProcessorContext context,
+            List<Map<String, String>> styles) {
+        if (node instanceof IElementNode) {
+            IElementNode element = (IElementNode) node;
+            element.setStyles(resolver.resolveStyles(element, context.getCssContext()));
+            styles.add(element.getStyles());
+            for (INode child : element.childNodes()) {
+                resolveStyles(child, resolver, context, styles);
+            }
+        }
+    }
+}
@@ -69,4 +69,25 @@ public class CssStyleSheetAnalyzerTest extends ExtendedITextTest {
         Assertions.assertFalse(CssStyleSheetAnalyzer.checkPagesCounterPresence(styleSheet));
     }
 
+    @Test
+    public void pagesCounterInMarginBoxOnlyTest() {
+        CssStyleSheet styleSheet = CssStyleSheetParser.parse(
+                "@page { @bottom-right { content: 'Page ' counter(page) ' of ' counter(pages) } }");
+        Assertions.assertTrue(CssStyleSheetAnalyzer.checkPagesCounterPresence(styleSheet));
+        Assertions.assertFalse(CssStyleSheetAnalyzer.checkPagesCounterPresenceOutsideOfMarginBoxes(styleSheet));
+    }
+
+    @Test
+    public void pagesCounterInContentTest() {
+        CssStyleSheet styleSheet = CssStyleSheetParser.parse(
+                "@page { @bottom-right { content: counter(pages) } } .x::before { content: counter(pages) }");
+        Assertions.assertTrue(CssStyleSheetAnalyzer.checkPagesCounterPresenceOutsideOfMarginBoxes(styleSheet));
+    }
+
+    @Test
+    public void pageTargetCounterInMarginBoxTest() {
+        CssStyleSheet styleSheet = CssStyleSheetParser.parse(
+                "@page { @bottom-right { content: target-counter('#x', page) } }");
+        Assertions.assertTrue(CssStyleSheetAnalyzer.checkPagesCounterPresenceOutsideOfMarginBoxes(styleSheet));
+    }
 }
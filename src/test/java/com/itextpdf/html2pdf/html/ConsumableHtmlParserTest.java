@@ -0,0 +1,113 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.html;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.ITextNode;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class ConsumableHtmlParserTest extends ExtendedITextTest {
+
+    @Test
+    public void releasedChildIsReplacedWithPlaceholderTest() {
+        IDocumentNode document = new ConsumableHtmlParser().parse("<html><head><style>p { color: red; }</style>"
+                + "</head><body><p class=\"first\">Some <b>text</b></p>tail</body></html>");
+        ConsumableBodyElementNode body = (ConsumableBodyElementNode) findBody(document);
+
+        Assertions.assertEquals(2, body.childNodes().size());
+        IElementNode paragraph = (IElementNode) body.childNodes().get(0);
+        Assertions.assertSame(body, paragraph.parentNode());
+        Assertions.assertEquals(2, paragraph.childNodes().size());
+        Assertions.assertSame(paragraph, paragraph.childNodes().get(1).parentNode());
+
+        body.releaseChild(0);
+        body.releaseChild(1);
+
+        IElementNode placeholder = (IElementNode) body.childNodes().get(0);
+        Assertions.assertNotSame(paragraph, placeholder);
+        Assertions.assertEquals(TagConstants.P, placeholder.name());
+        Assertions.assertEquals("first", placeholder.getAttribute(AttributeConstants.CLASS));
+        Assertions.assertTrue(placeholder.childNodes().isEmpty());
+        Assertions.assertSame(body, placeholder.parentNode());
+        Assertions.assertEquals("", ((ITextNode) body.childNodes().get(1)).wholeText());
+    }
+
+    @Test
+    public void consumedDomIsConvertedAsWholeDomTest() throws IOException {
+        StringBuilder html = new StringBuilder("<html><head><style>p:first-child { color: red; }"
+                + " h2 + p { font-weight: bold; } p:nth-child(3n) { font-style: italic; }</style></head><body>");
+        for (int i = 0; i < 300; i++) {
+            if (i % 50 == 0) {
+                html.append("<h2>Section ").append(i / 50).append("</h2>");
+            }
+            html.append("<p>Paragraph ").append(i).append(" with <i>inline</i> content</p>");
+        }
+        html.append("</body></html>");
+
+        byte[] expected = convert(html.toString(), new ConverterProperties());
+        byte[] actual = convert(html.toString(), new ConverterProperties().setDomConsumptionEnabled(true));
+
+        try (PdfDocument expectedDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected)));
+                PdfDocument actualDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(actual)))) {
+            Assertions.assertEquals(expectedDocument.getNumberOfPages(), actualDocument.getNumberOfPages());
+            for (int i = 1; i <= expectedDocument.getNumberOfPages(); i++) {
+                Assertions.assertEquals(PdfTextExtractor.getTextFromPage(expectedDocument.getPage(i)),
+                        PdfTextExtractor.getTextFromPage(actualDocument.getPage(i)));
+            }
+        }
+    }
+
+    private static INode findBody(INode node) {
+        if (node instanceof IElementNode && TagConstants.BODY.equals(((IElementNode) node).name())) {
+            return node;
+        }
+        for (INode child : node.childNodes()) {
+            INode body = findBody(child);
+            if (body != null) {
+                return body;
+            }
+        }
+        return null;
+    }
+
+    private static byte[] convert(String html, ConverterProperties properties) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos, properties);
+        return baos.toByteArray();
+    }
+}
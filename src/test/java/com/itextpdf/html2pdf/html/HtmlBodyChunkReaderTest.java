@@ -0,0 +1,93 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.html;
+
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class HtmlBodyChunkReaderTest extends ExtendedITextTest {
+
+    @Test
+    public void documentStartTest() throws IOException {
+        HtmlBodyChunkReader reader = new HtmlBodyChunkReader(new StringReader("<!DOCTYPE html><html lang='en'>"
+                + "<head><title>a<b</title><script>if (a<b) {}</script></head><body class=\"x\"><p>text</p>"));
+
+        Assertions.assertEquals("<!DOCTYPE html><html lang='en'><head><title>a<b</title>"
+                + "<script>if (a<b) {}</script></head>", reader.readDocumentStart());
+        Assertions.assertEquals("<html lang='en'>", reader.getHtmlStartTag());
+        Assertions.assertEquals("<body class=\"x\">", reader.getBodyStartTag());
+        Assertions.assertEquals("<p>text</p>", reader.readNextChunk());
+        Assertions.assertNull(reader.readNextChunk());
+    }
+
+    @Test
+    public void implicitBodyTest() throws IOException {
+        HtmlBodyChunkReader reader = new HtmlBodyChunkReader(new StringReader("<title>t</title>Hello <b>x</b>"));
+
+        Assertions.assertEquals("<title>t</title>", reader.readDocumentStart());
+        Assertions.assertEquals("<html>", reader.getHtmlStartTag());
+        Assertions.assertEquals("<body>", reader.getBodyStartTag());
+        Assertions.assertEquals("Hello <b>x</b>", reader.readNextChunk());
+        Assertions.assertNull(reader.readNextChunk());
+    }
+
+    @Test
+    public void chunksEndAtTopLevelBlockBoundariesTest() throws IOException {
+        HtmlBodyChunkReader reader = new HtmlBodyChunkReader(new StringReader("<body><p>one<p>two"
+                + "<div>x<!-- </div> --></div><ul><li>a<li>b</ul>text <svg><rect/></svg><br>"
+                + "<table><tr><td>1<td>2<tr><td>3</table></body></html>tail"), 1);
+        reader.readDocumentStart();
+
+        Assertions.assertEquals(Arrays.asList("<p>one", "<p>two", "<div>x<!-- </div> --></div>",
+                "<ul><li>a<li>b</ul>", "text <svg><rect/></svg><br>", "<table><tr><td>1<td>2<tr><td>3</table>",
+                "tail"), readChunks(reader));
+    }
+
+    @Test
+    public void chunkSizeTest() throws IOException {
+        HtmlBodyChunkReader reader = new HtmlBodyChunkReader(new StringReader("<body><p>1</p><p>2</p><p>3</p>"
+                + "<p>4</p><p>5</p>"), 16);
+        reader.readDocumentStart();
+
+        Assertions.assertEquals(Arrays.asList("<p>1</p><p>2</p>", "<p>3</p><p>4</p>", "<p>5</p>"),
+                readChunks(reader));
+    }
+
+    private static List<String> readChunks(HtmlBodyChunkReader reader) throws IOException {
+        List<String> chunks = new ArrayList<>();
+        String chunk;
+        while ((chunk = reader.readNextChunk()) != null) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+}
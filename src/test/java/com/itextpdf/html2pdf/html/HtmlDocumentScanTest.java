@@ -0,0 +1,70 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.html;
+
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class HtmlDocumentScanTest extends ExtendedITextTest {
+
+    @Test
+    public void scanTest() {
+        IDocumentNode document = new JsoupHtmlParser().parse("<html><head><link rel=\"stylesheet\" href=\"a.css\">"
+                + "<style>p { color: red; }</style></head><body><div><style>p { color: blue; }</style>"
+                + "<a href=\"#target\">link</a><a href=\"http://example.com/#external\">external</a></div>"
+                + "<p id=\"target\">text</p><a href=\"#other\">other</a></body></html>");
+
+        HtmlDocumentScan scan = HtmlDocumentScan.scan(document);
+
+        Assertions.assertEquals(TagConstants.HTML, scan.getHtmlNode().name());
+        Assertions.assertEquals(TagConstants.BODY, scan.getBodyNode().name());
+        Assertions.assertSame(scan.getHtmlNode(), scan.getBodyNode().parentNode());
+        List<IElementNode> styleSheetElements = scan.getStyleSheetElements();
+        Assertions.assertEquals(3, styleSheetElements.size());
+        Assertions.assertEquals(TagConstants.LINK, styleSheetElements.get(0).name());
+        Assertions.assertEquals(TagConstants.STYLE, styleSheetElements.get(1).name());
+        Assertions.assertEquals(TagConstants.STYLE, styleSheetElements.get(2).name());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("target", "other")), scan.getLinkDestinations());
+    }
+
+    @Test
+    public void scanWithoutHtmlStructureTest() {
+        HtmlDocumentScan scan = HtmlDocumentScan.scan(new XhtmlParser().parse("<p>text</p>").childNodes().get(0)
+                .childNodes().get(0));
+
+        Assertions.assertNull(scan.getHtmlNode());
+        Assertions.assertEquals(TagConstants.BODY, scan.getBodyNode().name());
+        Assertions.assertTrue(scan.getStyleSheetElements().isEmpty());
+        Assertions.assertTrue(scan.getLinkDestinations().isEmpty());
+    }
+}
@@ -0,0 +1,182 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.html;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.styledxmlparser.node.IDataNode;
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.ITextNode;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class XhtmlParserTest extends ExtendedITextTest {
+
+    @Test
+    public void documentStructureTest() {
+        IDocumentNode document = new XhtmlParser().parse("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Strict//EN\" "
+                + "\"http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd\">\n"
+                + "<html xmlns=\"http://www.w3.org/1999/xhtml\">\n<head>\n<style>p > b { color: red; }</style>\n"
+                + "</head>\n<BODY><!-- comment --><P Class='a&amp;b'>x&nbsp;<b>y</b><br>z<![CDATA[<&>]]></P>"
+                + "<svg viewBox=\"0 0 10 10\"><rect/></svg></BODY></html>");
+
+        Assertions.assertEquals(1, document.childNodes().size());
+        IElementNode html = (IElementNode) document.childNodes().get(0);
+        Assertions.assertEquals(TagConstants.HTML, html.name());
+        Assertions.assertEquals(2, html.childNodes().size());
+
+        IElementNode head = (IElementNode) html.childNodes().get(0);
+        Assertions.assertEquals(1, head.childNodes().size());
+        IElementNode style = (IElementNode) head.childNodes().get(0);
+        Assertions.assertEquals("p > b { color: red; }", ((IDataNode) style.childNodes().get(0)).getWholeData());
+
+        IElementNode body = (IElementNode) html.childNodes().get(1);
+        Assertions.assertEquals(TagConstants.BODY, body.name());
+        Assertions.assertSame(html, body.parentNode());
+        Assertions.assertEquals(2, body.childNodes().size());
+
+        IElementNode paragraph = (IElementNode) body.childNodes().get(0);
+        Assertions.assertEquals(TagConstants.P, paragraph.name());
+        Assertions.assertEquals("a&b", paragraph.getAttribute(AttributeConstants.CLASS));
+        Assertions.assertEquals(4, paragraph.childNodes().size());
+        Assertions.assertEquals("x\u00A0", ((ITextNode) paragraph.childNodes().get(0)).wholeText());
+        Assertions.assertEquals(TagConstants.BR, ((IElementNode) paragraph.childNodes().get(2)).name());
+        Assertions.assertEquals("z<&>", ((ITextNode) paragraph.childNodes().get(3)).wholeText());
+
+        IElementNode svg = (IElementNode) body.childNodes().get(1);
+        Assertions.assertEquals("0 0 10 10", svg.getAttribute("viewbox"));
+        Assertions.assertEquals(1, svg.childNodes().size());
+    }
+
+    @Test
+    public void fragmentIsWrappedIntoBodyTest() {
+        IDocumentNode document = new XhtmlParser().parse("<div>text</div>");
+
+        IElementNode html = (IElementNode) document.childNodes().get(0);
+        Assertions.assertEquals(TagConstants.HTML, html.name());
+        Assertions.assertEquals(2, html.childNodes().size());
+        Assertions.assertEquals(TagConstants.HEAD, ((IElementNode) html.childNodes().get(0)).name());
+        IElementNode body = (IElementNode) html.childNodes().get(1);
+        Assertions.assertEquals(TagConstants.BODY, body.name());
+        INode div = body.childNodes().get(0);
+        Assertions.assertEquals(TagConstants.DIV, ((IElementNode) div).name());
+    }
+
+    @Test
+    public void headAndBodyAreImpliedInHtmlTest() {
+        IDocumentNode document = new XhtmlParser().parse("<html lang=\"en\"><title>Title</title>"
+                + "<div>text</div></html>");
+
+        Assertions.assertEquals(1, document.childNodes().size());
+        IElementNode html = (IElementNode) document.childNodes().get(0);
+        Assertions.assertEquals("en", html.getAttribute("lang"));
+        Assertions.assertEquals(2, html.childNodes().size());
+        IElementNode head = (IElementNode) html.childNodes().get(0);
+        Assertions.assertEquals(TagConstants.HEAD, head.name());
+        Assertions.assertEquals(TagConstants.TITLE, ((IElementNode) head.childNodes().get(0)).name());
+        IElementNode body = (IElementNode) html.childNodes().get(1);
+        Assertions.assertEquals(TagConstants.BODY, body.name());
+        Assertions.assertEquals(TagConstants.DIV, ((IElementNode) body.childNodes().get(0)).name());
+    }
+
+    @Test
+    public void bodyIsImpliedForEmptyHtmlTest() {
+        IDocumentNode document = new XhtmlParser().parse("<html><head><title>Title</title></head></html>");
+
+        IElementNode html = (IElementNode) document.childNodes().get(0);
+        Assertions.assertEquals(2, html.childNodes().size());
+        Assertions.assertEquals(TagConstants.HEAD, ((IElementNode) html.childNodes().get(0)).name());
+        Assertions.assertEquals(TagConstants.BODY, ((IElementNode) html.childNodes().get(1)).name());
+    }
+
+    @Test
+    public void charsetFromXmlDeclarationTest() throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<html><body><p>caf\u00E9</p></body></html>")
+                .getBytes(StandardCharsets.ISO_8859_1);
+        IDocumentNode document = new XhtmlParser().parse(new ByteArrayInputStream(bytes), null);
+
+        Assertions.assertEquals("caf\u00E9", findParagraphText(document));
+    }
+
+    @Test
+    public void charsetFromByteOrderMarkTest() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+        bytes.write("<html><body><p>caf\u00E9</p></body></html>".getBytes(StandardCharsets.UTF_8));
+        IDocumentNode document = new XhtmlParser().parse(new ByteArrayInputStream(bytes.toByteArray()),
+                "ISO-8859-1");
+
+        Assertions.assertEquals("caf\u00E9", findParagraphText(document));
+    }
+
+    @Test
+    public void convertedAsWithDefaultParserTest() throws IOException {
+        StringBuilder html = new StringBuilder("<html><head><title>Title</title><style>td { border: 1px solid; }"
+                + " .odd { color: blue; }</style></head><body><h1>Report &amp; summary</h1><table><tbody>");
+        for (int i = 0; i < 200; i++) {
+            html.append("<tr class=\"").append(i % 2 == 0 ? "even" : "odd").append("\"><td>").append(i)
+                    .append("</td><td>Row&#160;").append(i).append(" with <b>bold</b> text</td></tr>");
+        }
+        html.append("</tbody></table><ul><li>One</li><li>Two</li></ul></body></html>");
+
+        byte[] expected = convert(html.toString(), new ConverterProperties());
+        byte[] actual = convert(html.toString(), new ConverterProperties().setHtmlParser(new XhtmlParser()));
+
+        try (PdfDocument expectedDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected)));
+                PdfDocument actualDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(actual)))) {
+            Assertions.assertEquals(expectedDocument.getNumberOfPages(), actualDocument.getNumberOfPages());
+            for (int i = 1; i <= expectedDocument.getNumberOfPages(); i++) {
+                Assertions.assertEquals(PdfTextExtractor.getTextFromPage(expectedDocument.getPage(i)),
+                        PdfTextExtractor.getTextFromPage(actualDocument.getPage(i)));
+            }
+        }
+    }
+
+    private static String findParagraphText(IDocumentNode document) {
+        IElementNode html = (IElementNode) document.childNodes().get(0);
+        IElementNode body = (IElementNode) html.childNodes().get(1);
+        IElementNode paragraph = (IElementNode) body.childNodes().get(0);
+        return ((ITextNode) paragraph.childNodes().get(0)).wholeText();
+    }
+
+    private static byte[] convert(String html, ConverterProperties properties) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)), baos,
+                properties);
+        return baos.toByteArray();
+    }
+}
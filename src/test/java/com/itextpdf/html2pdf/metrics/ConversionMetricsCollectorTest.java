@@ -0,0 +1,82 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.metrics;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class ConversionMetricsCollectorTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/html2pdf/element/TableTest/";
+
+    @Test
+    public void conversionMetricsTest() {
+        String html = "<html><head><style>p { color: red } @page { @bottom-center { content: counter(pages) } }"
+                + "</style></head><body><p>text</p><img src='100x100placeholder.png'/></body></html>";
+        ConversionMetricsCollector collector = new ConversionMetricsCollector();
+        ConverterProperties properties = new ConverterProperties().setBaseUri(SOURCE_FOLDER)
+                .setConversionMetricsListener(collector);
+        HtmlConverter.convertToPdf(html, new ByteArrayOutputStream(), properties);
+
+        Assertions.assertEquals(1, collector.getStageRuns(ConversionStage.PARSING));
+        Assertions.assertEquals(1, collector.getStageRuns(ConversionStage.CSS_COLLECTION));
+        Assertions.assertEquals(1, collector.getStageRuns(ConversionStage.STYLE_RESOLUTION));
+        Assertions.assertEquals(1, collector.getStageRuns(ConversionStage.VISIT));
+        Assertions.assertEquals(1, collector.getStageRuns(ConversionStage.FLUSH));
+        Assertions.assertTrue(collector.getStageRuns(ConversionStage.RELAYOUT) > 0);
+        Assertions.assertEquals(collector.getStageRuns(ConversionStage.RELAYOUT),
+                collector.getCounter(ConversionCounter.RELAYOUTS));
+        Assertions.assertTrue(collector.getStageDuration(ConversionStage.VISIT)
+                >= collector.getStageDuration(ConversionStage.STYLE_RESOLUTION));
+
+        Assertions.assertTrue(collector.getCounter(ConversionCounter.ELEMENTS_VISITED) >= 4);
+        Assertions.assertTrue(collector.getCounter(ConversionCounter.RULE_SETS_MATCHED) >= 1);
+        Assertions.assertEquals(1, collector.getCounter(ConversionCounter.PAGES));
+        Assertions.assertEquals(0, collector.getCounter(ConversionCounter.FONTS_LOADED));
+        Assertions.assertEquals(1, collector.getResourcesFetched());
+        Assertions.assertTrue(collector.getResourceBytes() > 0);
+    }
+
+    @Test
+    public void resetTest() {
+        ConversionMetricsCollector collector = new ConversionMetricsCollector();
+        collector.onStageCompleted(ConversionStage.PARSING, 10);
+        collector.onCounterIncremented(ConversionCounter.PAGES, 2);
+        collector.onResourceFetched("file:///image.png", 100, 5);
+        collector.reset();
+
+        Assertions.assertEquals(0, collector.getStageDuration(ConversionStage.PARSING));
+        Assertions.assertEquals(0, collector.getStageRuns(ConversionStage.PARSING));
+        Assertions.assertEquals(0, collector.getCounter(ConversionCounter.PAGES));
+        Assertions.assertEquals(0, collector.getResourcesFetched());
+        Assertions.assertEquals(0, collector.getResourceBytes());
+        Assertions.assertEquals(0, collector.getResourceFetchDuration());
+    }
+}
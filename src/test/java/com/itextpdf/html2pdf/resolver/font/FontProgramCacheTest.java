@@ -0,0 +1,98 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.font;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class FontProgramCacheTest extends ExtendedITextTest {
+
+    private static final String FONTS_FOLDER = "./src/test/resources/com/itextpdf/html2pdf/fonts/";
+
+    @Test
+    public void fontProgramIsSharedBetweenConversionsTest() {
+        String html = "<html><head><style>@font-face { font-family: 'Roboto'; src: url('Roboto-Regular.ttf'); }"
+                + " p { font-family: 'Roboto'; }</style></head><body><p>Hello World</p></body></html>";
+        FontProgramCache cache = new FontProgramCache();
+        ConverterProperties properties = new ConverterProperties().setBaseUri(FONTS_FOLDER)
+                .setFontProgramCache(cache);
+        convert(html, properties);
+
+        // The program is stored under both its URL and its content hash
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(0, cache.getHitCount());
+
+        convert(html, properties);
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void sameFontUnderDifferentUrlIsParsedOnceTest() {
+        String html = "<html><head><style>@font-face { font-family: 'First'; src: url('NotoEmoji-Regular.ttf'); }"
+                + " @font-face { font-family: 'Second'; src: url('../SurrogatePairsTests/fonts/NotoEmoji-Regular.ttf'); }"
+                + " p { font-family: 'First'; } div { font-family: 'Second'; }</style></head>"
+                + "<body><p>Hello</p><div>World</div></body></html>";
+        FontProgramCache cache = new FontProgramCache();
+        convert(html, new ConverterProperties().setBaseUri(FONTS_FOLDER).setFontProgramCache(cache));
+
+        // Two URL keys and a single content key
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedFontIsEvictedTest() throws IOException {
+        FontProgram helvetica = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+        FontProgram courier = FontProgramFactory.createFont(StandardFonts.COURIER);
+        FontProgramCache cache = new FontProgramCache(2);
+        cache.putFontProgram("helvetica", helvetica);
+        cache.putFontProgram("courier", courier);
+        Assertions.assertSame(helvetica, cache.getFontProgram("helvetica"));
+        cache.putFontProgram("times", FontProgramFactory.createFont(StandardFonts.TIMES_ROMAN));
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertSame(helvetica, cache.getFontProgram("helvetica"));
+        Assertions.assertNull(cache.getFontProgram("courier"));
+    }
+
+    @Test
+    public void nonPositiveMaxSizeTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new FontProgramCache(0));
+    }
+
+    private static void convert(String html, ConverterProperties properties) {
+        HtmlConverter.convertToPdf(html, new ByteArrayOutputStream(), properties);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.font;
+
+import com.itextpdf.commons.datastructures.Tuple2;
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.font.FontCharacteristics;
+import com.itextpdf.styledxmlparser.resolver.font.BasicFontProvider;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class GlyphSelectionCachingFontProviderTest extends ExtendedITextTest {
+
+    @Test
+    public void glyphLinesAreCachedAndCopiedTest() {
+        GlyphSelectionCachingFontProvider fontProvider = new GlyphSelectionCachingFontProvider(
+                new BasicFontProvider(false, true, false));
+        List<String> fontFamilies = Collections.singletonList("FreeSans");
+
+        List<Tuple2<GlyphLine, PdfFont>> first = fontProvider.createFontSelectorStrategy(fontFamilies,
+                new FontCharacteristics(), null).getGlyphLines("Hello World");
+        List<Tuple2<GlyphLine, PdfFont>> second = fontProvider.createFontSelectorStrategy(fontFamilies,
+                new FontCharacteristics(), null).getGlyphLines("Hello World");
+
+        Assertions.assertEquals(1, fontProvider.size());
+        Assertions.assertEquals(1, fontProvider.getHitCount());
+        Assertions.assertEquals(first.size(), second.size());
+        Assertions.assertNotSame(first.get(0).getFirst(), second.get(0).getFirst());
+        Assertions.assertSame(first.get(0).getSecond(), second.get(0).getSecond());
+        Assertions.assertEquals(first.get(0).getFirst().toString(), second.get(0).getFirst().toString());
+
+        fontProvider.reset();
+        Assertions.assertEquals(0, fontProvider.size());
+    }
+
+    @Test
+    public void relayoutWithCachedGlyphsTest() throws IOException {
+        StringBuilder html = new StringBuilder("<html><head><style>@page { @bottom-center { content: "
+                + "'Page ' counter(page) ' of ' counter(pages) } } p:before { content: counter(pages) ' ' }"
+                + "</style></head><body>");
+        for (int i = 0; i < 100; i++) {
+            html.append("<p>Paragraph ").append(i).append(" with some text</p>");
+        }
+        html.append("</body></html>");
+
+        byte[] expected = convert(html.toString(), new ConverterProperties());
+        byte[] actual = convert(html.toString(), new ConverterProperties().setGlyphSelectionCacheEnabled(true));
+
+        try (PdfDocument expectedDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(expected)));
+                PdfDocument actualDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(actual)))) {
+            Assertions.assertEquals(expectedDocument.getNumberOfPages(), actualDocument.getNumberOfPages());
+            for (int i = 1; i <= expectedDocument.getNumberOfPages(); i++) {
+                Assertions.assertEquals(PdfTextExtractor.getTextFromPage(expectedDocument.getPage(i)),
+                        PdfTextExtractor.getTextFromPage(actualDocument.getPage(i)));
+            }
+        }
+    }
+
+    private static byte[] convert(String html, ConverterProperties properties) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos, properties);
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.styledxmlparser.resolver.resource.DefaultResourceRetriever;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class ImageDataCacheTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/html2pdf/element/TableTest/";
+
+    @Test
+    public void leastRecentlyUsedImageIsEvictedTest() {
+        ImageDataCache cache = new ImageDataCache(250);
+        cache.putImageData("a", ImageDataFactory.createRawImage(new byte[100]));
+        cache.putImageData("b", ImageDataFactory.createRawImage(new byte[100]));
+        Assertions.assertNotNull(cache.getImageData("a"));
+        cache.putImageData("c", ImageDataFactory.createRawImage(new byte[100]));
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(200, cache.getSizeInBytes());
+        Assertions.assertNotNull(cache.getImageData("a"));
+        Assertions.assertNull(cache.getImageData("b"));
+        Assertions.assertNotNull(cache.getImageData("c"));
+    }
+
+    @Test
+    public void imageLargerThanCacheIsNotCachedTest() {
+        ImageDataCache cache = new ImageDataCache(50);
+        cache.putImageData("a", ImageDataFactory.createRawImage(new byte[100]));
+
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertNull(cache.getImageData("a"));
+    }
+
+    @Test
+    public void expiredImageIsNotReturnedTest() throws InterruptedException {
+        ImageDataCache cache = new ImageDataCache(ImageDataCache.DEFAULT_MAX_SIZE_IN_BYTES, 1);
+        ImageData imageData = ImageDataFactory.createRawImage(new byte[100]);
+        cache.putImageData("a", imageData);
+        Thread.sleep(10);
+
+        Assertions.assertNull(cache.getImageData("a"));
+        Assertions.assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void invalidParametersTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ImageDataCache(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ImageDataCache(100, -1));
+    }
+
+    @Test
+    public void imageIsSharedBetweenConversionsTest() {
+        String html = "<html><body><img src='100x100placeholder.png'/></body></html>";
+        ImageDataCache cache = new ImageDataCache();
+        CountingResourceRetriever retriever = new CountingResourceRetriever();
+        ConverterProperties properties = new ConverterProperties().setBaseUri(SOURCE_FOLDER)
+                .setResourceRetriever(retriever)
+                .setImageDataCache(cache);
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, first, properties);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, second, properties);
+
+        Assertions.assertEquals(1, retriever.count.get());
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(1, cache.getHitCount());
+        Assertions.assertEquals(first.size(), second.size());
+    }
+
+    @Test
+    public void base64ImageIsSharedBetweenConversionsTest() {
+        String html = "<html><body><img src='data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAA"
+                + "DUlEQVR42mP8z8BQDwAEhQGAhKmMIQAAAABJRU5ErkJggg=='/>"
+                + "<img src='data:image/png;base64, iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAA"
+                + "DUlEQVR42mP8z8BQDwAEhQGAhKmMIQAAAABJRU5ErkJggg=='/></body></html>";
+        ImageDataCache cache = new ImageDataCache();
+        ConverterProperties properties = new ConverterProperties().setImageDataCache(cache);
+        HtmlConverter.convertToPdf(html, new ByteArrayOutputStream(), properties);
+        HtmlConverter.convertToPdf(html, new ByteArrayOutputStream(), properties);
+
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(1, cache.getHitCount());
+    }
+
+    private static class CountingResourceRetriever extends DefaultResourceRetriever {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public byte[] getByteArrayByUrl(URL url) throws IOException {
+            count.incrementAndGet();
+            return super.getByteArrayByUrl(url);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class ImageStreamingTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/html2pdf/element/TableTest/";
+
+    private static final String PDFA_IMAGES_FOLDER =
+            "./src/test/resources/com/itextpdf/html2pdf/HtmlConverterPdfAParameterizedTest/images/";
+
+    @Test
+    public void jpegHeaderTest() throws IOException {
+        try (InputStream is = new FileInputStream(SOURCE_FOLDER + "image400on400.jpg")) {
+            PassThroughImageHeader header = PassThroughImageHeader.read(is);
+            Assertions.assertNotNull(header);
+            Assertions.assertEquals(PdfName.DCTDecode, header.getFilter());
+            Assertions.assertEquals(400, header.getWidth());
+            Assertions.assertEquals(400, header.getHeight());
+            Assertions.assertEquals(3, header.getComponents());
+            Assertions.assertEquals(8, header.getBitsPerComponent());
+        }
+    }
+
+    @Test
+    public void jpegWithIccProfileHeaderTest() throws IOException {
+        try (InputStream is = new FileInputStream(PDFA_IMAGES_FOLDER + "bee.jpg")) {
+            Assertions.assertNull(PassThroughImageHeader.read(is));
+        }
+    }
+
+    @Test
+    public void jp2HeaderTest() throws IOException {
+        try (InputStream is = new FileInputStream(PDFA_IMAGES_FOLDER + "bee.jp2")) {
+            PassThroughImageHeader header = PassThroughImageHeader.read(is);
+            Assertions.assertNotNull(header);
+            Assertions.assertEquals(PdfName.JPXDecode, header.getFilter());
+            Assertions.assertEquals(640, header.getWidth());
+            Assertions.assertEquals(800, header.getHeight());
+        }
+    }
+
+    @Test
+    public void pngHeaderTest() throws IOException {
+        try (InputStream is = new FileInputStream(SOURCE_FOLDER + "100x100placeholder.png")) {
+            Assertions.assertNull(PassThroughImageHeader.read(is));
+        }
+    }
+
+    @Test
+    public void jpegIsStreamedTest() throws IOException {
+        String html = "<html><body><img src='image400on400.jpg'/><img src='image400on400.jpg'/></body></html>";
+        ConverterProperties properties = new ConverterProperties().setBaseUri(SOURCE_FOLDER)
+                .setImageStreamingThreshold(0);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos, properties);
+
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            PdfDictionary xObjects = pdfDocument.getPage(1).getResources().getResource(PdfName.XObject);
+            Assertions.assertEquals(1, xObjects.size());
+            PdfStream image = xObjects.getAsStream(xObjects.keySet().iterator().next());
+            Assertions.assertEquals(PdfName.DCTDecode, image.getAsName(PdfName.Filter));
+            Assertions.assertEquals(PdfName.DeviceRGB, image.getAsName(PdfName.ColorSpace));
+            Assertions.assertEquals(400, image.getAsNumber(PdfName.Width).intValue());
+            Assertions.assertArrayEquals(Files.readAllBytes(Paths.get(SOURCE_FOLDER + "image400on400.jpg")),
+                    image.getBytes(false));
+        }
+    }
+}
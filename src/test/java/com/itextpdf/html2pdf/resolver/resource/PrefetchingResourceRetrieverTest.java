@@ -0,0 +1,235 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.html2pdf.metrics.ConversionMetricsCollector;
+import com.itextpdf.styledxmlparser.resolver.resource.DefaultResourceRetriever;
+import com.itextpdf.styledxmlparser.resolver.resource.IResourceRetriever;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class PrefetchingResourceRetrieverTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/html2pdf/element/TableTest/";
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    public static void beforeClass() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterAll
+    public static void afterClass() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void prefetchedResourceIsRetrievedOnceTest() throws IOException {
+        RecordingResourceRetriever recordingRetriever = new RecordingResourceRetriever();
+        PrefetchingResourceRetriever retriever = new PrefetchingResourceRetriever(recordingRetriever, executor);
+        URL url = new URL("file:///resource.bin");
+        retriever.prefetch(url);
+        retriever.prefetch(url);
+
+        Assertions.assertArrayEquals(RecordingResourceRetriever.CONTENT, retriever.getByteArrayByUrl(url));
+        try (InputStream stream = retriever.getInputStreamByUrl(url)) {
+            Assertions.assertEquals(RecordingResourceRetriever.CONTENT.length, stream.available());
+        }
+        Assertions.assertEquals(1, recordingRetriever.retrievedUrls.size());
+    }
+
+    @Test
+    public void notPrefetchedResourceIsRetrievedOnDemandTest() throws IOException {
+        RecordingResourceRetriever recordingRetriever = new RecordingResourceRetriever();
+        PrefetchingResourceRetriever retriever = new PrefetchingResourceRetriever(recordingRetriever, executor);
+        URL url = new URL("file:///resource.bin");
+        retriever.prefetch(url);
+        retriever.getByteArrayByUrl(url);
+        retriever.clear();
+        retriever.getByteArrayByUrl(url);
+
+        Assertions.assertEquals(2, recordingRetriever.retrievedUrls.size());
+    }
+
+    @Test
+    public void notStartedPrefetchIsRetrievedByRequestingThreadTest() throws Exception {
+        ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch executorBlocked = new CountDownLatch(1);
+        try {
+            singleThreadExecutor.submit(() -> {
+                executorBlocked.await();
+                return null;
+            });
+            RecordingResourceRetriever recordingRetriever = new RecordingResourceRetriever();
+            PrefetchingResourceRetriever retriever = new PrefetchingResourceRetriever(recordingRetriever,
+                    singleThreadExecutor);
+            URL url = new URL("file:///resource.bin");
+            retriever.prefetch(url);
+
+            Assertions.assertArrayEquals(RecordingResourceRetriever.CONTENT, retriever.getByteArrayByUrl(url));
+            Assertions.assertArrayEquals(RecordingResourceRetriever.CONTENT, retriever.getByteArrayByUrl(url));
+            Assertions.assertEquals(Thread.currentThread().getName(), recordingRetriever.threadNames.get(0));
+
+            executorBlocked.countDown();
+            singleThreadExecutor.shutdown();
+            Assertions.assertTrue(singleThreadExecutor.awaitTermination(1, TimeUnit.MINUTES));
+            Assertions.assertEquals(1, recordingRetriever.retrievedUrls.size());
+        } finally {
+            executorBlocked.countDown();
+            singleThreadExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void runningPrefetchIsWaitedForTest() throws Exception {
+        final CountDownLatch fetchStarted = new CountDownLatch(1);
+        final CountDownLatch fetchReleased = new CountDownLatch(1);
+        RecordingResourceRetriever recordingRetriever = new RecordingResourceRetriever() {
+            @Override
+            public byte[] getByteArrayByUrl(URL url) throws IOException {
+                byte[] bytes = super.getByteArrayByUrl(url);
+                fetchStarted.countDown();
+                try {
+                    fetchReleased.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return bytes;
+            }
+        };
+        PrefetchingResourceRetriever retriever = new PrefetchingResourceRetriever(recordingRetriever, executor);
+        URL url = new URL("file:///resource.bin");
+        retriever.prefetch(url);
+        fetchStarted.await();
+
+        Thread releasingThread = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignored) {
+                // The fetching is released anyway
+            }
+            fetchReleased.countDown();
+        });
+        releasingThread.start();
+        Assertions.assertArrayEquals(RecordingResourceRetriever.CONTENT, retriever.getByteArrayByUrl(url));
+        releasingThread.join();
+
+        Assertions.assertEquals(1, recordingRetriever.retrievedUrls.size());
+        Assertions.assertNotEquals(Thread.currentThread().getName(), recordingRetriever.threadNames.get(0));
+    }
+
+    @Test
+    public void failedPrefetchIsNotRetriedTest() throws Exception {
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        RecordingResourceRetriever recordingRetriever = new RecordingResourceRetriever() {
+            @Override
+            public byte[] getByteArrayByUrl(URL url) throws IOException {
+                super.getByteArrayByUrl(url);
+                fetchStarted.countDown();
+                throw new IOException("Connection timed out");
+            }
+        };
+        PrefetchingResourceRetriever retriever = new PrefetchingResourceRetriever(recordingRetriever, executor);
+        URL url = new URL("file:///resource.bin");
+        retriever.prefetch(url);
+        fetchStarted.await();
+
+        Exception e = Assertions.assertThrows(IOException.class, () -> retriever.getByteArrayByUrl(url));
+        Assertions.assertEquals("Connection timed out", e.getMessage());
+        Assertions.assertEquals(1, recordingRetriever.retrievedUrls.size());
+    }
+
+    @Test
+    public void convertWithResourcePrefetchTest() {
+        String html = "<html><body><div style='background-image: url(100x100placeholder.png)'>text</div>"
+                + "<img src='100x100placeholder.png'/></body></html>";
+        RecordingResourceRetriever recordingRetriever = new RecordingResourceRetriever();
+        RecordingMetricsCollector metricsCollector = new RecordingMetricsCollector();
+        ConverterProperties properties = new ConverterProperties().setBaseUri(SOURCE_FOLDER)
+                .setResourceRetriever(recordingRetriever)
+                .setResourcePrefetchExecutor(executor)
+                .setConversionMetricsListener(metricsCollector);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos, properties);
+
+        Assertions.assertTrue(baos.size() > 0);
+        Assertions.assertEquals(1, recordingRetriever.retrievedUrls.size());
+        Assertions.assertTrue(recordingRetriever.retrievedUrls.get(0).endsWith("100x100placeholder.png"));
+        Assertions.assertFalse(metricsCollector.threadNames.isEmpty());
+        for (String threadName : metricsCollector.threadNames) {
+            Assertions.assertEquals(Thread.currentThread().getName(), threadName);
+        }
+    }
+
+    private static class RecordingMetricsCollector extends ConversionMetricsCollector {
+        private final List<String> threadNames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onResourceFetched(String url, long bytes, long durationNanos) {
+            threadNames.add(Thread.currentThread().getName());
+            super.onResourceFetched(url, bytes, durationNanos);
+        }
+    }
+
+    private static class RecordingResourceRetriever implements IResourceRetriever {
+        private static final byte[] CONTENT = new byte[] {1, 2, 3};
+
+        private final List<String> retrievedUrls = new CopyOnWriteArrayList<>();
+        private final List<String> threadNames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public InputStream getInputStreamByUrl(URL url) throws IOException {
+            return new ByteArrayInputStream(getByteArrayByUrl(url));
+        }
+
+        @Override
+        public byte[] getByteArrayByUrl(URL url) throws IOException {
+            retrievedUrls.add(url.toExternalForm());
+            threadNames.add(Thread.currentThread().getName());
+            if ("file".equals(url.getProtocol()) && url.getPath().endsWith(".png")) {
+                return new DefaultResourceRetriever().getByteArrayByUrl(url);
+            }
+            return CONTENT;
+        }
+    }
+}
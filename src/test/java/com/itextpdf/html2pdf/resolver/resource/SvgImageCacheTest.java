@@ -0,0 +1,148 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.resolver.resource;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class SvgImageCacheTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/html2pdf/element/SvgTest/";
+
+    private static final String SVG_DATA_URI = "data:image/svg+xml;base64,PHN2ZyB4bWxucz0iaHR0cDovL3d3dy53My5vcmcvMjAwMC9z"
+            + "dmciIHdpZHRoPSIyMCIgaGVpZ2h0PSIyMCI+PGNpcmNsZSBjeD0iMTAiIGN5PSIxMCIgcj0iOCIgZmlsbD0iZ3JlZW4iLz48L3N2Zz4=";
+
+    @Test
+    public void repeatedDataUriSvgSharesXObjectTest() throws IOException {
+        String html = "<html><body><img src='" + SVG_DATA_URI + "'/><img src='" + SVG_DATA_URI + "'/>"
+                + "<img src='" + SVG_DATA_URI + "'/></body></html>";
+
+        Assertions.assertEquals(1, countFirstPageXObjects(convert(html, new ConverterProperties())));
+    }
+
+    @Test
+    public void repeatedObjectSvgSharesXObjectTest() throws IOException {
+        String html = "<html><body><object type='image/svg+xml' data='external.svg'></object>"
+                + "<object type='image/svg+xml' data='external.svg'></object></body></html>";
+        ConverterProperties properties = new ConverterProperties().setBaseUri(SOURCE_FOLDER);
+
+        Assertions.assertEquals(1, countFirstPageXObjects(convert(html, properties)));
+    }
+
+    @Test
+    public void processorResultIsSharedBetweenConversionsTest() throws IOException {
+        String html = "<html><body><img src='" + SVG_DATA_URI + "'/>"
+                + "<object type='image/svg+xml' data='external.svg'></object></body></html>";
+        SvgProcessorResultCache cache = new SvgProcessorResultCache();
+        ConverterProperties properties = new ConverterProperties().setBaseUri(SOURCE_FOLDER)
+                .setSvgProcessorResultCache(cache);
+        byte[] first = convert(html, properties);
+        byte[] second = convert(html, properties);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(2, cache.getMissCount());
+        Assertions.assertEquals(2, cache.getHitCount());
+        Assertions.assertEquals(countFirstPageXObjects(first), countFirstPageXObjects(second));
+    }
+
+    @Test
+    public void differentStyleSheetsAreNotSharedTest() {
+        SvgProcessorResultCache cache = new SvgProcessorResultCache();
+        ConverterProperties properties = new ConverterProperties().setSvgProcessorResultCache(cache);
+        convert("<html><head><style>circle { fill: red }</style></head><body><img src='" + SVG_DATA_URI
+                + "'/></body></html>", properties);
+        convert("<html><head><style>circle { fill: blue }</style></head><body><img src='" + SVG_DATA_URI
+                + "'/></body></html>", properties);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void identicalInlineSvgsShareXObjectTest() throws IOException {
+        String svg = "<svg width='20' height='20'><circle cx='10' cy='10' r='8' fill='green'/></svg>";
+        String html = "<html><body>" + svg + svg + "<svg width='20' height='20'><circle cx='10' cy='10' r='8'"
+                + " fill='red'/></svg>" + svg + "</body></html>";
+
+        Assertions.assertEquals(4, countFirstPageXObjects(convert(html, new ConverterProperties())));
+        Assertions.assertEquals(2, countFirstPageXObjects(convert(html,
+                new ConverterProperties().setInlineSvgDeduplicationEnabled(true))));
+    }
+
+    @Test
+    public void inlineSvgsWithDifferentStylesDontShareXObjectTest() throws IOException {
+        String svg = "<svg width='2em' height='2em'><circle cx='10' cy='10' r='8'/></svg>";
+        String html = "<html><body><div style='font-size: 10px'>" + svg + "</div><div style='font-size: 20px'>"
+                + svg + "</div><div style='color: red'>" + svg + "</div></body></html>";
+
+        Assertions.assertEquals(3, countFirstPageXObjects(convert(html,
+                new ConverterProperties().setInlineSvgDeduplicationEnabled(true))));
+    }
+
+    @Test
+    public void inlineSvgsStyledByAncestorsDontShareXObjectTest() throws IOException {
+        String svg = "<svg width='20' height='20'><circle cx='10' cy='10' r='8'/></svg>";
+        String html = "<html><head><style>div.error svg circle { fill: red }</style></head><body>"
+                + "<div>" + svg + "</div><div class='error'>" + svg + "</div><div>" + svg + "</div></body></html>";
+
+        Assertions.assertEquals(2, countFirstPageXObjects(convert(html,
+                new ConverterProperties().setInlineSvgDeduplicationEnabled(true))));
+    }
+
+    @Test
+    public void inlineSvgsStyledWithoutCombinatorsShareXObjectTest() throws IOException {
+        String svg = "<svg width='20' height='20'><circle class='dot' cx='10' cy='10' r='8'/></svg>";
+        String html = "<html><head><style>circle { fill: red } .dot:first-child { stroke: blue }"
+                + " @media print { circle.dot { stroke-width: 2 } }</style></head><body>"
+                + "<div>" + svg + "</div><div class='error'>" + svg + "</div>" + svg + "</body></html>";
+
+        Assertions.assertEquals(1, countFirstPageXObjects(convert(html,
+                new ConverterProperties().setInlineSvgDeduplicationEnabled(true))));
+    }
+
+    private static byte[] convert(String html, ConverterProperties properties) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(html, baos, properties);
+        return baos.toByteArray();
+    }
+
+    private static int countFirstPageXObjects(byte[] pdf) throws IOException {
+        try (PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            PdfDictionary xObjects = pdfDocument.getPage(1).getResources().getResource(PdfName.XObject);
+            return xObjects == null ? 0 : xObjects.size();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2025 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.html2pdf.util;
+
+import com.itextpdf.test.ExtendedITextTest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class BoundedLruCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void leastRecentlyUsedValueIsEvictedTest() {
+        BoundedLruCache<String> cache = new BoundedLruCache<>(2);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        Assertions.assertEquals("A", cache.get("a"));
+        cache.put("c", "C");
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals("A", cache.get("a"));
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertEquals("C", cache.get("c"));
+        Assertions.assertEquals(3, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void valuesAreEvictedByWeightTest() {
+        BoundedLruCache<String> cache = new BoundedLruCache<>(10);
+        cache.put("a", "A", 4);
+        cache.put("b", "B", 4);
+        cache.put("a", "A", 6);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(10, cache.getWeight());
+        cache.put("c", "C", 5);
+
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(5, cache.getWeight());
+        Assertions.assertEquals("C", cache.get("c"));
+    }
+
+    @Test
+    public void valueHeavierThanCacheIsNotCachedTest() {
+        BoundedLruCache<String> cache = new BoundedLruCache<>(10);
+        cache.put("a", "A", 4);
+        cache.put("b", "B", 11);
+
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals("A", cache.get("a"));
+    }
+
+    @Test
+    public void nullValueIsNotCachedTest() {
+        BoundedLruCache<String> cache = new BoundedLruCache<>(10);
+        cache.put("a", null);
+
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void clearResetsCountersTest() {
+        BoundedLruCache<String> cache = new BoundedLruCache<>(10);
+        cache.put("a", "A");
+        cache.get("a");
+        cache.get("b");
+        cache.clear();
+
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.getWeight());
+        Assertions.assertEquals(0, cache.getHitCount());
+        Assertions.assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void invalidParametersTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedLruCache<String>(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedLruCache<String>(10, -1));
+    }
+}